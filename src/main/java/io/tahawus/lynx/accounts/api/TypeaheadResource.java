@@ -0,0 +1,39 @@
+package io.tahawus.lynx.accounts.api;
+
+import io.tahawus.lynx.accounts.dto.TypeaheadResultDto;
+import io.tahawus.lynx.accounts.service.TypeaheadService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+/**
+ * REST API for typeahead search during data entry.
+ *
+ * GET /typeahead?businessId=&q=&limit=&contacts=
+ *
+ * Returns accounts of every kind (and contacts unless contacts=false),
+ * best match first. limit defaults to 20 and is capped at 50.
+ */
+@Path("/typeahead")
+@Produces(MediaType.APPLICATION_JSON)
+public class TypeaheadResource {
+
+    @Inject
+    TypeaheadService typeaheadService;
+
+    @GET
+    public List<TypeaheadResultDto> search(
+            @QueryParam("businessId") Long businessId,
+            @QueryParam("q") String query,
+            @QueryParam("limit") Integer limit,
+            @QueryParam("contacts") @DefaultValue("true") boolean includeContacts) {
+
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+
+        return typeaheadService.search(businessId, query, limit, includeContacts);
+    }
+}
@@ -0,0 +1,23 @@
+package io.tahawus.lynx.accounts.dto;
+
+/**
+ * One typeahead match: an account of any kind, or a contact.
+ *
+ * @param score similarity rank, higher is better (short code prefix matches rank first)
+ */
+public record TypeaheadResultDto(
+        Kind kind,
+        Long id,
+        String shortCode,
+        String name,
+        double score
+) {
+    public enum Kind {
+        GENERAL_LEDGER,
+        RECEIVABLE,
+        PAYABLE,
+        BANK,
+        INVENTORY,
+        CONTACT
+    }
+}
@@ -1,7 +1,10 @@
 package io.tahawus.lynx.accounts.model;
 
+import io.tahawus.lynx.accounts.service.AccountDirectoryListener;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.util.List;
@@ -27,6 +30,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners({AccountDirectoryListener.class, ReferenceCacheListener.class})
 @Table(
         name = "account_group",
         uniqueConstraints = {
@@ -118,8 +123,8 @@ public class AccountGroup extends AuditableEntity {
     }
 
     public static Optional<AccountGroup> findByTypeAndNumber(Business business, AccountType accountType, Integer groupNumber) {
-        return find("business = ?1 and accountType = ?2 and groupNumber = ?3",
-                business, accountType, groupNumber).firstResultOptional();
+        return ReferenceCache.lookup(find("business = ?1 and accountType = ?2 and groupNumber = ?3",
+                business, accountType, groupNumber), AccountGroup.class).firstResultOptional();
     }
 
     public static Optional<AccountGroup> findByFormattedNumber(Business business, String formattedNumber) {
@@ -1,7 +1,10 @@
 package io.tahawus.lynx.accounts.model;
 
+import io.tahawus.lynx.accounts.service.AccountDirectoryListener;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.util.List;
@@ -23,6 +26,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners({AccountDirectoryListener.class, ReferenceCacheListener.class})
 @Table(
         name = "bank_account",
         uniqueConstraints = {
@@ -179,8 +184,8 @@ public class BankAccount extends AuditableEntity implements Account {
     }
 
     public static Optional<BankAccount> findByShortCode(Business business, String shortCode) {
-        return find("controllingAccount.business = ?1 and shortCode = ?2 and isActive = true", business, shortCode)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("controllingAccount.business = ?1 and shortCode = ?2 and isActive = true", business, shortCode),
+                BankAccount.class).firstResultOptional();
     }
 
     public static Optional<BankAccount> findPrimary(Business business) {
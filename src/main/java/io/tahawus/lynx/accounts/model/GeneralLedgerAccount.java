@@ -1,7 +1,10 @@
 package io.tahawus.lynx.accounts.model;
 
+import io.tahawus.lynx.accounts.service.AccountDirectoryListener;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.util.List;
@@ -31,6 +34,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners({AccountDirectoryListener.class, ReferenceCacheListener.class})
 @Table(
         name = "general_ledger_account",
         uniqueConstraints = {
@@ -195,8 +200,8 @@ public class GeneralLedgerAccount extends AuditableEntity implements Account {
     }
 
     public static Optional<GeneralLedgerAccount> findByShortCode(Business business, String shortCode) {
-        return find("business = ?1 and shortCode = ?2 and isActive = true", business, shortCode)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("business = ?1 and shortCode = ?2 and isActive = true", business, shortCode),
+                GeneralLedgerAccount.class).firstResultOptional();
     }
 
     public static List<GeneralLedgerAccount> searchByShortCode(Business business, String prefix) {
@@ -220,8 +225,8 @@ public class GeneralLedgerAccount extends AuditableEntity implements Account {
             int accountNum = Integer.parseInt(parts[2]);
 
             return AccountGroup.findByFormattedNumber(business, groupFormatted)
-                    .flatMap(group -> find("accountGroup = ?1 and accountNumber = ?2", group, accountNum)
-                            .firstResultOptional());
+                    .flatMap(group -> ReferenceCache.lookup(find("accountGroup = ?1 and accountNumber = ?2", group, accountNum),
+                            GeneralLedgerAccount.class).firstResultOptional());
         } catch (NumberFormatException e) {
             return Optional.empty();
         }
@@ -1,7 +1,10 @@
 package io.tahawus.lynx.accounts.model;
 
+import io.tahawus.lynx.accounts.service.AccountDirectoryListener;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -27,6 +30,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners({AccountDirectoryListener.class, ReferenceCacheListener.class})
 @Table(
         name = "inventory_account",
         uniqueConstraints = {
@@ -174,8 +179,8 @@ public class InventoryAccount extends AuditableEntity implements Account {
     }
 
     public static Optional<InventoryAccount> findByShortCode(Business business, String shortCode) {
-        return find("controllingAccount.business = ?1 and shortCode = ?2 and isActive = true", business, shortCode)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("controllingAccount.business = ?1 and shortCode = ?2 and isActive = true", business, shortCode),
+                InventoryAccount.class).firstResultOptional();
     }
 
     public static Optional<InventoryAccount> findBySku(Business business, String sku) {
@@ -1,8 +1,11 @@
 package io.tahawus.lynx.accounts.model;
 
+import io.tahawus.lynx.accounts.service.AccountDirectoryListener;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.contacts.model.Contact;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -26,6 +29,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners({AccountDirectoryListener.class, ReferenceCacheListener.class})
 @Table(
         name = "payable_account",
         uniqueConstraints = {
@@ -161,8 +166,8 @@ public class PayableAccount extends AuditableEntity implements Account {
     }
 
     public static Optional<PayableAccount> findByShortCode(Business business, String shortCode) {
-        return find("controllingAccount.business = ?1 and shortCode = ?2 and isActive = true", business, shortCode)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("controllingAccount.business = ?1 and shortCode = ?2 and isActive = true", business, shortCode),
+                PayableAccount.class).firstResultOptional();
     }
 
     public static List<PayableAccount> search(Business business, String query) {
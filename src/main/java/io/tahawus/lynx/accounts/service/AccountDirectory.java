@@ -0,0 +1,244 @@
+package io.tahawus.lynx.accounts.service;
+
+import io.tahawus.lynx.accounts.model.*;
+import io.tahawus.lynx.core.service.InvalidationBus;
+import io.tahawus.lynx.core.service.TransactionCallbacks;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AccountDirectory - In-memory chart of accounts per tenant and business.
+ *
+ * Maps short codes and formatted account numbers (TT.GG.AAAA[.SS]) to account
+ * references, so AccountResolver answers with one hash lookup plus a load by
+ * primary key instead of up to five queries.
+ *
+ * Same rules as the per-type finders it replaces:
+ * - Short codes: active G/L accounts first, then active Receivable, Payable,
+ *   Bank and Inventory subsidiaries. A controlling G/L account wins its short
+ *   code but is not postable.
+ * - Formatted numbers: G/L accounts by group and number; subsidiaries only under
+ *   a controlling account of the matching subsidiary type, active only.
+ *
+ * INVALIDATION:
+ * AccountDirectoryListener invalidates a business whenever an account or
+ * account group is persisted, updated or removed. The entry is dropped
+ * immediately and again when the transaction completes. Other nodes drop
+ * it when the InvalidationBus notice arrives.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class AccountDirectory {
+
+    /**
+     * InvalidationBus entity name; the notice id is the business id.
+     */
+    public static final String NOTICE_ENTITY = "AccountDirectory";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TransactionCallbacks transactionCallbacks;
+
+    @Inject
+    InvalidationBus invalidationBus;
+
+    private final ConcurrentMap<Key, Snapshot> directories = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation; a load that raced with one is not cached.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record Key(String tenant, Long businessId) {}
+
+    /**
+     * Reference to an account of any type.
+     *
+     * @param postable false for controlling G/L accounts, which resolve to nothing
+     */
+    public record AccountRef(Class<? extends Account> type, Long id, boolean postable) {}
+
+    private record Controlling(String formattedNumber, SubsidiaryType subsidiaryType) {}
+
+    private record Snapshot(Map<String, AccountRef> byShortCode, Map<String, AccountRef> byNumber) {}
+
+    // =============================
+    // =   Lookups                 =
+    // =============================
+
+    public Optional<AccountRef> findByShortCode(Long businessId, String shortCode) {
+        return Optional.ofNullable(snapshot(businessId).byShortCode().get(shortCode));
+    }
+
+    /**
+     * Look up TT.GG.AAAA or TT.GG.AAAA.SS. Parts are compared numerically,
+     * so "10.15.100" finds "10.15.0100".
+     */
+    public Optional<AccountRef> findByFormattedNumber(Long businessId, String formattedNumber) {
+        String canonical = canonicalNumber(formattedNumber);
+        if (canonical == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot(businessId).byNumber().get(canonical));
+    }
+
+    // =============================
+    // =   Invalidation            =
+    // =============================
+
+    /**
+     * Drop the cached directory of a business in the current tenant.
+     */
+    public void invalidate(Long businessId) {
+        Key key = new Key(currentTenant(), businessId);
+        evict(key);
+        transactionCallbacks.afterCompletion(() -> evict(key));
+        invalidationBus.publish(key.tenant(), NOTICE_ENTITY, businessId);
+    }
+
+    /**
+     * Drop every cached directory.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        directories.clear();
+    }
+
+    /**
+     * Change made on another node.
+     */
+    void onInvalidation(@Observes InvalidationBus.Notice notice) {
+        if (notice.isFlush()) {
+            invalidateAll();
+        } else if (notice.isFor(NOTICE_ENTITY) && notice.id() != null) {
+            evict(new Key(notice.tenant(), Long.valueOf(notice.id())));
+        }
+    }
+
+    private void evict(Key key) {
+        invalidations.incrementAndGet();
+        directories.remove(key);
+    }
+
+    // =============================
+    // =   Loading                 =
+    // =============================
+
+    private Snapshot snapshot(Long businessId) {
+        Key key = new Key(currentTenant(), businessId);
+        Snapshot cached = directories.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long seen = invalidations.get();
+        Snapshot loaded = load(businessId);
+        if (invalidations.get() == seen) {
+            directories.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    private Snapshot load(Long businessId) {
+        Map<String, AccountRef> byShortCode = new HashMap<>();
+        Map<String, AccountRef> byNumber = new HashMap<>();
+
+        Map<Long, Controlling> controlling = new HashMap<>();
+        List<Object[]> glRows = em.createQuery("""
+                        select g.id, g.shortCode, g.subsidiaryType, g.isActive,
+                               ag.accountType, ag.groupNumber, g.accountNumber
+                        from GeneralLedgerAccount g join g.accountGroup ag
+                        where g.business.id = ?1
+                        order by g.id
+                        """, Object[].class)
+                .setParameter(1, businessId)
+                .getResultList();
+
+        for (Object[] row : glRows) {
+            Long id = (Long) row[0];
+            SubsidiaryType subsidiaryType = (SubsidiaryType) row[2];
+            boolean postable = subsidiaryType == SubsidiaryType.NONE;
+            String number = String.format("%02d.%02d.%04d",
+                    ((AccountType) row[4]).getNumber(), (Integer) row[5], (Integer) row[6]);
+            AccountRef ref = new AccountRef(GeneralLedgerAccount.class, id, postable);
+
+            byNumber.putIfAbsent(number, ref);
+            if (Boolean.TRUE.equals(row[3])) {
+                byShortCode.putIfAbsent((String) row[1], ref);
+            }
+            if (!postable) {
+                controlling.put(id, new Controlling(number, subsidiaryType));
+            }
+        }
+
+        loadSubsidiaries(ReceivableAccount.class, SubsidiaryType.RECEIVABLE, businessId, controlling, byShortCode, byNumber);
+        loadSubsidiaries(PayableAccount.class, SubsidiaryType.PAYABLE, businessId, controlling, byShortCode, byNumber);
+        loadSubsidiaries(BankAccount.class, SubsidiaryType.BANK, businessId, controlling, byShortCode, byNumber);
+        loadSubsidiaries(InventoryAccount.class, SubsidiaryType.INVENTORY, businessId, controlling, byShortCode, byNumber);
+
+        return new Snapshot(Map.copyOf(byShortCode), Map.copyOf(byNumber));
+    }
+
+    private void loadSubsidiaries(Class<? extends Account> type,
+                                  SubsidiaryType subsidiaryType,
+                                  Long businessId,
+                                  Map<Long, Controlling> controlling,
+                                  Map<String, AccountRef> byShortCode,
+                                  Map<String, AccountRef> byNumber) {
+        List<Object[]> rows = em.createQuery(
+                        "select s.id, s.shortCode, s.subsidiaryNumber, s.controllingAccount.id " +
+                        "from " + type.getSimpleName() + " s " +
+                        "where s.controllingAccount.business.id = ?1 and s.isActive = true " +
+                        "order by s.id", Object[].class)
+                .setParameter(1, businessId)
+                .getResultList();
+
+        for (Object[] row : rows) {
+            AccountRef ref = new AccountRef(type, (Long) row[0], true);
+            byShortCode.putIfAbsent((String) row[1], ref);
+
+            Controlling ctrl = controlling.get((Long) row[3]);
+            if (ctrl != null && ctrl.subsidiaryType() == subsidiaryType) {
+                byNumber.putIfAbsent(ctrl.formattedNumber() + "." + String.format("%02d", (Integer) row[2]), ref);
+            }
+        }
+    }
+
+    /**
+     * Normalize TT.GG.AAAA[.SS] to zero-padded form, or null if it cannot be an account number.
+     */
+    private static String canonicalNumber(String formattedNumber) {
+        String[] parts = formattedNumber.split("\\.");
+        if (parts.length != 3 && parts.length != 4) {
+            return null;
+        }
+        try {
+            String number = String.format("%02d.%02d.%04d",
+                    Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            if (parts.length == 4) {
+                number += "." + String.format("%02d", Integer.parseInt(parts[3]));
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String currentTenant() {
+        return String.valueOf(em.unwrap(Session.class).getTenantIdentifierValue());
+    }
+}
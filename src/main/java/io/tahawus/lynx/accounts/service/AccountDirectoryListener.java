@@ -0,0 +1,38 @@
+package io.tahawus.lynx.accounts.service;
+
+import io.quarkus.arc.Arc;
+import io.tahawus.lynx.accounts.model.Account;
+import io.tahawus.lynx.accounts.model.AccountGroup;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * AccountDirectoryListener - Keeps AccountDirectory current.
+ *
+ * Registered on every Account implementation and on AccountGroup (group
+ * numbers are part of formatted account numbers). Any change drops the
+ * cached directory of the owning business.
+ *
+ * Bulk HQL updates bypass entity listeners; callers doing those must call
+ * AccountDirectory.invalidate() themselves.
+ *
+ * @author Dan Pasco
+ */
+public class AccountDirectoryListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        Long businessId;
+        if (entity instanceof Account account) {
+            businessId = account.getBusiness().id;
+        } else if (entity instanceof AccountGroup group) {
+            businessId = group.business.id;
+        } else {
+            return;
+        }
+        Arc.container().instance(AccountDirectory.class).get().invalidate(businessId);
+    }
+}
@@ -2,7 +2,10 @@ package io.tahawus.lynx.accounts.service;
 
 import io.tahawus.lynx.accounts.model.*;
 import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.accounts.service.AccountDirectory.AccountRef;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +30,12 @@ import java.util.Optional;
 @ApplicationScoped
 public class AccountResolver {
 
+    @Inject
+    EntityManager em;
+
+    @Inject
+    AccountDirectory accountDirectory;
+
     /**
      * SMART RESOLUTION: Auto-detect format and resolve.
      *
@@ -63,44 +72,12 @@ public class AccountResolver {
      * 3. PayableAccount
      * 4. BankAccount
      * 5. InventoryAccount
+     *
+     * Answered from AccountDirectory; only the matching account is loaded.
      */
     public Optional<Account> resolveByShortCode(Business business, String shortCode) {
-        // Try GeneralLedgerAccount first
-        Optional<GeneralLedgerAccount> glAccount = GeneralLedgerAccount.findByShortCode(business, shortCode);
-        if (glAccount.isPresent()) {
-            GeneralLedgerAccount gl = glAccount.get();
-            if (gl.isControllingAccount()) {
-                // Can't post to controlling account directly
-                return Optional.empty();
-            }
-            return Optional.of(gl);
-        }
-
-        // Try ReceivableAccount
-        Optional<ReceivableAccount> receivable = ReceivableAccount.findByShortCode(business, shortCode);
-        if (receivable.isPresent()) {
-            return Optional.of(receivable.get());
-        }
-
-        // Try PayableAccount
-        Optional<PayableAccount> payable = PayableAccount.findByShortCode(business, shortCode);
-        if (payable.isPresent()) {
-            return Optional.of(payable.get());
-        }
-
-        // Try BankAccount
-        Optional<BankAccount> bank = BankAccount.findByShortCode(business, shortCode);
-        if (bank.isPresent()) {
-            return Optional.of(bank.get());
-        }
-
-        // Try InventoryAccount
-        Optional<InventoryAccount> inventory = InventoryAccount.findByShortCode(business, shortCode);
-        if (inventory.isPresent()) {
-            return Optional.of(inventory.get());
-        }
-
-        return Optional.empty();
+        return accountDirectory.findByShortCode(business.id, shortCode)
+                .flatMap(this::load);
     }
 
     /**
@@ -109,50 +86,15 @@ public class AccountResolver {
      * Format: TT.GG.AAAA for G/L, TT.GG.AAAA.SS for subsidiary
      */
     public Optional<Account> resolveByFormattedNumber(Business business, String formattedNumber) {
-        String[] parts = formattedNumber.split("\\.");
-
-        if (parts.length == 3) {
-            // GeneralLedgerAccount: TT.GG.AAAA
-            return GeneralLedgerAccount.findByFormattedNumber(business, formattedNumber)
-                    .filter(gl -> !gl.isControllingAccount())
-                    .map(gl -> (Account) gl);
-
-        } else if (parts.length == 4) {
-            // Subsidiary: TT.GG.AAAA.SS
-            String controllingFormatted = parts[0] + "." + parts[1] + "." + parts[2];
-            int subsidiaryNum;
-            try {
-                subsidiaryNum = Integer.parseInt(parts[3]);
-            } catch (NumberFormatException e) {
-                return Optional.empty();
-            }
-
-            Optional<GeneralLedgerAccount> controlling =
-                    GeneralLedgerAccount.findByFormattedNumber(business, controllingFormatted);
-
-            if (controlling.isEmpty()) {
-                return Optional.empty();
-            }
-
-            GeneralLedgerAccount ctrl = controlling.get();
-
-            // Find subsidiary based on controlling account's subsidiary type
-            return switch (ctrl.subsidiaryType) {
-                case RECEIVABLE -> findReceivableByNumber(ctrl, subsidiaryNum);
-                case PAYABLE -> findPayableByNumber(ctrl, subsidiaryNum);
-                case BANK -> findBankByNumber(ctrl, subsidiaryNum);
-                case INVENTORY -> findInventoryByNumber(ctrl, subsidiaryNum);
-                case NONE -> Optional.empty();
-            };
-        }
-
-        return Optional.empty();
+        return accountDirectory.findByFormattedNumber(business.id, formattedNumber)
+                .flatMap(this::load);
     }
 
     /**
      * SEARCH ALL ACCOUNTS: Find accounts across all types by query string.
      *
      * Searches short codes and names. Results are combined from all account types.
+     * Unbounded; data-entry typeahead should use TypeaheadService instead.
      */
     public List<Account> searchAll(Business business, String query) {
         List<Account> results = new ArrayList<>();
@@ -178,31 +120,13 @@ public class AccountResolver {
     // =   Helper Methods          =
     // =============================
 
-    private Optional<Account> findReceivableByNumber(GeneralLedgerAccount controlling, int subsidiaryNum) {
-        return ReceivableAccount.listByControllingAccount(controlling).stream()
-                .filter(r -> r.subsidiaryNumber.equals(subsidiaryNum))
-                .findFirst()
-                .map(r -> (Account) r);
-    }
-
-    private Optional<Account> findPayableByNumber(GeneralLedgerAccount controlling, int subsidiaryNum) {
-        return PayableAccount.listByControllingAccount(controlling).stream()
-                .filter(p -> p.subsidiaryNumber.equals(subsidiaryNum))
-                .findFirst()
-                .map(p -> (Account) p);
-    }
-
-    private Optional<Account> findBankByNumber(GeneralLedgerAccount controlling, int subsidiaryNum) {
-        return BankAccount.listByControllingAccount(controlling).stream()
-                .filter(b -> b.subsidiaryNumber.equals(subsidiaryNum))
-                .findFirst()
-                .map(b -> (Account) b);
-    }
-
-    private Optional<Account> findInventoryByNumber(GeneralLedgerAccount controlling, int subsidiaryNum) {
-        return InventoryAccount.listByControllingAccount(controlling).stream()
-                .filter(i -> i.subsidiaryNumber.equals(subsidiaryNum))
-                .findFirst()
-                .map(i -> (Account) i);
+    /**
+     * Load a directory entry by primary key. Controlling accounts cannot be posted to.
+     */
+    private Optional<Account> load(AccountRef ref) {
+        if (!ref.postable()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(em.find(ref.type(), ref.id()));
     }
 }
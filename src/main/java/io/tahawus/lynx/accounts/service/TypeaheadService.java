@@ -0,0 +1,145 @@
+package io.tahawus.lynx.accounts.service;
+
+import io.tahawus.lynx.accounts.dto.TypeaheadResultDto;
+import io.tahawus.lynx.accounts.dto.TypeaheadResultDto.Kind;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * TypeaheadService - Ranked search across accounts and contacts.
+ *
+ * One UNION ALL query over posting G/L accounts, the four subsidiary ledgers
+ * and contacts. Matches are substring (ILIKE) or trigram-similar (pg_trgm %),
+ * both served by the GIN trigram indexes from tenant migration V5.
+ * Ranked by similarity, with short code prefix matches first, and always
+ * capped at MAX_LIMIT rows.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class TypeaheadService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 50;
+
+    /**
+     * Trigrams need at least two characters to say anything useful.
+     */
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    private static final String SEARCH_SQL = """
+            select kind, id, short_code, name, score
+            from (
+                select 'GENERAL_LEDGER' as kind, g.id, g.short_code, g.name,
+                       greatest(public.similarity(g.short_code, :q), public.similarity(g.name, :q))
+                         + case when g.short_code ilike :prefix then 1 else 0 end as score
+                from general_ledger_account g
+                where g.business_id = :businessId
+                  and g.is_active = true
+                  and g.subsidiary_type = 'NONE'
+                  and (g.short_code ilike :pattern or g.name ilike :pattern
+                       or g.short_code operator(public.%) :q or g.name operator(public.%) :q)
+                union all
+                select 'RECEIVABLE', r.id, r.short_code, c.name,
+                       greatest(public.similarity(r.short_code, :q), public.similarity(c.name, :q))
+                         + case when r.short_code ilike :prefix then 1 else 0 end
+                from receivable_account r
+                join general_ledger_account g on g.id = r.controlling_account_id
+                join contact c on c.id = r.contact_id
+                where g.business_id = :businessId
+                  and r.is_active = true
+                  and (r.short_code ilike :pattern or c.name ilike :pattern
+                       or r.short_code operator(public.%) :q or c.name operator(public.%) :q)
+                union all
+                select 'PAYABLE', p.id, p.short_code, c.name,
+                       greatest(public.similarity(p.short_code, :q), public.similarity(c.name, :q))
+                         + case when p.short_code ilike :prefix then 1 else 0 end
+                from payable_account p
+                join general_ledger_account g on g.id = p.controlling_account_id
+                join contact c on c.id = p.contact_id
+                where g.business_id = :businessId
+                  and p.is_active = true
+                  and (p.short_code ilike :pattern or c.name ilike :pattern
+                       or p.short_code operator(public.%) :q or c.name operator(public.%) :q)
+                union all
+                select 'BANK', b.id, b.short_code, b.name,
+                       greatest(public.similarity(b.short_code, :q), public.similarity(b.name, :q))
+                         + case when b.short_code ilike :prefix then 1 else 0 end
+                from bank_account b
+                join general_ledger_account g on g.id = b.controlling_account_id
+                where g.business_id = :businessId
+                  and b.is_active = true
+                  and (b.short_code ilike :pattern or b.name ilike :pattern
+                       or b.short_code operator(public.%) :q or b.name operator(public.%) :q)
+                union all
+                select 'INVENTORY', i.id, i.short_code, i.name,
+                       greatest(public.similarity(i.short_code, :q), public.similarity(i.name, :q))
+                         + case when i.short_code ilike :prefix then 1 else 0 end
+                from inventory_account i
+                join general_ledger_account g on g.id = i.controlling_account_id
+                where g.business_id = :businessId
+                  and i.is_active = true
+                  and (i.short_code ilike :pattern or i.name ilike :pattern
+                       or i.short_code operator(public.%) :q or i.name operator(public.%) :q)
+                union all
+                select 'CONTACT', c.id, null, c.name,
+                       public.similarity(c.name, :q)
+                from contact c
+                where :includeContacts = true
+                  and (c.name ilike :pattern or c.name operator(public.%) :q)
+            ) matches
+            order by score desc, name, id
+            limit :limit
+            """;
+
+    @Inject
+    EntityManager em;
+
+    /**
+     * Search accounts (and optionally contacts) of a business.
+     *
+     * @param limit requested result count; null means DEFAULT_LIMIT, capped at MAX_LIMIT
+     */
+    public List<TypeaheadResultDto> search(Long businessId, String query, Integer limit, boolean includeContacts) {
+        if (businessId == null) {
+            throw new IllegalArgumentException("businessId is required");
+        }
+        String q = query != null ? query.trim() : "";
+        if (q.length() < MIN_QUERY_LENGTH) {
+            return List.of();
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        String escaped = escapeLike(q);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(SEARCH_SQL)
+                .setParameter("q", q)
+                .setParameter("pattern", "%" + escaped + "%")
+                .setParameter("prefix", escaped + "%")
+                .setParameter("businessId", businessId)
+                .setParameter("includeContacts", includeContacts)
+                .setParameter("limit", max)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TypeaheadResultDto(
+                        Kind.valueOf((String) row[0]),
+                        ((Number) row[1]).longValue(),
+                        (String) row[2],
+                        (String) row[3],
+                        ((Number) row[4]).doubleValue()))
+                .toList();
+    }
+
+    /**
+     * Escape LIKE wildcards so user input matches literally.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
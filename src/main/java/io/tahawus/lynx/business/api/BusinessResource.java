@@ -1,15 +1,21 @@
 package io.tahawus.lynx.business.api;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import io.tahawus.lynx.business.dto.BusinessCreateDto;
 import io.tahawus.lynx.business.dto.BusinessDto;
 import io.tahawus.lynx.business.dto.BusinessLogoDto;
 import io.tahawus.lynx.business.dto.BusinessUpdateDto;
+import io.tahawus.lynx.business.mapper.BusinessMapper;
+import io.tahawus.lynx.business.model.LogoVariant;
 import io.tahawus.lynx.business.service.BusinessService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import org.jboss.resteasy.reactive.RestForm;
@@ -29,7 +35,7 @@ import java.util.List;
  * - PUT    /businesses/{id}          - Update business
  * - DELETE /businesses/{id}          - Delete business
  * - POST   /businesses/{id}/logo     - Upload logo
- * - GET    /businesses/{id}/logo     - Download logo
+ * - GET    /businesses/{id}/logo     - Download logo (?variant=print|thumbnail)
  * - DELETE /businesses/{id}/logo     - Remove logo
  */
 @Path("/businesses")
@@ -44,17 +50,20 @@ public class BusinessResource {
     // =      CRUD Operations      =
     // =============================
 
+    @RunOnVirtualThread
     @GET
     public List<BusinessDto> list() {
         return businessService.listAll();
     }
 
+    @RunOnVirtualThread
     @GET
     @Path("/{id}")
     public BusinessDto getById(@PathParam("id") Long id) {
         return businessService.get(id);
     }
 
+    @RunOnVirtualThread
     @POST
     public Response create(@Valid BusinessCreateDto request, @Context UriInfo uriInfo) {
         BusinessDto created = businessService.create(request);
@@ -67,12 +76,14 @@ public class BusinessResource {
                 .build();
     }
 
+    @RunOnVirtualThread
     @PUT
     @Path("/{id}")
     public BusinessDto update(@PathParam("id") Long id, @Valid BusinessUpdateDto request) {
         return businessService.update(id, request);
     }
 
+    @RunOnVirtualThread
     @DELETE
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
@@ -84,6 +95,7 @@ public class BusinessResource {
     // =      Logo Management      =
     // =============================
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/logo")
     @Consumes(MediaType.MULTIPART_FORM_DATA)
@@ -103,22 +115,49 @@ public class BusinessResource {
         }
     }
 
+    /**
+     * The logo, or a pre-generated PNG variant (?variant=print|thumbnail).
+     * Strong ETag from the logo hash; If-None-Match is answered with 304
+     * without reading the logo.
+     */
+    @RunOnVirtualThread
     @GET
     @Path("/{id}/logo")
     @Produces({"image/png", "image/jpeg", "image/svg+xml", "image/gif"})
-    public Response downloadLogo(@PathParam("id") Long id) {
-        BusinessLogoDto logo = businessService.getLogo(id);
-
-        if (logo == null || logo.data() == null) {
-            throw new NotFoundException("Business has no logo");
+    public Response downloadLogo(@PathParam("id") Long id,
+                                 @QueryParam("variant") String variantParam,
+                                 @Context Request request) {
+        LogoVariant variant = variantParam != null ? parseVariant(variantParam) : null;
+
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+
+        EntityTag etag = new EntityTag(BusinessMapper.logoEtag(businessService.getLogoHash(id), variant));
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
         }
 
+        BusinessLogoDto logo = businessService.getLogo(id, variant);
+
         return Response.ok(logo.data())
                 .header("Content-Type", logo.contentType())
                 .header("Content-Disposition", "inline; filename=\"" + logo.fileName() + "\"")
+                .tag(new EntityTag(logo.etag()))
+                .cacheControl(cacheControl)
                 .build();
     }
 
+    private static LogoVariant parseVariant(String value) {
+        try {
+            return LogoVariant.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown logo variant: " + value);
+        }
+    }
+
+    @RunOnVirtualThread
     @DELETE
     @Path("/{id}/logo")
     public BusinessDto removeLogo(@PathParam("id") Long id) {
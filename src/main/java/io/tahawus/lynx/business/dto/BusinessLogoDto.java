@@ -2,9 +2,12 @@ package io.tahawus.lynx.business.dto;
 
 /**
  * DTO for business logo data.
+ *
+ * @param etag Strong entity tag: the logo content hash, suffixed with the variant
  */
 public record BusinessLogoDto(
         String contentType,
         String fileName,
+        String etag,
         byte[] data
 ) {}
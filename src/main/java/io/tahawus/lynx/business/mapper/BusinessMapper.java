@@ -5,6 +5,9 @@ import io.tahawus.lynx.business.dto.BusinessDto;
 import io.tahawus.lynx.business.dto.BusinessLogoDto;
 import io.tahawus.lynx.business.dto.BusinessUpdateDto;
 import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.business.model.BusinessLogo;
+import io.tahawus.lynx.business.model.BusinessLogoVariant;
+import io.tahawus.lynx.business.model.LogoVariant;
 import io.tahawus.lynx.contacts.model.Contact;
 
 /**
@@ -40,18 +43,44 @@ public final class BusinessMapper {
         );
     }
 
-    public static BusinessLogoDto toLogoDto(Business business) {
-        if (business == null || !business.hasLogo()) {
+    public static BusinessLogoDto toLogoDto(BusinessLogo logo) {
+        if (logo == null) {
             return null;
         }
 
         return new BusinessLogoDto(
-                business.logoContentType,
-                business.logoFileName,
-                business.logoData
+                logo.contentType,
+                logo.fileName,
+                logoEtag(logo.contentHash, null),
+                logo.data
         );
     }
 
+    public static BusinessLogoDto toLogoDto(BusinessLogoVariant variant, BusinessLogo logo) {
+        if (variant == null) {
+            return null;
+        }
+
+        return new BusinessLogoDto(
+                BusinessLogoVariant.CONTENT_TYPE,
+                variantFileName(logo.fileName, variant.variant),
+                logoEtag(logo.contentHash, variant.variant),
+                variant.data
+        );
+    }
+
+    /**
+     * ETag of a logo or one of its variants, computable from Business.logoHash alone.
+     */
+    public static String logoEtag(String contentHash, LogoVariant variant) {
+        return variant == null ? contentHash : contentHash + "-" + variant.name().toLowerCase();
+    }
+
+    private static String variantFileName(String fileName, LogoVariant variant) {
+        String base = fileName != null ? fileName.replaceFirst("\\.[^.]*$", "") : "logo";
+        return base + "-" + variant.name().toLowerCase() + ".png";
+    }
+
     // =============================
     // =     DTO -> Entity         =
     // =============================
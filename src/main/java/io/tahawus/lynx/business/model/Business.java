@@ -2,6 +2,7 @@ package io.tahawus.lynx.business.model;
 
 import io.tahawus.lynx.contacts.model.Contact;
 import io.tahawus.lynx.core.model.LynxPanacheEntity;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -28,6 +29,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners(ReferenceCacheListener.class)
 @Table(
         name = "business",
         indexes = {
@@ -91,18 +94,15 @@ public class Business extends LynxPanacheEntity {
     public Boolean isActive = true;
 
     // =============================
-    // =       Logo Storage        =
+    // =       Logo Reference      =
     // =============================
 
-    @Lob
-    @Column(name = "logo_data")
-    public byte[] logoData;
-
-    @Column(name = "logo_content_type", length = 100)
-    public String logoContentType;
-
-    @Column(name = "logo_file_name", length = 255)
-    public String logoFileName;
+    /**
+     * SHA-256 of the current logo, or null if there is none.
+     * The logo itself lives in BusinessLogo, so loading a Business never reads it.
+     */
+    @Column(name = "logo_hash", length = 64)
+    public String logoHash;
 
     // =============================
     // =      Audit Fields         =
@@ -133,19 +133,7 @@ public class Business extends LynxPanacheEntity {
     // =============================
 
     public boolean hasLogo() {
-        return logoData != null && logoData.length > 0;
-    }
-
-    public void setLogo(byte[] data, String contentType, String fileName) {
-        this.logoData = data;
-        this.logoContentType = contentType;
-        this.logoFileName = fileName;
-    }
-
-    public void clearLogo() {
-        this.logoData = null;
-        this.logoContentType = null;
-        this.logoFileName = null;
+        return logoHash != null;
     }
 
     // =============================
@@ -161,7 +149,8 @@ public class Business extends LynxPanacheEntity {
     }
 
     public static Optional<Business> findByIdOptional(Long id) {
-        return find("id", id).firstResultOptional();
+        // By id rather than by query, so the entity region can answer it
+        return Optional.ofNullable(findById(id));
     }
 
     public static Optional<Business> findByTaxId(String taxId) {
@@ -0,0 +1,104 @@
+package io.tahawus.lynx.business.model;
+
+import io.tahawus.lynx.business.service.LogoImageCache;
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
+import jakarta.persistence.*;
+
+import java.util.Optional;
+
+/**
+ * BusinessLogo - The uploaded logo of a Business, stored apart from the business row.
+ *
+ * Loading a Business never reads logo bytes; Business.logoHash tells whether
+ * there is a logo and which version it is. The bytes are read only when the
+ * logo itself is served or printed, and printing normally uses the smaller
+ * PRINT variant (see BusinessLogoVariant).
+ *
+ * At most one logo per business. Replacing the logo overwrites this row and
+ * regenerates its variants.
+ *
+ * @author Dan Pasco
+ */
+@Entity
+@Table(
+        name = "business_logo",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_business_logo_business", columnNames = {"business_id"})
+        }
+)
+public class BusinessLogo extends LynxPanacheEntity {
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "business_id", nullable = false)
+    public Business business;
+
+    @Column(name = "content_type", length = 100)
+    public String contentType;
+
+    @Column(name = "file_name", length = 255)
+    public String fileName;
+
+    /**
+     * Hex SHA-256 of data; copied to Business.logoHash and used as ETag.
+     */
+    @Column(name = "content_hash", length = 64, nullable = false)
+    public String contentHash;
+
+    @Column(name = "size_bytes", nullable = false)
+    public Integer sizeBytes;
+
+    @Column(name = "data", nullable = false)
+    public byte[] data;
+
+    // =============================
+    // =      Helper Methods       =
+    // =============================
+
+    public void setContent(byte[] data, String contentType, String fileName) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Logo data is required");
+        }
+        this.data = data;
+        this.contentType = contentType;
+        this.fileName = fileName;
+        this.sizeBytes = data.length;
+        this.contentHash = LogoImageCache.contentHash(data);
+    }
+
+    // =============================
+    // =      Query Methods        =
+    // =============================
+
+    public static Optional<BusinessLogo> findByBusinessId(Long businessId) {
+        return find("business.id", businessId).firstResultOptional();
+    }
+
+    /**
+     * Bytes of a logo variant, falling back to the original when the variant
+     * was never generated (e.g. a format ImageIO cannot decode).
+     *
+     * @return null if the business has no logo
+     */
+    public static byte[] loadData(Long businessId, LogoVariant variant) {
+        return BusinessLogoVariant.findByBusinessId(businessId, variant)
+                .map(v -> v.data)
+                .or(() -> findByBusinessId(businessId).map(l -> l.data))
+                .orElse(null);
+    }
+
+    public static long deleteByBusinessId(Long businessId) {
+        BusinessLogoVariant.delete("logo.id in (select l.id from BusinessLogo l where l.business.id = ?1)", businessId);
+        return delete("business.id", businessId);
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessLogo{" +
+                "id=" + id +
+                ", contentType='" + contentType + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", sizeBytes=" + sizeBytes +
+                ", contentHash='" + contentHash + '\'' +
+                '}';
+    }
+}
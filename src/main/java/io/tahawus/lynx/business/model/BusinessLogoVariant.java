@@ -0,0 +1,68 @@
+package io.tahawus.lynx.business.model;
+
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
+import jakarta.persistence.*;
+
+import java.util.Optional;
+
+/**
+ * BusinessLogoVariant - A downscaled PNG rendition of a BusinessLogo.
+ *
+ * One row per (logo, variant), enforced by {@value #UNIQUE_CONSTRAINT}.
+ * Generated by BusinessService when the logo is uploaded; deleted and
+ * regenerated when it is replaced.
+ *
+ * @author Dan Pasco
+ */
+@Entity
+@Table(
+        name = "business_logo_variant",
+        uniqueConstraints = {
+                @UniqueConstraint(name = BusinessLogoVariant.UNIQUE_CONSTRAINT, columnNames = {"logo_id", "variant"})
+        }
+)
+public class BusinessLogoVariant extends LynxPanacheEntity {
+
+    public static final String CONTENT_TYPE = "image/png";
+
+    public static final String UNIQUE_CONSTRAINT = "uk_business_logo_variant";
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "logo_id", nullable = false)
+    public BusinessLogo logo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant", length = 20, nullable = false)
+    public LogoVariant variant;
+
+    @Column(name = "width", nullable = false)
+    public Integer width;
+
+    @Column(name = "height", nullable = false)
+    public Integer height;
+
+    @Column(name = "data", nullable = false)
+    public byte[] data;
+
+    // =============================
+    // =      Query Methods        =
+    // =============================
+
+    public static Optional<BusinessLogoVariant> findByBusinessId(Long businessId, LogoVariant variant) {
+        return find("logo.business.id = ?1 and variant = ?2", businessId, variant).firstResultOptional();
+    }
+
+    public static long deleteByLogo(BusinessLogo logo) {
+        return delete("logo", logo);
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessLogoVariant{" +
+                "id=" + id +
+                ", variant=" + variant +
+                ", width=" + width +
+                ", height=" + height +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package io.tahawus.lynx.business.model;
+
+/**
+ * LogoVariant - Pre-generated, downscaled renditions of a business logo.
+ * <p>
+ * Generated as PNG when a logo is uploaded and stored in BusinessLogoVariant,
+ * so neither PDF rendering nor the UI has to decode the original.
+ *
+ * @author Dan Pasco
+ */
+public enum LogoVariant {
+
+    /**
+     * For PDFs: drawn at most 60pt high, stored at 2x for print sharpness
+     */
+    PRINT(120),
+
+    /**
+     * For UI lists and headers
+     */
+    THUMBNAIL(64);
+
+    private final int maxHeightPixels;
+
+    LogoVariant(int maxHeightPixels) {
+        this.maxHeightPixels = maxHeightPixels;
+    }
+
+    public int getMaxHeightPixels() {
+        return maxHeightPixels;
+    }
+}
@@ -1,17 +1,23 @@
 package io.tahawus.lynx.business.service;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.tahawus.lynx.business.dto.BusinessCreateDto;
 import io.tahawus.lynx.business.dto.BusinessDto;
 import io.tahawus.lynx.business.dto.BusinessLogoDto;
 import io.tahawus.lynx.business.dto.BusinessUpdateDto;
 import io.tahawus.lynx.business.mapper.BusinessMapper;
 import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.business.model.BusinessLogo;
+import io.tahawus.lynx.business.model.BusinessLogoVariant;
+import io.tahawus.lynx.business.model.LogoVariant;
 import io.tahawus.lynx.contacts.model.Contact;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service layer for Business operations.
@@ -44,9 +50,39 @@ public class BusinessService {
         return BusinessMapper.toDto(business);
     }
 
-    public BusinessLogoDto getLogo(Long id) {
+    /**
+     * Current logo hash of a business, without loading the logo.
+     *
+     * @throws NotFoundException if the business does not exist or has no logo
+     */
+    public String getLogoHash(Long id) {
         Business business = findOrThrow(id);
-        return BusinessMapper.toLogoDto(business);
+        if (!business.hasLogo()) {
+            throw new NotFoundException("Business has no logo");
+        }
+        return business.logoHash;
+    }
+
+    /**
+     * The original logo, or one of its variants.
+     *
+     * A variant missing for a logo stored before variants existed is generated
+     * on first request and saved in its own transaction (see storeMissingVariant).
+     * If the logo cannot be decoded, the original is returned instead.
+     *
+     * @param variant null for the original upload
+     */
+    public BusinessLogoDto getLogo(Long id, LogoVariant variant) {
+        BusinessLogo logo = BusinessLogo.findByBusinessId(id)
+                .orElseThrow(() -> new NotFoundException("Business has no logo"));
+        if (variant == null) {
+            return BusinessMapper.toLogoDto(logo);
+        }
+
+        Optional<BusinessLogoVariant> rendition = BusinessLogoVariant.findByBusinessId(id, variant)
+                .or(() -> storeMissingVariant(id, logo, variant));
+        return rendition.map(v -> BusinessMapper.toLogoDto(v, logo))
+                .orElseGet(() -> BusinessMapper.toLogoDto(logo));
     }
 
     // =============================
@@ -85,6 +121,7 @@ public class BusinessService {
         //     throw new IllegalStateException("Cannot delete Business - it has fiscal years or accounts");
         // }
 
+        BusinessLogo.deleteByBusinessId(id);
         business.delete();
     }
 
@@ -92,20 +129,109 @@ public class BusinessService {
     // =     Logo Operations       =
     // =============================
 
+    /**
+     * Store a new logo and pre-generate its variants.
+     */
     @Transactional
     public BusinessDto updateLogo(Long id, byte[] data, String contentType, String fileName) {
         Business business = findOrThrow(id);
-        business.setLogo(data, contentType, fileName);
+
+        BusinessLogo logo = BusinessLogo.findByBusinessId(id).orElse(null);
+        if (logo == null) {
+            logo = new BusinessLogo();
+            logo.business = business;
+        } else {
+            BusinessLogoVariant.deleteByLogo(logo);
+        }
+        logo.setContent(data, contentType, fileName);
+        logo.persist();
+
+        for (LogoVariant variant : LogoVariant.values()) {
+            generateVariant(logo, variant);
+        }
+
+        business.logoHash = logo.contentHash;
         return BusinessMapper.toDto(business);
     }
 
     @Transactional
     public BusinessDto removeLogo(Long id) {
         Business business = findOrThrow(id);
-        business.clearLogo();
+        BusinessLogo.deleteByBusinessId(id);
+        business.logoHash = null;
         return BusinessMapper.toDto(business);
     }
 
+    /**
+     * Render and persist one variant in the current transaction.
+     *
+     * @return empty if the logo format cannot be decoded
+     */
+    private Optional<BusinessLogoVariant> generateVariant(BusinessLogo logo, LogoVariant variant) {
+        return renderVariant(logo, variant)
+                .map(rendition -> {
+                    rendition.persist();
+                    return rendition;
+                });
+    }
+
+    /**
+     * Render a variant missing from an older logo and save it in a transaction
+     * of its own. Concurrent first requests for the same variant race on
+     * {@value BusinessLogoVariant#UNIQUE_CONSTRAINT}; the loser reads the
+     * winner's row instead of failing.
+     *
+     * @return empty if the logo format cannot be decoded
+     */
+    private Optional<BusinessLogoVariant> storeMissingVariant(Long businessId, BusinessLogo logo, LogoVariant variant) {
+        Optional<BusinessLogoVariant> rendition = renderVariant(logo, variant);
+        if (rendition.isEmpty()) {
+            return rendition;
+        }
+        Long logoId = logo.id;
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                BusinessLogoVariant row = rendition.get();
+                row.logo = BusinessLogo.getEntityManager().getReference(BusinessLogo.class, logoId);
+                row.persistAndFlush();
+            });
+            return rendition;
+        } catch (RuntimeException e) {
+            if (!isDuplicateVariant(e)) {
+                throw e;
+            }
+            return BusinessLogoVariant.findByBusinessId(businessId, variant).or(() -> rendition);
+        }
+    }
+
+    /**
+     * @return empty if the logo format cannot be decoded
+     */
+    private static Optional<BusinessLogoVariant> renderVariant(BusinessLogo logo, LogoVariant variant) {
+        return LogoImageCache.decodeScaled(logo.data, variant.getMaxHeightPixels())
+                .map(image -> {
+                    BusinessLogoVariant rendition = new BusinessLogoVariant();
+                    rendition.logo = logo;
+                    rendition.variant = variant;
+                    rendition.width = image.getWidth();
+                    rendition.height = image.getHeight();
+                    rendition.data = LogoImageCache.encodePng(image);
+                    return rendition;
+                });
+    }
+
+    /**
+     * Whether the failure is the variant's unique key; Hibernate may wrap it.
+     */
+    private static boolean isDuplicateVariant(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation) {
+                return BusinessLogoVariant.UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
     // =============================
     // =      Helper Methods       =
     // =============================
@@ -0,0 +1,142 @@
+package io.tahawus.lynx.business.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * LogoImageCache - Decoded, downscaled business logos for printing.
+ *
+ * Decoding a logo is the most expensive step of rendering a ticket. Logos are
+ * decoded once, scaled down to the print height and kept in a small LRU cache
+ * keyed by the SHA-256 of the logo (Business.logoHash), so a changed logo is
+ * simply a new key and no invalidation is needed. The bytes are only loaded
+ * on a miss.
+ *
+ * Also provides the decode/scale/encode steps used to pre-generate logo variants.
+ *
+ * Cached images are never modified after they are stored; callers must treat
+ * them as read-only.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class LogoImageCache {
+
+    private static final Logger LOG = Logger.getLogger(LogoImageCache.class);
+
+    @ConfigProperty(name = "lynx.logo-cache.max-entries", defaultValue = "64")
+    int maxEntries;
+
+    /**
+     * Access-ordered LRU; empty Optional remembers logos that cannot be decoded.
+     */
+    private final Map<String, Optional<BufferedImage>> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Logo scaled so its height is at most maxHeightPixels.
+     *
+     * @param contentHash SHA-256 of the logo, or null if there is none
+     * @param loader      Loads the logo bytes on a cache miss (may return null)
+     * @return empty if the logo is missing or cannot be decoded
+     */
+    public Optional<BufferedImage> get(String contentHash, int maxHeightPixels, Supplier<byte[]> loader) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        String key = contentHash + "@" + maxHeightPixels;
+
+        synchronized (images) {
+            Optional<BufferedImage> cached = images.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Optional<BufferedImage> loaded = decodeScaled(loader.get(), maxHeightPixels);
+        synchronized (images) {
+            images.put(key, loaded);
+            while (images.size() > maxEntries) {
+                images.remove(images.keySet().iterator().next());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Hex SHA-256 of logo bytes.
+     */
+    public static String contentHash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Decode an image and scale it so its height is at most maxHeightPixels.
+     *
+     * @return empty if the data is missing or cannot be decoded by ImageIO
+     */
+    public static Optional<BufferedImage> decodeScaled(byte[] logoData, int maxHeightPixels) {
+        if (logoData == null || logoData.length == 0) {
+            return Optional.empty();
+        }
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(logoData));
+            if (source == null) {
+                LOG.debug("Logo format not supported by ImageIO");
+                return Optional.empty();
+            }
+            return Optional.of(downscale(source, maxHeightPixels));
+        } catch (IOException | RuntimeException e) {
+            LOG.debugf(e, "Logo could not be decoded");
+            return Optional.empty();
+        }
+    }
+
+    private static BufferedImage downscale(BufferedImage source, int maxHeightPixels) {
+        boolean alpha = source.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        int height = Math.min(source.getHeight(), maxHeightPixels);
+        int width = Math.max(1, Math.round(source.getWidth() * (height / (float) source.getHeight())));
+
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    public static byte[] encodePng(BufferedImage image) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,14 +2,18 @@ package io.tahawus.lynx.contacts.api;
 
 import io.tahawus.lynx.contacts.dto.ContactCreateDto;
 import io.tahawus.lynx.contacts.dto.ContactDto;
+import io.tahawus.lynx.contacts.dto.ContactSummaryDto;
 import io.tahawus.lynx.contacts.dto.ContactUpdateDto;
 import io.tahawus.lynx.contacts.service.ContactService;
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 
 import java.util.List;
@@ -18,9 +22,10 @@ import java.util.List;
  * REST API for Contact management.
  *
  * Endpoints:
- * - GET    /contacts                 - List all contacts
- * - GET    /contacts/{id}            - Get contact by ID
- * - GET    /contacts/search?q=       - Search contacts by name
+ * - GET    /contacts?cursor=&limit=  - List contacts (summaries, keyset-paged)
+ * - GET    /contacts (NDJSON)        - Stream all contact summaries
+ * - GET    /contacts/{id}            - Get contact by ID (with addresses and phones)
+ * - GET    /contacts/search?q=       - Search contacts by name (summaries, keyset-paged)
  * - POST   /contacts                 - Create new contact
  * - POST   /contacts/batch           - Create multiple contacts
  * - PUT    /contacts/{id}            - Update contact
@@ -38,9 +43,25 @@ public class ContactResource {
     // =      Query Endpoints      =
     // =============================
 
+    /**
+     * Keyset-paginated list, by name.
+     * Pass the returned next cursor to get the following page.
+     */
     @GET
-    public List<ContactDto> list() {
-        return contactService.listAll();
+    public KeysetPage<ContactSummaryDto> list(
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit) {
+        return contactService.list(cursor, limit);
+    }
+
+    /**
+     * Every contact as newline-delimited JSON summaries.
+     * Selected with Accept: application/x-ndjson.
+     */
+    @GET
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    public StreamingOutput listNdjson() {
+        return contactService.streamSummaries();
     }
 
     @GET
@@ -51,11 +72,14 @@ public class ContactResource {
 
     @GET
     @Path("/search")
-    public List<ContactDto> search(@QueryParam("q") String query) {
+    public KeysetPage<ContactSummaryDto> search(
+            @QueryParam("q") String query,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit) {
         if (query == null || query.trim().isEmpty()) {
-            return List.of();
+            return new KeysetPage<>(List.of(), null);
         }
-        return contactService.search(query.trim());
+        return contactService.search(query.trim(), cursor, limit);
     }
 
     // =============================
@@ -0,0 +1,18 @@
+package io.tahawus.lynx.contacts.dto;
+
+import io.tahawus.lynx.contacts.model.ContactType;
+
+/**
+ * Lightweight Contact view for lists and search.
+ * Loaded as a projection; no addresses or telephone collections.
+ *
+ * @param primaryPhone first telephone number entered for the contact, if any
+ */
+public record ContactSummaryDto(
+        Long id,
+        ContactType type,
+        String name,
+        String abbreviation,
+        String email,
+        String primaryPhone
+) {}
@@ -10,7 +10,7 @@ import java.time.Instant;
 @Table(name = "address")
 public class Address extends LynxPanacheEntity {
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contact_fk")
     @JsonIgnore
     public Contact contact;
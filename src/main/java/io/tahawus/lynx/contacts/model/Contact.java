@@ -5,18 +5,23 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.tahawus.lynx.core.model.AuditableEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 /**
+ * Addresses and phones are LAZY and batch-fetched: lists use ContactSummaryDto
+ * projections and only the detail view loads the collections.
+ *
  * @author Dan Pasco
  */
 
 @Entity
 @Table(name = "contact")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@BatchSize(size = 50)
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
 @JsonSubTypes({
@@ -40,7 +45,8 @@ public class Contact extends AuditableEntity {
     @Column(name = "web_site", length = 200)
     public String webSite;
 
-    @OneToMany(mappedBy = "contact", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "contact", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     public List<Address> addresses = new ArrayList<>();
 
     public void addAddress(Address address) {
@@ -53,7 +59,8 @@ public class Contact extends AuditableEntity {
         address.contact = null;
     }
 
-    @OneToMany(mappedBy = "contact", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "contact", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     public List<Telephone> phones = new ArrayList<>();
 
     public void addPhone(Telephone phone) {
@@ -70,10 +77,6 @@ public class Contact extends AuditableEntity {
     // =          Methods          =
     // =============================
 
-    public static List<Contact> findContainingName(String name) {
-        return Contact.list("lower(name) like lower(?1)", "%" + name + "%");
-    }
-
     public static Optional<Contact> findByName(String name) {
         return Contact.find("name", name).firstResultOptional();
     }
@@ -8,7 +8,7 @@ import jakarta.persistence.*;
 @Table(name = "telephone")
 public class Telephone extends LynxPanacheEntity {
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contact_fk")
     @JsonIgnore
     public Contact contact;
@@ -2,15 +2,27 @@ package io.tahawus.lynx.contacts.service;
 
 import io.tahawus.lynx.contacts.dto.ContactCreateDto;
 import io.tahawus.lynx.contacts.dto.ContactDto;
+import io.tahawus.lynx.contacts.dto.ContactSummaryDto;
 import io.tahawus.lynx.contacts.dto.ContactUpdateDto;
 import io.tahawus.lynx.contacts.mapper.ContactMapper;
 import io.tahawus.lynx.contacts.model.Contact;
+import io.tahawus.lynx.contacts.model.ContactType;
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
+import io.tahawus.lynx.core.util.KeysetCursor;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,13 +31,21 @@ import java.util.Optional;
 @ApplicationScoped
 public class ContactService {
 
+    @Inject
+    EntityManager em;
+
+    @Inject
+    NdjsonStreamer ndjson;
+
     // =============================
     // =      Query Operations     =
     // =============================
 
-    public List<ContactDto> listAll() {
-        List<Contact> contacts = Contact.listAll();
-        return ContactMapper.toDtoList(contacts);
+    /**
+     * Keyset-paginated contacts ordered by name, as summaries (no collections).
+     */
+    public KeysetPage<ContactSummaryDto> list(String cursor, Integer limit) {
+        return summaries(new ArrayList<>(), new HashMap<>(), cursor, limit);
     }
 
     public ContactDto get(Long id) {
@@ -33,14 +53,30 @@ public class ContactService {
         return ContactMapper.toDto(contact);
     }
 
+    /**
+     * Every contact as NDJSON summaries, ordered by name.
+     */
+    public StreamingOutput streamSummaries() {
+        return ndjson.streamRows(() -> summaryQuery(List.of(), Map.of())
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, ndjson.fetchSize())
+                        .getResultStream(),
+                ContactService::toSummary);
+    }
+
     public Optional<ContactDto> findByName(String name) {
         return Contact.findByName(name)
                 .map(ContactMapper::toDto);
     }
 
-    public List<ContactDto> search(String namePattern) {
-        List<Contact> contacts = Contact.findContainingName(namePattern);
-        return ContactMapper.toDtoList(contacts);
+    /**
+     * Keyset-paginated contacts whose name contains the pattern, as summaries.
+     */
+    public KeysetPage<ContactSummaryDto> search(String namePattern, String cursor, Integer limit) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        where.add("lower(c.name) like :pattern");
+        params.put("pattern", "%" + namePattern.toLowerCase() + "%");
+        return summaries(where, params, cursor, limit);
     }
 
     // =============================
@@ -92,6 +128,51 @@ public class ContactService {
     // =      Helper Methods       =
     // =============================
 
+    /**
+     * Summary projection: one row per contact, primary phone via subquery,
+     * so no address or telephone entities are loaded.
+     */
+    private KeysetPage<ContactSummaryDto> summaries(List<String> where,
+                                                    Map<String, Object> params,
+                                                    String cursor,
+                                                    Integer limit) {
+        int pageSize = KeysetPage.limit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null) {
+            where.add(KeysetCursor.ascending("c", "name"));
+            params.put("afterKey", after.key());
+            params.put("afterId", after.id());
+        }
+        List<Object[]> rows = summaryQuery(where, params)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        return KeysetPage.of(rows, pageSize, ContactService::toSummary,
+                row -> KeysetCursor.of((String) row[2], (Long) row[0]));
+    }
+
+    private TypedQuery<Object[]> summaryQuery(List<String> where, Map<String, Object> params) {
+        TypedQuery<Object[]> query = em.createQuery(
+                "select c.id, case when type(c) = Person then true else false end, " +
+                "c.name, c.abbreviation, c.email, " +
+                "(select t.telephoneNumber from Telephone t where t.id = " +
+                "(select min(t2.id) from Telephone t2 where t2.contact = c)) " +
+                "from Contact c " +
+                (where.isEmpty() ? "" : "where " + String.join(" and ", where) + " ") +
+                "order by c.name, c.id", Object[].class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    private static ContactSummaryDto toSummary(Object[] row) {
+        return new ContactSummaryDto(
+                (Long) row[0],
+                Boolean.TRUE.equals(row[1]) ? ContactType.PERSON : ContactType.ORGANIZATION,
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5]);
+    }
+
     private Contact findOrThrow(Long id) {
         return Contact.findByIdOptional(id)
                 .map(obj -> (Contact) obj)
@@ -0,0 +1,70 @@
+package io.tahawus.lynx.core.api;
+
+import io.tahawus.lynx.core.service.CacheStatisticsService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * REST API for second-level cache metrics.
+ *
+ * GET    /cache-statistics/regions           - Hit/miss counters and ratios per region
+ * GET    /cache-statistics/regions/{region}  - One region
+ * DELETE /cache-statistics                   - Reset the counters
+ *
+ * Region names and counters span every tenant, so all endpoints require
+ * the X-Admin-Token header, as the tenant admin endpoints do.
+ */
+@Path("/cache-statistics")
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheStatisticsResource {
+
+    private static final Logger LOG = Logger.getLogger(CacheStatisticsResource.class);
+
+    @ConfigProperty(name = "lynx.admin.token", defaultValue = "lynx-admin-secret-2024")
+    String adminToken;
+
+    @Inject
+    CacheStatisticsService cacheStatisticsService;
+
+    @GET
+    @Path("/regions")
+    public Response listRegions(@HeaderParam("X-Admin-Token") String token) {
+        if (!adminToken.equals(token)) {
+            return unauthorized();
+        }
+        return Response.ok(cacheStatisticsService.listRegions()).build();
+    }
+
+    @GET
+    @Path("/regions/{region}")
+    public Response getRegion(
+            @PathParam("region") String region,
+            @HeaderParam("X-Admin-Token") String token) {
+        if (!adminToken.equals(token)) {
+            return unauthorized();
+        }
+        return Response.ok(cacheStatisticsService.getRegion(region)).build();
+    }
+
+    @DELETE
+    public Response reset(@HeaderParam("X-Admin-Token") String token) {
+        if (!adminToken.equals(token)) {
+            return unauthorized();
+        }
+        cacheStatisticsService.reset();
+        return Response.noContent().build();
+    }
+
+    private Response unauthorized() {
+        LOG.warn("Unauthorized cache statistics request");
+        return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("Admin token required"))
+                .build();
+    }
+
+    public record ErrorResponse(String message) {}
+}
@@ -0,0 +1,54 @@
+package io.tahawus.lynx.core.api;
+
+import io.tahawus.lynx.core.dto.NumberSequenceCreateDto;
+import io.tahawus.lynx.core.dto.NumberSequenceDto;
+import io.tahawus.lynx.core.dto.NumberSequenceUpdateDto;
+import io.tahawus.lynx.core.service.NumberSequenceService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.*;
+
+import java.util.List;
+
+/**
+ * REST API for NumberSequence configuration.
+ *
+ * Sequences are created on first use; this is for admin screens that set the
+ * mode (GAPLESS or LEASED), lease size or next number of a sequence up front.
+ */
+@Path("/number-sequences")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class NumberSequenceResource {
+
+    @Inject
+    NumberSequenceService numberSequenceService;
+
+    @GET
+    public List<NumberSequenceDto> list(@QueryParam("businessId") Long businessId) {
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        return numberSequenceService.list(businessId);
+    }
+
+    @GET
+    @Path("/{id}")
+    public NumberSequenceDto get(@PathParam("id") Long id) {
+        return numberSequenceService.get(id);
+    }
+
+    @POST
+    public Response create(NumberSequenceCreateDto dto, @Context UriInfo uriInfo) {
+        NumberSequenceDto result = numberSequenceService.create(dto);
+        return Response.created(uriInfo.getAbsolutePathBuilder().path(result.id().toString()).build())
+                .entity(result)
+                .build();
+    }
+
+    @PUT
+    @Path("/{id}")
+    public NumberSequenceDto update(@PathParam("id") Long id, NumberSequenceUpdateDto dto) {
+        return numberSequenceService.update(id, dto);
+    }
+}
@@ -0,0 +1,18 @@
+package io.tahawus.lynx.core.dto;
+
+/**
+ * Hit/miss counters for one second-level cache region, summed over all tenants.
+ *
+ * hitRatio and missRatio are null until the region has been looked up once.
+ *
+ * @author Dan Pasco
+ */
+public record CacheRegionStatsDto(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        long elementCountInMemory,
+        Double hitRatio,
+        Double missRatio
+) {}
@@ -0,0 +1,41 @@
+package io.tahawus.lynx.core.dto;
+
+import io.tahawus.lynx.core.util.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * @param next cursor for the following page, or null on the last page
+ */
+public record KeysetPage<T>(List<T> items, String next) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Requested page size, defaulted and capped.
+     */
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Build a page from rows fetched with limit + 1: the extra row only
+     * signals that a next page exists.
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows,
+                                          int limit,
+                                          Function<E, T> mapper,
+                                          Function<E, KeysetCursor> cursor) {
+        boolean more = rows.size() > limit;
+        List<E> page = more ? rows.subList(0, limit) : rows;
+        String next = more ? cursor.apply(page.get(page.size() - 1)).encode() : null;
+        return new KeysetPage<>(page.stream().map(mapper).toList(), next);
+    }
+}
@@ -1,5 +1,7 @@
 package io.tahawus.lynx.core.dto;
 
+import io.tahawus.lynx.core.model.NumberSequenceMode;
+
 /**
  * Payload for creating a new NumberSequence for a Business.
  * Often you may rely on "create on first use" instead, but this
@@ -8,5 +10,7 @@ package io.tahawus.lynx.core.dto;
 public record NumberSequenceCreateDto(
         Long businessId,
         String sequenceKey,
-        Long startNumber
+        Long startNumber,
+        NumberSequenceMode mode,
+        Integer leaseSize
 ) {}
@@ -1,5 +1,7 @@
 package io.tahawus.lynx.core.dto;
 
+import io.tahawus.lynx.core.model.NumberSequenceMode;
+
 import java.time.LocalDateTime;
 
 /**
@@ -11,6 +13,8 @@ public record NumberSequenceDto(
         Long businessId,
         String sequenceKey,
         Long nextNumber,
+        NumberSequenceMode mode,
+        Integer leaseSize,
         LocalDateTime createdAt,
         LocalDateTime modifiedAt
 ) {}
@@ -1,9 +1,13 @@
 package io.tahawus.lynx.core.dto;
 
+import io.tahawus.lynx.core.model.NumberSequenceMode;
+
 /**
  * Payload for updating NumberSequence configuration.
- * Currently only nextNumber is exposed, but this can be expanded later.
+ * Null fields are left unchanged.
  */
 public record NumberSequenceUpdateDto(
-        Long nextNumber
+        Long nextNumber,
+        NumberSequenceMode mode,
+        Integer leaseSize
 ) {}
@@ -1,21 +1,20 @@
 package io.tahawus.lynx.core.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 
 /**
- * Custom base entity that uses IDENTITY generation strategy
- * to work with PostgreSQL BIGSERIAL columns.
+ * Custom base entity that generates ids from a pooled per-table
+ * sequence ({@code <table>_seq}) created by the Flyway migrations.
  *
- * This replaces PanacheEntity which uses SEQUENCE by default.
+ * This replaces PanacheEntity, whose sequences are named after the entity.
+ * Pooled ids keep inserts batchable; see {@link TableSequenceGenerator}.
  */
 @MappedSuperclass
 public class LynxPanacheEntity extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TableSequenceId
     public Long id;
 }
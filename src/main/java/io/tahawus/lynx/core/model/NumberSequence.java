@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
  * This entity is responsible ONLY for:
  *   - Storing the next numeric value (nextNumber)
  *   - Incrementing it atomically within a transaction
+ *   - Declaring the numbering mode (GAPLESS or LEASED, see NumberSequenceMode)
  *
  * Formatting (prefix, padding, etc.) is LEFT TO CALLERS.
  *
@@ -82,6 +83,19 @@ public class NumberSequence extends PanacheEntityBase {
     @Column(name = "next_number", nullable = false)
     public Long nextNumber;
 
+    /**
+     * Numbering mode. GAPLESS unless the sequence was set up for leasing.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 20)
+    public NumberSequenceMode mode = NumberSequenceMode.GAPLESS;
+
+    /**
+     * Block size for LEASED mode. Null = service default.
+     */
+    @Column(name = "lease_size")
+    public Integer leaseSize;
+
     // =============================
     // =     Audit Fields          =
     // =============================
@@ -125,6 +139,20 @@ public class NumberSequence extends PanacheEntityBase {
         return current;
     }
 
+    /**
+     * Take a contiguous block of numbers and advance the sequence past it.
+     *
+     * Same locking rules as generateNextNumber().
+     *
+     * @param count number of values to take
+     * @return the first value of the block
+     */
+    public Long generateBlock(long count) {
+        Long first = nextNumber;
+        nextNumber = nextNumber + count;
+        return first;
+    }
+
     /**
      * Create a new sequence instance (not yet persisted).
      *
@@ -147,6 +175,7 @@ public class NumberSequence extends PanacheEntityBase {
                 ", businessId=" + (business != null ? business.id : null) +
                 ", sequenceKey='" + sequenceKey + '\'' +
                 ", nextNumber=" + nextNumber +
+                ", mode=" + mode +
                 '}';
     }
 }
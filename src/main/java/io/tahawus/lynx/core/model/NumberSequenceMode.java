@@ -0,0 +1,24 @@
+package io.tahawus.lynx.core.model;
+
+/**
+ * How a NumberSequence hands out numbers.
+ */
+public enum NumberSequenceMode {
+
+    /**
+     * Strictly gapless. Every number is taken under a PESSIMISTIC_WRITE row lock
+     * held until the caller's transaction commits, so a rolled back caller never
+     * burns a number. Creates for one sequence run one at a time.
+     *
+     * Default; required for documents that legally must be gapless.
+     */
+    GAPLESS,
+
+    /**
+     * Block-leased. Each node leases a block of numbers in a short separate
+     * transaction and hands them out from memory. Numbers are unique and
+     * increasing per node but may have gaps (rollbacks, restarts) and may
+     * interleave across nodes.
+     */
+    LEASED
+}
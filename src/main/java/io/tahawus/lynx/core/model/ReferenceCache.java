@@ -0,0 +1,53 @@
+package io.tahawus.lynx.core.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * Second-level cache helpers for reference data (chart of accounts,
+ * fiscal calendar, businesses).
+ *
+ * Those entities are {@code @Cacheable}, so loads by id are served from
+ * their entity region. Lookups by natural key (short code, formatted
+ * number, year, period number) are queries, and go through the query
+ * cache in their own region (one per entity) so hit/miss counts can be
+ * told apart; see CacheStatisticsService.
+ *
+ * TENANT ISOLATION:
+ * Hibernate puts the session's tenant identifier (the schema name,
+ * see HibernateTenantResolver) in every entity, natural-id and query cache
+ * key, so rows with the same id in two tenant schemas never collide.
+ * hibernate.cache.keys_factory is pinned to "default" in application.properties
+ * to keep it that way.
+ *
+ * Cached query results are invalidated whenever one of their tables is
+ * written through Hibernate.
+ *
+ * @author Dan Pasco
+ */
+public final class ReferenceCache {
+
+    /**
+     * Prefix of the query cache regions used for reference lookups.
+     */
+    public static final String LOOKUP_REGION_PREFIX = "lookup.";
+
+    private ReferenceCache() {
+    }
+
+    /**
+     * Cache the results of a natural-key lookup on the given entity.
+     */
+    public static <T> PanacheQuery<T> lookup(PanacheQuery<T> query, Class<?> entityClass) {
+        return query
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, lookupRegion(entityClass));
+    }
+
+    /**
+     * Query cache region for lookups on the given entity, e.g. "lookup.AccountGroup".
+     */
+    public static String lookupRegion(Class<?> entityClass) {
+        return LOOKUP_REGION_PREFIX + entityClass.getSimpleName();
+    }
+}
@@ -0,0 +1,19 @@
+package io.tahawus.lynx.core.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate ids from a pooled per-table sequence named {@code <table>_seq}.
+ *
+ * See {@link TableSequenceGenerator}.
+ */
+@IdGeneratorType(TableSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TableSequenceId {
+}
@@ -0,0 +1,72 @@
+package io.tahawus.lynx.core.service;
+
+import io.tahawus.lynx.core.dto.CacheRegionStatsDto;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Second-level cache statistics per region.
+ *
+ * Entity regions are named after the entity class, reference lookup regions
+ * "lookup.<Entity>" (see ReferenceCache). Regions are shared by all tenants
+ * (their keys carry the tenant schema), so counters are node-wide totals
+ * since startup or the last reset.
+ *
+ * Requires quarkus.hibernate-orm.statistics=true; otherwise every counter is 0.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class CacheStatisticsService {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    public List<CacheRegionStatsDto> listRegions() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .toList();
+    }
+
+    public CacheRegionStatsDto getRegion(String region) {
+        CacheRegionStatistics regionStatistics = sessionFactory.getStatistics().getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            throw new NotFoundException("Cache region not found: " + region);
+        }
+        return toDto(region, regionStatistics);
+    }
+
+    /**
+     * Reset all Hibernate statistics, cache counters included.
+     */
+    public void reset() {
+        sessionFactory.getStatistics().clear();
+    }
+
+    private static CacheRegionStatsDto toDto(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new CacheRegionStatsDto(region, 0, 0, 0, 0, null, null);
+        }
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        long lookups = hits + misses;
+        return new CacheRegionStatsDto(
+                region,
+                hits,
+                misses,
+                statistics.getPutCount(),
+                statistics.getElementCountInMemory(),
+                lookups == 0 ? null : (double) hits / lookups,
+                lookups == 0 ? null : (double) misses / lookups
+        );
+    }
+}
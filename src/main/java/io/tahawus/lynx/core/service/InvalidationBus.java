@@ -0,0 +1,374 @@
+package io.tahawus.lynx.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * InvalidationBus - Cross-node invalidation of in-process caches.
+ *
+ * Every node keeps its own caches (TenantCache, AccountDirectory, FiscalCalendar,
+ * the Hibernate second-level cache). A cache that drops an entry locally also
+ * calls publish(); the notice reaches the other nodes through Postgres
+ * LISTEN/NOTIFY on the {@value #CHANNEL} channel, and each node fires it as a
+ * CDI event (Notice) that the caches observe. Notices from this node are ignored.
+ *
+ * PUBLISHING:
+ * Notices are collected per transaction (duplicates collapse) and sent with
+ * pg_notify after commit, from a pooled connection on a background thread.
+ * Nothing is sent on rollback. Outside a transaction the notice is sent at once.
+ *
+ * SUBSCRIBING:
+ * One dedicated connection per node, opened with the datasource's URL and
+ * credentials but outside the pool, LISTENs and polls for notifications.
+ * Idle connections are checked every lynx.invalidation.heartbeat.
+ *
+ * DELIVERY:
+ * Best effort. A notice sent while a node is disconnected is lost, so after
+ * every (re)connect the node fires Notice.flush() and every cache drops
+ * everything. Needs nothing beyond the Postgres we already run.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class InvalidationBus {
+
+    private static final Logger LOG = Logger.getLogger(InvalidationBus.class);
+
+    public static final String CHANNEL = "lynx_invalidation";
+
+    /**
+     * pg_notify rejects payloads of 8000 bytes or more.
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final Object PENDING_KEY = InvalidationBus.class.getName() + ".pending";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    TransactionSynchronizationRegistry registry;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Event<Notice> notices;
+
+    @ConfigProperty(name = "lynx.invalidation.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "lynx.invalidation.poll-interval", defaultValue = "PT1S")
+    Duration pollInterval;
+
+    @ConfigProperty(name = "lynx.invalidation.heartbeat", defaultValue = "PT30S")
+    Duration heartbeat;
+
+    @ConfigProperty(name = "lynx.invalidation.reconnect-delay", defaultValue = "PT5S")
+    Duration reconnectDelay;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    String jdbcUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    /**
+     * A cache change: something of kind entity with identifier id changed in tenant.
+     *
+     * @param tenant Tenant schema, or null for data in the public schema
+     * @param entity What changed: an entity class name for the second-level
+     *               cache, or a cache-specific name (see the publishing cache)
+     * @param id     Identifier within entity, or null for all of them
+     */
+    public record Notice(String tenant, String entity, String id) {
+
+        /**
+         * Drop everything: notices may have been missed.
+         */
+        public static Notice flush() {
+            return new Notice(null, null, null);
+        }
+
+        public boolean isFlush() {
+            return entity == null;
+        }
+
+        public boolean isFor(String entityName) {
+            return isFlush() || entityName.equals(entity);
+        }
+    }
+
+    /**
+     * Wire format of a notice.
+     */
+    private record Message(String node, String tenant, String entity, String id) {}
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ExecutorService sender;
+    private Thread listener;
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            LOG.info("Cross-node cache invalidation disabled");
+            return;
+        }
+        sender = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "invalidation-sender");
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+        listener = new Thread(this::listen, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (sender != null) {
+            sender.shutdown();
+        }
+        if (listener != null) {
+            listener.interrupt();
+        }
+        closeQuietly(listenerConnection);
+    }
+
+    // =============================
+    // =   Publishing              =
+    // =============================
+
+    /**
+     * Tell the other nodes that entity/id changed in the current tenant.
+     */
+    public void publish(String entity, Object id) {
+        publish(currentTenant(), entity, id);
+    }
+
+    /**
+     * Tell the other nodes that entity/id changed in the given tenant.
+     * Sent after the current transaction commits; dropped on rollback.
+     */
+    public void publish(String tenant, String entity, Object id) {
+        if (!running) {
+            return;
+        }
+        String payload = payload(tenant, entity, id);
+        if (payload == null) {
+            return;
+        }
+        if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            send(Set.of(payload));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) registry.getResource(PENDING_KEY);
+        if (pending == null) {
+            Set<String> batch = new LinkedHashSet<>();
+            registry.putResource(PENDING_KEY, batch);
+            registry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        send(batch);
+                    }
+                }
+            });
+            pending = batch;
+        }
+        pending.add(payload);
+    }
+
+    private String payload(String tenant, String entity, Object id) {
+        try {
+            String payload = objectMapper.writeValueAsString(
+                    new Message(nodeId, tenant, entity, id == null ? null : id.toString()));
+            if (payload.length() > MAX_PAYLOAD_LENGTH) {
+                LOG.warnf("Invalidation notice too large for pg_notify, dropped: %s/%s", tenant, entity);
+                return null;
+            }
+            return payload;
+        } catch (JsonProcessingException e) {
+            LOG.warnf("Cannot serialize invalidation notice %s/%s: %s", tenant, entity, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Off the calling thread: after commit the thread may still be bound to the
+     * finished transaction, and a pooled connection must not be enlisted in it.
+     */
+    private void send(Set<String> payloads) {
+        try {
+            sender.execute(() -> {
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement ps = connection.prepareStatement("select pg_notify(?, ?)")) {
+                    for (String payload : payloads) {
+                        ps.setString(1, CHANNEL);
+                        ps.setString(2, payload);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                } catch (SQLException e) {
+                    LOG.warnf("Failed to publish %d invalidation notice(s): %s", payloads.size(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Invalidation sender stopped, notice dropped");
+        }
+    }
+
+    // =============================
+    // =   Subscribing             =
+    // =============================
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = connect()) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                LOG.infof("Listening for cache invalidations on %s", CHANNEL);
+                // Whatever was sent while this node was not listening is lost
+                fire(Notice.flush());
+                poll(connection.unwrap(PGConnection.class), connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    LOG.warnf("Invalidation listener disconnected, retrying in %s: %s",
+                            reconnectDelay, e.getMessage());
+                }
+            } finally {
+                listenerConnection = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void poll(PGConnection pg, Connection connection) throws SQLException {
+        long lastActivity = System.nanoTime();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            PGNotification[] received = pg.getNotifications((int) pollInterval.toMillis());
+            if (received != null && received.length > 0) {
+                for (PGNotification notification : received) {
+                    receive(notification.getParameter());
+                }
+                lastActivity = System.nanoTime();
+            } else if (System.nanoTime() - lastActivity > heartbeat.toNanos()) {
+                // A dead connection does not fail getNotifications; a query does
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+                lastActivity = System.nanoTime();
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            LOG.warnf("Ignoring malformed invalidation notice: %s", payload);
+            return;
+        }
+        if (nodeId.equals(message.node()) || message.entity() == null) {
+            return;
+        }
+        fire(new Notice(message.tenant(), message.entity(), message.id()));
+    }
+
+    private void fire(Notice notice) {
+        try {
+            notices.fire(notice);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Cache invalidation failed for %s", notice);
+        }
+    }
+
+    /**
+     * Dedicated connection outside the pool: it is held for the life of the
+     * node, and the pool may validate or reap idle connections.
+     */
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        username.ifPresent(u -> properties.setProperty("user", u));
+        password.ifPresent(p -> properties.setProperty("password", p));
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("ApplicationName", "lynx-invalidation-listener");
+        Connection connection = new org.postgresql.Driver().connect(jdbcUrl, properties);
+        if (connection == null) {
+            throw new SQLException("Not a PostgreSQL URL: " + jdbcUrl);
+        }
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // shutting down
+        }
+    }
+
+    private String currentTenant() {
+        return String.valueOf(em.unwrap(Session.class).getTenantIdentifierValue());
+    }
+}
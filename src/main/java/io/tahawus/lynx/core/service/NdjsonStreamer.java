@@ -0,0 +1,125 @@
+package io.tahawus.lynx.core.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results as newline-delimited JSON (application/x-ndjson).
+ *
+ * Rows are read through a server-side cursor (PostgreSQL honours the JDBC fetch
+ * size inside a transaction) and each DTO is written as soon as it is mapped.
+ * The persistence context is cleared every fetch-size rows, so memory stays
+ * flat regardless of how many rows are returned.
+ *
+ * The query runs in its own read-only transaction while the response is written.
+ * Such a transaction can hold a pooled connection for up to
+ * lynx.ndjson.transaction-timeout, so at most lynx.ndjson.max-concurrent
+ * streams run at once; further requests fail fast with 503.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class NdjsonStreamer {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "lynx.ndjson.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    @ConfigProperty(name = "lynx.ndjson.transaction-timeout", defaultValue = "3600")
+    int transactionTimeoutSeconds;
+
+    @ConfigProperty(name = "lynx.ndjson.max-concurrent", defaultValue = "4")
+    int maxConcurrent;
+
+    private Semaphore streams;
+
+    @PostConstruct
+    void init() {
+        streams = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Stream a Panache query; fetch size and read-only hints are applied here.
+     */
+    public <E, T> StreamingOutput stream(Supplier<PanacheQuery<E>> query, Function<E, T> mapper) {
+        return streamRows(() -> query.get()
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream(), mapper);
+    }
+
+    /**
+     * Stream rows from any query. The supplier runs inside the streaming
+     * transaction and should set its fetch size to fetchSize().
+     */
+    public <E, T> StreamingOutput streamRows(Supplier<Stream<E>> rows, Function<E, T> mapper) {
+        return output -> {
+            if (!streams.tryAcquire()) {
+                throw new ServiceUnavailableException(5L);
+            }
+            try {
+                QuarkusTransaction.requiringNew()
+                        .timeout(transactionTimeoutSeconds)
+                        .run(() -> write(rows, mapper, output));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                streams.release();
+            }
+        };
+    }
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    private <E, T> void write(Supplier<Stream<E>> rows, Function<E, T> mapper, OutputStream output) {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Session session = em.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+
+        try (Stream<E> stream = rows.get()) {
+            Iterator<E> iterator = stream.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(output, mapper.apply(iterator.next()));
+                output.write('\n');
+                if (++count % fetchSize == 0) {
+                    output.flush();
+                    session.clear();
+                }
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
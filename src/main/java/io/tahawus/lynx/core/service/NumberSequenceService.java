@@ -1,22 +1,54 @@
 package io.tahawus.lynx.core.service;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.core.dto.NumberSequenceCreateDto;
+import io.tahawus.lynx.core.dto.NumberSequenceDto;
+import io.tahawus.lynx.core.dto.NumberSequenceUpdateDto;
 import io.tahawus.lynx.core.model.NumberSequence;
+import io.tahawus.lynx.core.model.NumberSequenceMode;
+import io.tahawus.lynx.tenant.CurrentTenant;
+import io.tahawus.lynx.tenant.TenantTaskRunner;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
 import org.jboss.logging.Logger;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Reactive service for managing numeric number sequences.
  *
  * Responsibilities:
- *   - Gapless, atomic number generation per Business + sequenceKey
- *   - Pessimistic locking to prevent duplicates under concurrency
+ *   - Atomic number generation per Business + sequenceKey
+ *   - GAPLESS sequences: pessimistic locking to prevent duplicates and gaps
+ *   - LEASED sequences: blocks leased in a short separate transaction and
+ *     handed out from memory, so callers do not serialize on the row lock
+ *   - Admin configuration (mode, lease size, next number)
  *
  * It does NOT:
  *   - Apply prefixes
@@ -24,21 +56,382 @@ import java.time.LocalDateTime;
  *   - Do any formatting
  *
  * Callers receive a raw Long and can format it however they like.
+ *
+ * LEASE THREADS:
+ * Leased blocks are taken on lynx.number-sequence.lease-threads background
+ * threads, each in its own transaction, never nested in the caller's. The
+ * next block is leased when a quarter of the current one is left, so callers
+ * normally get their number from memory without waiting. Only the first use
+ * of a sequence on a node (or a burst that outruns the prefetch) waits up to
+ * lynx.number-sequence.lease-timeout for a lease thread, and no lock is held
+ * while it does.
+ *
+ * INVALIDATION:
+ * Modes and leased blocks are cached per node. create() and update() drop the
+ * sequence after commit and publish an InvalidationBus notice so other nodes
+ * drop theirs; unused leased numbers are skipped.
  */
 @ApplicationScoped
 public class NumberSequenceService {
 
+    private static final Logger LOG = Logger.getLogger(NumberSequenceService.class);
+
+    /**
+     * InvalidationBus entity name; the notice id is "businessId:sequenceKey".
+     */
+    public static final String NOTICE_ENTITY = "NumberSequenceService";
+
     @Inject
     EntityManager em;
 
+    @Inject
+    CurrentTenant currentTenant;
+
+    @Inject
+    TenantTaskRunner tenantTaskRunner;
+
+    @Inject
+    TransactionCallbacks transactionCallbacks;
+
+    @Inject
+    InvalidationBus invalidationBus;
+
+    @ConfigProperty(name = "lynx.number-sequence.lease-size", defaultValue = "100")
+    int defaultLeaseSize;
+
+    @ConfigProperty(name = "lynx.number-sequence.lease-threads", defaultValue = "2")
+    int leaseThreads;
+
+    @ConfigProperty(name = "lynx.number-sequence.lease-timeout", defaultValue = "PT10S")
+    Duration leaseTimeout;
+
+    /**
+     * Mode per sequence, so the hot path does not re-read it.
+     */
+    private final ConcurrentMap<SequenceKey, NumberSequenceMode> modes = new ConcurrentHashMap<>();
+
+    /**
+     * Current leased block per LEASED sequence on this node.
+     */
+    private final ConcurrentMap<SequenceKey, LeaseSlot> leases = new ConcurrentHashMap<>();
+
+    ExecutorService leaseExecutor;
+
+    private record SequenceKey(String tenant, Long businessId, String sequenceKey) {
+
+        String noticeId() {
+            return businessId + ":" + sequenceKey;
+        }
+    }
+
+    /**
+     * A block of numbers [next, end) leased to this node.
+     */
+    private static final class Lease {
+        private final AtomicLong next;
+        private final long end;
+        private final long lowWater;
+
+        Lease(NumberRange range) {
+            this.next = new AtomicLong(range.first());
+            this.end = range.first() + range.count();
+            this.lowWater = range.count() / 4;
+        }
+
+        /**
+         * @return the next number, or -1 if the block is used up
+         */
+        long take() {
+            long n = next.getAndIncrement();
+            return n < end ? n : -1;
+        }
+
+        boolean isLow() {
+            return end - next.get() <= lowWater;
+        }
+    }
+
+    /**
+     * Leases of one sequence. Guarded by itself, except the volatile current.
+     */
+    private static final class LeaseSlot {
+        /**
+         * X-Tenant-Id to lease under (TenantTaskRunner)
+         */
+        private final String tenantIdentifier;
+        private volatile Lease current;
+        private Lease next;
+        private CompletableFuture<Lease> pending;
+
+        LeaseSlot(String tenantIdentifier) {
+            this.tenantIdentifier = tenantIdentifier;
+        }
+    }
+
+    /**
+     * A contiguous block of reserved numbers: first, first + 1, ..., first + count - 1.
+     */
+    public record NumberRange(long first, int count) {
+
+        /**
+         * @param index 0-based position within the range
+         */
+        public long get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("index " + index + " outside range of " + count);
+            }
+            return first + index;
+        }
+
+        public long last() {
+            return first + count - 1;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        leaseExecutor = Executors.newFixedThreadPool(leaseThreads, r -> {
+            Thread t = new Thread(r, "number-lease-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leaseExecutor.shutdownNow();
+    }
+
     public static String format(String prefix, Long number, int padding) {
         return String.format("%s-%0" + padding + "d", prefix, number);
     }
 
+    /**
+     * Next number of a sequence, creating the sequence as GAPLESS if it does not exist.
+     */
     @Transactional
     public Long getNextNumber(Long businessId, String sequenceKey) {
+        return getNextNumber(businessId, sequenceKey, NumberSequenceMode.GAPLESS);
+    }
+
+    /**
+     * Next number of a sequence.
+     *
+     * @param defaultMode Mode used only if the sequence does not exist yet;
+     *                    an existing sequence always keeps its stored mode
+     */
+    @Transactional
+    public Long getNextNumber(Long businessId, String sequenceKey, NumberSequenceMode defaultMode) {
+        SequenceKey key = new SequenceKey(currentTenant(), businessId, sequenceKey);
+        NumberSequenceMode mode = resolveMode(key, defaultMode);
+        if (mode == NumberSequenceMode.LEASED) {
+            return nextLeased(key);
+        }
+
+        NumberSequence seq = lockOrCreate(businessId, sequenceKey);
+        return seq.generateNextNumber();
+    }
+
+    /**
+     * Reserve a contiguous range of numbers, creating the sequence as GAPLESS if it does not exist.
+     */
+    @Transactional
+    public NumberRange reserve(Long businessId, String sequenceKey, int count) {
+        return reserve(businessId, sequenceKey, count, NumberSequenceMode.GAPLESS);
+    }
+
+    /**
+     * Reserve a contiguous range of numbers with a single locked update,
+     * for bulk creators that would otherwise call getNextNumber once per item.
+     *
+     * GAPLESS: the row lock is held until the caller's transaction ends, so a
+     * rollback returns the whole range. LEASED: the range is taken on a lease
+     * thread, like a lease block, and is lost if the caller rolls back.
+     *
+     * @param defaultMode Mode used only if the sequence does not exist yet
+     */
+    @Transactional
+    public NumberRange reserve(Long businessId, String sequenceKey, int count, NumberSequenceMode defaultMode) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        SequenceKey key = new SequenceKey(currentTenant(), businessId, sequenceKey);
+        NumberSequenceMode mode = resolveMode(key, defaultMode);
+        if (mode == NumberSequenceMode.LEASED) {
+            return onLeaseThread(() -> reserveLocked(businessId, sequenceKey, count));
+        }
+        return reserveLocked(businessId, sequenceKey, count);
+    }
+
+    /**
+     * Forget cached mode and leased numbers of a sequence on this node
+     * (e.g. after its mode was changed). Unused leased numbers are skipped.
+     */
+    public void invalidate(Long businessId, String sequenceKey) {
+        evict(new SequenceKey(currentTenant(), businessId, sequenceKey));
+    }
+
+    /**
+     * Cached mode of a sequence; a missing LEASED sequence is created up front.
+     */
+    private NumberSequenceMode resolveMode(SequenceKey key, NumberSequenceMode defaultMode) {
+        NumberSequenceMode mode = modes.get(key);
+        if (mode == null) {
+            Optional<NumberSequenceMode> stored = findMode(key.businessId(), key.sequenceKey());
+            mode = stored.orElse(defaultMode);
+            if (stored.isEmpty() && mode == NumberSequenceMode.LEASED) {
+                createLeasedSequence(key.businessId(), key.sequenceKey());
+            }
+            modes.put(key, mode);
+        }
+        return mode;
+    }
+
+    // =============================
+    // =   Configuration           =
+    // =============================
 
-        NumberSequence seq = em.createQuery(
+    public List<NumberSequenceDto> list(Long businessId) {
+        return NumberSequence.<NumberSequence>list("business.id = ?1 order by sequenceKey", businessId).stream()
+                .map(NumberSequenceService::toDto)
+                .toList();
+    }
+
+    public NumberSequenceDto get(Long id) {
+        NumberSequence seq = NumberSequence.findById(id);
+        if (seq == null) {
+            throw new NotFoundException("Number sequence not found: " + id);
+        }
+        return toDto(seq);
+    }
+
+    /**
+     * Create a sequence explicitly instead of on first use.
+     *
+     * @throws ClientErrorException 409 if the business already has the key
+     */
+    @Transactional
+    public NumberSequenceDto create(NumberSequenceCreateDto dto) {
+        if (dto.businessId() == null || dto.sequenceKey() == null || dto.sequenceKey().isBlank()) {
+            throw new IllegalArgumentException("businessId and sequenceKey are required");
+        }
+        Business business = Business.findById(dto.businessId());
+        if (business == null) {
+            throw new NotFoundException("Business not found: " + dto.businessId());
+        }
+        if (findMode(dto.businessId(), dto.sequenceKey()).isPresent()) {
+            throw new ClientErrorException("Sequence " + dto.sequenceKey() + " already exists for business "
+                    + dto.businessId(), Response.Status.CONFLICT);
+        }
+
+        NumberSequence seq = NumberSequence.create(business, dto.sequenceKey(),
+                dto.startNumber() != null ? dto.startNumber() : 1L);
+        if (seq.nextNumber < 1) {
+            throw new IllegalArgumentException("startNumber must be positive: " + seq.nextNumber);
+        }
+        if (dto.mode() != null) {
+            seq.mode = dto.mode();
+        }
+        seq.leaseSize = validLeaseSize(dto.leaseSize());
+        em.persist(seq);
+
+        // A caller may have cached the default mode for the key before it existed
+        changed(new SequenceKey(currentTenant(), dto.businessId(), dto.sequenceKey()));
+        return toDto(seq);
+    }
+
+    /**
+     * Change mode, lease size or next number. Null fields are left unchanged.
+     * The next number can only move forward: numbers already handed out, or
+     * leased by any node, must not be issued again.
+     */
+    @Transactional
+    public NumberSequenceDto update(Long id, NumberSequenceUpdateDto dto) {
+        NumberSequence seq = lockById(id);
+        if (seq == null) {
+            throw new NotFoundException("Number sequence not found: " + id);
+        }
+        if (dto.nextNumber() != null) {
+            if (dto.nextNumber() < seq.nextNumber) {
+                throw new IllegalArgumentException("nextNumber cannot move back from "
+                        + seq.nextNumber + " to " + dto.nextNumber());
+            }
+            seq.nextNumber = dto.nextNumber();
+        }
+        if (dto.mode() != null) {
+            seq.mode = dto.mode();
+        }
+        if (dto.leaseSize() != null) {
+            seq.leaseSize = validLeaseSize(dto.leaseSize());
+        }
+
+        changed(new SequenceKey(currentTenant(), seq.business.id, seq.sequenceKey));
+        return toDto(seq);
+    }
+
+    private static Integer validLeaseSize(Integer leaseSize) {
+        if (leaseSize != null && leaseSize <= 0) {
+            throw new IllegalArgumentException("leaseSize must be positive: " + leaseSize);
+        }
+        return leaseSize;
+    }
+
+    private static NumberSequenceDto toDto(NumberSequence seq) {
+        return new NumberSequenceDto(
+                seq.id,
+                seq.business != null ? seq.business.id : null,
+                seq.sequenceKey,
+                seq.nextNumber,
+                seq.mode,
+                seq.leaseSize,
+                seq.createdAt,
+                seq.modifiedAt
+        );
+    }
+
+    // =============================
+    // =   Invalidation            =
+    // =============================
+
+    /**
+     * Drop the sequence here once the change commits, and on the other nodes.
+     */
+    private void changed(SequenceKey key) {
+        transactionCallbacks.afterCommit(() -> evict(key));
+        invalidationBus.publish(key.tenant(), NOTICE_ENTITY, key.noticeId());
+    }
+
+    /**
+     * Change made on another node.
+     */
+    void onInvalidation(@Observes InvalidationBus.Notice notice) {
+        if (notice.isFlush()) {
+            modes.clear();
+            leases.clear();
+        } else if (notice.isFor(NOTICE_ENTITY) && notice.id() != null) {
+            int separator = notice.id().indexOf(':');
+            evict(new SequenceKey(notice.tenant(),
+                    Long.valueOf(notice.id().substring(0, separator)),
+                    notice.id().substring(separator + 1)));
+        }
+    }
+
+    private void evict(SequenceKey key) {
+        modes.remove(key);
+        leases.remove(key);
+    }
+
+    // =============================
+    // =   Gapless                 =
+    // =============================
+
+    /**
+     * Load the sequence row with PESSIMISTIC_WRITE, creating it (GAPLESS) if missing.
+     * The lock is held until the caller's transaction ends.
+     */
+    NumberSequence lockOrCreate(Long businessId, String sequenceKey) {
+        return em.createQuery(
                         """
                         SELECT s FROM NumberSequence s
                         WHERE s.business.id = :businessId
@@ -59,10 +452,173 @@ public class NumberSequenceService {
                     em.persist(created);
                     return created;
                 });
+    }
 
-        Long next = seq.nextNumber;
-        seq.nextNumber = next + 1;
+    NumberSequence lockById(Long id) {
+        return em.find(NumberSequence.class, id, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    private NumberRange reserveLocked(Long businessId, String sequenceKey, int count) {
+        NumberSequence seq = lockOrCreate(businessId, sequenceKey);
+        return new NumberRange(seq.generateBlock(count), count);
+    }
+
+    Optional<NumberSequenceMode> findMode(Long businessId, String sequenceKey) {
+        return em.createQuery(
+                        """
+                        SELECT s.mode FROM NumberSequence s
+                        WHERE s.business.id = :businessId
+                        AND s.sequenceKey = :sequenceKey
+                        """,
+                        NumberSequenceMode.class
+                )
+                .setParameter("businessId", businessId)
+                .setParameter("sequenceKey", sequenceKey)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // =============================
+    // =   Leased                  =
+    // =============================
+
+    private long nextLeased(SequenceKey key) {
+        LeaseSlot slot = leases.computeIfAbsent(key, k -> new LeaseSlot(currentTenant.requireTenantId()));
+        while (true) {
+            Lease lease = slot.current;
+            if (lease != null) {
+                long n = lease.take();
+                if (n >= 0) {
+                    if (lease.isLow()) {
+                        refill(key, slot);
+                    }
+                    return n;
+                }
+            }
+            CompletableFuture<Lease> refill;
+            synchronized (slot) {
+                if (slot.current != lease) {
+                    continue;
+                }
+                if (slot.next != null) {
+                    slot.current = slot.next;
+                    slot.next = null;
+                    continue;
+                }
+                refill = refill(key, slot);
+            }
+            await(refill, key);
+        }
+    }
+
+    /**
+     * Start leasing the block after the current one, unless it is leased or
+     * on its way. Never blocks.
+     *
+     * The returned future completes only after the slot is updated, and the
+     * lease may finish (and its callback run) on this very thread, inside the
+     * slot's monitor; so pending is published before the lease starts, and
+     * the callback clears it only while it is still its own.
+     */
+    private CompletableFuture<Lease> refill(SequenceKey key, LeaseSlot slot) {
+        synchronized (slot) {
+            if (slot.next != null) {
+                return CompletableFuture.completedFuture(slot.next);
+            }
+            if (slot.pending != null && !slot.pending.isDone()) {
+                return slot.pending;
+            }
+            CompletableFuture<Lease> leased = new CompletableFuture<>();
+            slot.pending = leased;
+            CompletableFuture
+                    .supplyAsync(() -> new Lease(leaseBlock(slot.tenantIdentifier, key.businessId(), key.sequenceKey())),
+                            leaseExecutor)
+                    .whenComplete((lease, failure) -> {
+                        synchronized (slot) {
+                            if (slot.pending == leased) {
+                                slot.pending = null;
+                            }
+                            if (lease != null) {
+                                slot.next = lease;
+                            }
+                        }
+                        if (failure != null) {
+                            leased.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                                    ? failure.getCause() : failure);
+                        } else {
+                            leased.complete(lease);
+                        }
+                    });
+            return leased;
+        }
+    }
+
+    /**
+     * Lease the next block in its own short transaction, so the row lock is
+     * released as soon as the block is taken. Runs on a lease thread.
+     */
+    NumberRange leaseBlock(String tenantIdentifier, Long businessId, String sequenceKey) {
+        return tenantTaskRunner.call(tenantIdentifier, () -> QuarkusTransaction.requiringNew().call(() -> {
+            NumberSequence seq = lockOrCreate(businessId, sequenceKey);
+            int size = seq.leaseSize != null && seq.leaseSize > 0 ? seq.leaseSize : defaultLeaseSize;
+            long first = seq.generateBlock(size);
+            LOG.debugf("Leased %s numbers %d-%d for business %d", sequenceKey, first, first + size - 1, businessId);
+            return new NumberRange(first, size);
+        }));
+    }
+
+    /**
+     * Create a missing LEASED sequence on a lease thread.
+     * A concurrent creator winning the unique constraint is fine.
+     */
+    private void createLeasedSequence(Long businessId, String sequenceKey) {
+        try {
+            onLeaseThread(() -> {
+                if (findMode(businessId, sequenceKey).isEmpty()) {
+                    NumberSequence created = NumberSequence.create(
+                            em.getReference(Business.class, businessId), sequenceKey, 1L);
+                    created.mode = NumberSequenceMode.LEASED;
+                    em.persist(created);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (findMode(businessId, sequenceKey).isEmpty()) {
+                throw e;
+            }
+            LOG.debugf("Sequence %s for business %d created concurrently", sequenceKey, businessId);
+        }
+    }
+
+    /**
+     * Run work in its own transaction on a lease thread and wait for it.
+     */
+    private <T> T onLeaseThread(Supplier<T> work) {
+        String tenantIdentifier = currentTenant.requireTenantId();
+        CompletableFuture<T> result = CompletableFuture.supplyAsync(
+                () -> tenantTaskRunner.call(tenantIdentifier, () -> QuarkusTransaction.requiringNew().call(work::get)),
+                leaseExecutor);
+        return await(result, null);
+    }
+
+    private <T> T await(CompletableFuture<T> future, SequenceKey key) {
+        try {
+            return future.get(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out leasing numbers"
+                    + (key != null ? " for " + key.sequenceKey() : "") + " after " + leaseTimeout, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while leasing numbers", e);
+        }
+    }
 
-        return next;
+    String currentTenant() {
+        return String.valueOf(em.unwrap(Session.class).getTenantIdentifierValue());
     }
 }
@@ -0,0 +1,45 @@
+package io.tahawus.lynx.core.service;
+
+import io.tahawus.lynx.core.model.ReferenceCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+
+/**
+ * ReferenceCacheInvalidator - Applies other nodes' changes to the second-level cache.
+ *
+ * Hibernate cannot evict a single entry of one tenant (its eviction API builds
+ * keys without a tenant), so a notice drops the whole entity region and its
+ * "lookup.<Entity>" query region. Reference data changes rarely, so this is cheap.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class ReferenceCacheInvalidator {
+
+    private static final Logger LOG = Logger.getLogger(ReferenceCacheInvalidator.class);
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    void onInvalidation(@Observes InvalidationBus.Notice notice) {
+        Cache cache = sessionFactory.getCache();
+        if (notice.isFlush()) {
+            cache.evictAllRegions();
+            return;
+        }
+        Class<?> entityClass;
+        try {
+            entityClass = Class.forName(notice.entity(), false, Thread.currentThread().getContextClassLoader());
+            sessionFactory.getMetamodel().entity(entityClass);
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            return; // not an entity notice
+        }
+        LOG.debugf("Evicting %s after change on another node", notice.entity());
+        cache.evictEntityData(entityClass);
+        cache.evictQueryRegion(ReferenceCache.lookupRegion(entityClass));
+    }
+}
@@ -0,0 +1,34 @@
+package io.tahawus.lynx.core.service;
+
+import io.quarkus.arc.Arc;
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+
+/**
+ * ReferenceCacheListener - Tells other nodes about changes to cached reference data.
+ *
+ * Registered on the @Cacheable entities (see ReferenceCache). This node's
+ * second-level cache is kept current by Hibernate; other nodes get an
+ * InvalidationBus notice and drop the entity's region (see ReferenceCacheInvalidator).
+ * Inserts count too: another node may have cached an empty lookup.
+ *
+ * Bulk HQL updates bypass entity listeners.
+ *
+ * @author Dan Pasco
+ */
+public class ReferenceCacheListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        if (!(entity instanceof LynxPanacheEntity cached)) {
+            return;
+        }
+        Arc.container().instance(InvalidationBus.class).get()
+                .publish(Hibernate.getClass(entity).getName(), cached.id);
+    }
+}
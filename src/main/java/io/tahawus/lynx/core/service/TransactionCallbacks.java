@@ -0,0 +1,66 @@
+package io.tahawus.lynx.core.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Runs work when the current transaction completes.
+ *
+ * Used by in-memory caches: invalidating only after the transaction finishes
+ * means no other thread can reload and keep the pre-commit state.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class TransactionCallbacks {
+
+    @Inject
+    TransactionSynchronizationRegistry registry;
+
+    /**
+     * Run an action after the current transaction commits or rolls back.
+     * Runs immediately when no transaction is active.
+     */
+    public void afterCompletion(Runnable action) {
+        if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            action.run();
+            return;
+        }
+        registry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Run an action after the current transaction commits.
+     * Runs immediately when no transaction is active; skipped on rollback.
+     */
+    public void afterCommit(Runnable action) {
+        if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            action.run();
+            return;
+        }
+        registry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package io.tahawus.lynx.core.util;
+
+import jakarta.ws.rs.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * KeysetCursor - Position in a list ordered by (key, id).
+ *
+ * The key is the list's leading sort column (a date, a number such as
+ * ticketNumber, or a name); the id breaks ties. Clients see only the opaque
+ * encoded form.
+ *
+ * Queries continue after a cursor with descending(keyPath), which binds
+ * :afterKey and :afterId:
+ *   where ... and (key < :afterKey or (key = :afterKey and id < :afterId))
+ *   order by key desc, id desc
+ * or with ascending(keyPath) for lists ordered by key asc, id asc.
+ *
+ * @author Dan Pasco
+ */
+public record KeysetCursor(String key, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(LocalDate key, Long id) {
+        return new KeysetCursor(key.toString(), id);
+    }
+
+    public static KeysetCursor of(long key, Long id) {
+        return new KeysetCursor(Long.toString(key), id);
+    }
+
+    public static KeysetCursor of(String key, Long id) {
+        return new KeysetCursor(key, id);
+    }
+
+    /**
+     * Keyset condition for a (keyPath desc, id desc) ordering.
+     */
+    public static String descending(String keyPath) {
+        return "(" + keyPath + " < :afterKey or (" + keyPath + " = :afterKey and id < :afterId))";
+    }
+
+    /**
+     * Keyset condition for a (keyPath asc, id asc) ordering, on an entity alias.
+     */
+    public static String ascending(String alias, String keyPath) {
+        String key = alias + "." + keyPath;
+        return "(" + key + " > :afterKey or (" + key + " = :afterKey and " + alias + ".id > :afterId))";
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public long longKey() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a null/blank value (first page)
+     */
+    public static KeysetCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new KeysetCursor(raw.substring(0, split), Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.tahawus.lynx.documents.api;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import io.tahawus.lynx.documents.dto.*;
 import io.tahawus.lynx.documents.service.ClosingEntryDocumentService;
 import jakarta.inject.Inject;
@@ -20,6 +21,7 @@ public class ClosingEntryDocumentResource {
     @Inject
     ClosingEntryDocumentService service;
 
+    @RunOnVirtualThread
     @POST
     public Response create(@Valid ClosingEntryDocumentCreateDto dto, @Context UriInfo uriInfo) {
         ClosingEntryDocumentDto created = service.create(dto);
@@ -27,12 +29,14 @@ public class ClosingEntryDocumentResource {
         return Response.created(location).entity(created).build();
     }
 
+    @RunOnVirtualThread
     @GET
     @Path("/{id}")
     public Response get(@PathParam("id") Long id) {
         return Response.ok(service.getRequired(id)).build();
     }
 
+    @RunOnVirtualThread
     @GET
     public Response list(@QueryParam("fiscalYearId") Long fiscalYearId) {
         if (fiscalYearId == null) {
@@ -42,6 +46,7 @@ public class ClosingEntryDocumentResource {
         return Response.ok(service.listByFiscalYear(fiscalYearId)).build();
     }
 
+    @RunOnVirtualThread
     @DELETE
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
@@ -49,18 +54,21 @@ public class ClosingEntryDocumentResource {
         return Response.noContent().build();
     }
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/complete")
     public Response complete(@PathParam("id") Long id) {
         return Response.ok(service.complete(id)).build();
     }
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/revert")
     public Response revert(@PathParam("id") Long id) {
         return Response.ok(service.revert(id)).build();
     }
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/post")
     public Response post(@PathParam("id") Long id) {
@@ -0,0 +1,101 @@
+package io.tahawus.lynx.documents.api;
+
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
+import io.tahawus.lynx.documents.dto.DocumentJournalLineDto;
+import io.tahawus.lynx.documents.dto.DocumentSummaryDto;
+import io.tahawus.lynx.documents.dto.SummaryPostingRequestDto;
+import io.tahawus.lynx.documents.model.DocumentStatus;
+import io.tahawus.lynx.documents.service.DocumentService;
+import io.tahawus.lynx.ledger.dto.JournalSummaryDto;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.util.List;
+
+/**
+ * REST API for listing documents of every type.
+ *
+ * GET /documents?businessId=&status=&cursor=&limit=
+ * (Accept: application/x-ndjson streams the full list instead of a page)
+ *
+ * Summary posting of COMPLETED documents of one type into one journal:
+ * POST /documents/post-summary {documentIds, nettingMode}
+ *
+ * Drill-down of netted summary postings:
+ * GET /documents/provenance?journalId=&lineNumber=
+ * GET /documents/{id}/journal-lines
+ */
+@Path("/documents")
+@Produces(MediaType.APPLICATION_JSON)
+public class DocumentResource {
+
+    @Inject
+    DocumentService service;
+
+    /**
+     * Keyset-paginated list, newest document date first.
+     * Pass the returned next cursor to get the following page.
+     */
+    @RunOnVirtualThread
+    @GET
+    public KeysetPage<DocumentSummaryDto> list(
+            @QueryParam("businessId") Long businessId,
+            @QueryParam("status") DocumentStatus status,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit) {
+
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        return service.list(businessId, status, cursor, limit);
+    }
+
+    /**
+     * Full list as newline-delimited JSON, for exports and syncs.
+     * Selected with Accept: application/x-ndjson.
+     */
+    @RunOnVirtualThread
+    @GET
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    public StreamingOutput listNdjson(
+            @QueryParam("businessId") Long businessId,
+            @QueryParam("status") DocumentStatus status) {
+
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        return service.stream(businessId, status);
+    }
+
+    @RunOnVirtualThread
+    @POST
+    @Path("/post-summary")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public JournalSummaryDto postSummary(SummaryPostingRequestDto dto) {
+        return service.postSummary(dto);
+    }
+
+    @RunOnVirtualThread
+    @GET
+    @Path("/provenance")
+    public List<DocumentJournalLineDto> provenance(
+            @QueryParam("journalId") Long journalId,
+            @QueryParam("lineNumber") Integer lineNumber) {
+
+        if (journalId == null) {
+            throw new BadRequestException("journalId is required");
+        }
+        return service.provenanceByJournal(journalId, lineNumber);
+    }
+
+    @RunOnVirtualThread
+    @GET
+    @Path("/{id}/journal-lines")
+    public List<DocumentJournalLineDto> journalLines(@PathParam("id") Long id) {
+        return service.provenanceByDocument(id);
+    }
+}
@@ -1,5 +1,6 @@
 package io.tahawus.lynx.documents.api;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import io.tahawus.lynx.documents.dto.*;
 import io.tahawus.lynx.documents.model.DocumentStatus;
 import io.tahawus.lynx.documents.service.JournalEntryDocumentService;
@@ -22,6 +23,7 @@ public class JournalEntryDocumentResource {
     @Inject
     JournalEntryDocumentService service;
 
+    @RunOnVirtualThread
     @POST
     public Response create(@Valid JournalEntryDocumentCreateDto dto, @Context UriInfo uriInfo) {
         JournalEntryDocumentDto created = service.create(dto);
@@ -29,37 +31,49 @@ public class JournalEntryDocumentResource {
         return Response.created(location).entity(created).build();
     }
 
+    @RunOnVirtualThread
+    @POST
+    @Path("/batch")
+    public List<JournalEntryDocumentDto> createBatch(@Valid List<JournalEntryDocumentCreateDto> dtos) {
+        return service.create(dtos);
+    }
+
+    @RunOnVirtualThread
     @GET
     @Path("/{id}")
     public Response get(@PathParam("id") Long id) {
         return Response.ok(service.getRequired(id)).build();
     }
 
+    /**
+     * Keyset-paginated list, newest document date first.
+     * Pass the returned next cursor to get the following page.
+     */
+    @RunOnVirtualThread
     @GET
     public Response list(
             @QueryParam("businessId") Long businessId,
-            @QueryParam("status") String status
+            @QueryParam("status") String status,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit
     ) {
         if (businessId == null) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse("businessId is required")).build();
         }
 
-        List<JournalEntryDocumentDto> results;
-        if (status != null) {
-            results = service.listByBusinessAndStatus(businessId, DocumentStatus.valueOf(status));
-        } else {
-            results = service.listByBusiness(businessId);
-        }
-        return Response.ok(results).build();
+        DocumentStatus documentStatus = status != null ? DocumentStatus.valueOf(status) : null;
+        return Response.ok(service.list(businessId, documentStatus, cursor, limit)).build();
     }
 
+    @RunOnVirtualThread
     @PUT
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, @Valid JournalEntryDocumentUpdateDto dto) {
         return Response.ok(service.update(id, dto)).build();
     }
 
+    @RunOnVirtualThread
     @DELETE
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
@@ -67,18 +81,21 @@ public class JournalEntryDocumentResource {
         return Response.noContent().build();
     }
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/complete")
     public Response complete(@PathParam("id") Long id) {
         return Response.ok(service.complete(id)).build();
     }
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/revert")
     public Response revert(@PathParam("id") Long id) {
         return Response.ok(service.revert(id)).build();
     }
 
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/post")
     public Response post(@PathParam("id") Long id) {
@@ -0,0 +1,69 @@
+package io.tahawus.lynx.documents.api;
+
+import io.smallrye.mutiny.Multi;
+import io.tahawus.lynx.documents.dto.PostingJobDto;
+import io.tahawus.lynx.documents.dto.PostingRequestDto;
+import io.tahawus.lynx.documents.service.PostingQueue;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import java.net.URI;
+
+/**
+ * REST API for background posting of COMPLETED documents.
+ *
+ * POST /posting-queue                      - Enqueue documents, returns 202 with the job
+ * GET  /posting-queue/jobs/{jobId}         - Job progress
+ * GET  /posting-queue/jobs/{jobId}/events  - Job progress as server-sent events
+ */
+@Path("/posting-queue")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class PostingQueueResource {
+
+    @Inject
+    PostingQueue queue;
+
+    /**
+     * Enqueue the given documents, or every COMPLETED document of the
+     * business when documentIds is empty.
+     */
+    @POST
+    public Response submit(PostingRequestDto request, @Context UriInfo uriInfo) {
+        if (request == null) {
+            throw new BadRequestException("Request body is required");
+        }
+        PostingJobDto job;
+        if (request.documentIds() != null && !request.documentIds().isEmpty()) {
+            job = queue.submit(request.documentIds());
+        } else if (request.businessId() != null) {
+            job = queue.submitCompleted(request.businessId());
+        } else {
+            throw new BadRequestException("businessId or documentIds is required");
+        }
+        URI location = uriInfo.getAbsolutePathBuilder().path("jobs").path(job.jobId()).build();
+        return Response.accepted(job).location(location).build();
+    }
+
+    @GET
+    @Path("/jobs/{jobId}")
+    public PostingJobDto status(@PathParam("jobId") String jobId) {
+        return queue.status(jobId);
+    }
+
+    /**
+     * Current state, then one event per change; the stream ends when the job is done.
+     */
+    @GET
+    @Path("/jobs/{jobId}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<PostingJobDto> events(@PathParam("jobId") String jobId) {
+        return queue.updates(jobId);
+    }
+}
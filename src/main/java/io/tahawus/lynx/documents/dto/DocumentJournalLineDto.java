@@ -0,0 +1,18 @@
+package io.tahawus.lynx.documents.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One document's share of a netted summary journal line.
+ *
+ * @param lineNumber null if the account netted to zero and got no journal line
+ * @param amount     Positive = Debit, Negative = Credit
+ */
+public record DocumentJournalLineDto(
+        Long journalId,
+        Integer lineNumber,
+        Long documentId,
+        String documentNumber,
+        Long accountId,
+        BigDecimal amount
+) {}
@@ -0,0 +1,22 @@
+package io.tahawus.lynx.documents.dto;
+
+import io.tahawus.lynx.documents.model.DocumentStatus;
+import io.tahawus.lynx.documents.model.DocumentType;
+
+import java.time.LocalDate;
+
+/**
+ * Document list view DTO, common to all document types.
+ * Type-specific detail is on each type's own endpoint.
+ */
+public record DocumentSummaryDto(
+        Long id,
+        Long businessId,
+        DocumentType documentType,
+        String documentNumber,
+        LocalDate documentDate,
+        DocumentStatus status,
+        String description,
+        String referenceNumber,
+        Long journalId
+) {}
@@ -0,0 +1,51 @@
+package io.tahawus.lynx.documents.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a posting queue job.
+ */
+public record PostingJobDto(
+        String jobId,
+        Status status,
+        int total,
+        int posted,
+        int failed,
+        int rejected,
+        LocalDateTime submittedAt,
+        LocalDateTime finishedAt,
+        List<Item> items
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE
+    }
+
+    /**
+     * Outcome per document, in submission order.
+     *
+     * @param journalId set once POSTED
+     * @param error     set when FAILED or REJECTED
+     */
+    public record Item(
+            Long documentId,
+            ItemStatus status,
+            Long journalId,
+            String error
+    ) {}
+
+    public enum ItemStatus {
+        QUEUED,
+        POSTED,
+        FAILED,
+        /** Not found, wrong status, or already queued by another job */
+        REJECTED
+    }
+
+    public boolean isDone() {
+        return status == Status.DONE;
+    }
+}
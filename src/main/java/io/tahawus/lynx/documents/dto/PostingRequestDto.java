@@ -0,0 +1,12 @@
+package io.tahawus.lynx.documents.dto;
+
+import java.util.List;
+
+/**
+ * Documents to enqueue for posting: explicit ids, or every COMPLETED
+ * document of a business when documentIds is empty.
+ */
+public record PostingRequestDto(
+        Long businessId,
+        List<Long> documentIds
+) {}
@@ -0,0 +1,15 @@
+package io.tahawus.lynx.documents.dto;
+
+import io.tahawus.lynx.documents.model.NettingMode;
+
+import java.util.List;
+
+/**
+ * Documents to post together as one summary journal.
+ *
+ * @param nettingMode how to compress the lines; null means NONE
+ */
+public record SummaryPostingRequestDto(
+        List<Long> documentIds,
+        NettingMode nettingMode
+) {}
@@ -1,15 +1,20 @@
 package io.tahawus.lynx.documents.model;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.util.KeysetCursor;
 import io.tahawus.lynx.ledger.dto.JournalCreateDto;
 import io.tahawus.lynx.ledger.model.Journal;
 import io.tahawus.lynx.ledger.service.JournalService;
 import jakarta.persistence.*;
+import org.hibernate.Session;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Document - Abstract base class for all source documents.
@@ -22,6 +27,8 @@ import java.util.List;
  * POSTING:
  * - Document.post(document) - single document, single journal
  * - Document.post(documents) - multiple documents, summary journal
+ * - Document.post(documents, journalService, nettingMode) - summary journal with
+ *   lines netted per account; provenance in DocumentJournalLine
  *
  * Subclasses implement buildJournalCreateDto() to map their content
  * to debit/credit entries.
@@ -44,6 +51,12 @@ import java.util.List;
 @DiscriminatorColumn(name = "document_type", discriminatorType = DiscriminatorType.STRING, length = 30)
 public abstract class Document extends AuditableEntity {
 
+    /**
+     * Column lengths of journal.reference and journal.description.
+     */
+    private static final int SUMMARY_REFERENCE_LENGTH = 50;
+    private static final int SUMMARY_DESCRIPTION_LENGTH = 500;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "business_id", nullable = false)
     public Business business;
@@ -181,7 +194,7 @@ public abstract class Document extends AuditableEntity {
     }
 
     /**
-     * Post multiple documents as a summary journal entry.
+     * Post multiple documents as a summary journal entry, one journal line per document line.
      * All documents must be for the same business and journal type.
      *
      * @param documents The documents to post
@@ -189,6 +202,23 @@ public abstract class Document extends AuditableEntity {
      * @return The created Journal
      */
     public static Journal post(List<? extends Document> documents, JournalService journalService) {
+        return post(documents, journalService, NettingMode.NONE);
+    }
+
+    /**
+     * Post multiple documents as a summary journal entry.
+     * All documents must be for the same business and journal type.
+     *
+     * With a netting mode other than NONE, lines are aggregated per account
+     * before the journal is created and each document's share of every journal
+     * line is recorded in DocumentJournalLine.
+     *
+     * @param documents The documents to post
+     * @param journalService The journal service (injected by caller)
+     * @param nettingMode How to compress the lines
+     * @return The created Journal
+     */
+    public static Journal post(List<? extends Document> documents, JournalService journalService, NettingMode nettingMode) {
         if (documents == null || documents.isEmpty()) {
             throw new IllegalArgumentException("At least one document is required");
         }
@@ -199,8 +229,9 @@ public abstract class Document extends AuditableEntity {
         DocumentType docType = first.getDocumentType();
 
         List<JournalCreateDto.Line> allLines = new ArrayList<>();
-        StringBuilder refs = new StringBuilder();
-        StringBuilder descs = new StringBuilder();
+        SummaryNetting netting = nettingMode == NettingMode.NONE ? null : new SummaryNetting(nettingMode);
+        List<String> refs = new ArrayList<>();
+        List<String> descs = new ArrayList<>();
 
         for (Document doc : documents) {
             if (!doc.canPost()) {
@@ -223,13 +254,21 @@ public abstract class Document extends AuditableEntity {
             doc.validate();
 
             JournalCreateDto docDto = doc.buildJournalCreateDto();
-            allLines.addAll(docDto.lines());
+            if (netting != null) {
+                netting.add(doc.id, docDto.lines());
+            } else {
+                allLines.addAll(docDto.lines());
+            }
 
-            if (refs.length() > 0) refs.append(", ");
-            refs.append(doc.documentNumber);
+            refs.add(doc.documentNumber);
+            if (doc.description != null) descs.add(doc.description);
+        }
 
-            if (descs.length() > 0) descs.append("; ");
-            if (doc.description != null) descs.append(doc.description);
+        if (netting != null) {
+            allLines = netting.lines();
+            if (allLines.isEmpty()) {
+                throw new IllegalStateException("Documents net to zero on every account; nothing to post");
+            }
         }
 
         // Use first document's date as entry date
@@ -241,14 +280,21 @@ public abstract class Document extends AuditableEntity {
                 entryDate,
                 first.id, // Primary document ID
                 docType.getJournalType(),
-                refs.toString(),
-                descs.length() > 0 ? descs.toString() : "Summary posting",
+                summarize(refs, ", ", SUMMARY_REFERENCE_LENGTH),
+                descs.isEmpty() ? "Summary posting" : summarize(descs, "; ", SUMMARY_DESCRIPTION_LENGTH),
                 null, // not a reversal
                 allLines
         );
 
         Journal journal = journalService.create(summaryDto);
 
+        // Record which documents make up each netted line
+        if (netting != null) {
+            DocumentJournalLine.Recorder provenance = netting.provenance();
+            getEntityManager().flush();
+            getEntityManager().unwrap(Session.class).doWork(connection -> provenance.apply(connection, journal.id));
+        }
+
         // Link all documents to the journal
         for (Document doc : documents) {
             doc.journal = journal;
@@ -258,6 +304,19 @@ public abstract class Document extends AuditableEntity {
         return journal;
     }
 
+    /**
+     * Join parts for a journal header column. If too long, keep the first and
+     * last part and the count, e.g. "DT-0001 .. DT-3000 (3000)".
+     */
+    private static String summarize(List<String> parts, String separator, int maxLength) {
+        String joined = String.join(separator, parts);
+        if (joined.length() <= maxLength) {
+            return joined;
+        }
+        String range = parts.get(0) + " .. " + parts.get(parts.size() - 1) + " (" + parts.size() + ")";
+        return range.length() <= maxLength ? range : range.substring(0, maxLength);
+    }
+
     // =============================
     // =   Query Methods           =
     // =============================
@@ -266,6 +325,44 @@ public abstract class Document extends AuditableEntity {
         return list("business = ?1 order by documentDate desc, id desc", business);
     }
 
+    /**
+     * Keyset page in (documentDate desc, id desc) order, optionally by status.
+     * Returns up to limit + 1 rows (see KeysetPage.of).
+     */
+    public static List<Document> listPageByBusiness(Long businessId, DocumentStatus status, KeysetCursor after, int limit) {
+        return find(pageQuery(status, after), pageParams(businessId, status, after)).range(0, limit).list();
+    }
+
+    /**
+     * Every document of a business in list order, optionally by status (for streaming exports).
+     */
+    public static PanacheQuery<Document> findByBusinessId(Long businessId, DocumentStatus status) {
+        return find(pageQuery(status, null), pageParams(businessId, status, null));
+    }
+
+    /**
+     * Shared by Document subclasses so every document list pages the same way.
+     */
+    protected static String pageQuery(DocumentStatus status, KeysetCursor after) {
+        return "business.id = :businessId" +
+                (status != null ? " and status = :status" : "") +
+                (after != null ? " and " + KeysetCursor.descending("documentDate") : "") +
+                " order by documentDate desc, id desc";
+    }
+
+    protected static Map<String, Object> pageParams(Long businessId, DocumentStatus status, KeysetCursor after) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("businessId", businessId);
+        if (status != null) {
+            params.put("status", status);
+        }
+        if (after != null) {
+            params.put("afterKey", after.dateKey());
+            params.put("afterId", after.id());
+        }
+        return params;
+    }
+
     public static List<Document> listByBusinessAndStatus(Business business, DocumentStatus status) {
         return list("business = ?1 and status = ?2 order by documentDate desc, id desc",
                 business, status);
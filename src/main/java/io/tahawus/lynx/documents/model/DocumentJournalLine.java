@@ -0,0 +1,165 @@
+package io.tahawus.lynx.documents.model;
+
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
+import io.tahawus.lynx.core.model.TableSequenceGenerator;
+import io.tahawus.lynx.ledger.model.Journal;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DocumentJournalLine - Provenance of a netted summary journal line.
+ *
+ * When documents are posted with netting (see NettingMode), each journal line
+ * aggregates many document lines. One row per (journal, document, account)
+ * records the signed amount the document contributed, so a journal line can
+ * be drilled down to its documents and a document to its journal lines.
+ *
+ * Rows are compact: a document with ten lines on two accounts produces two rows.
+ *
+ * IMMUTABILITY:
+ * Written once by Document.post in the posting transaction, like the journal.
+ *
+ * @author Dan Pasco
+ */
+@Entity
+@Table(
+        name = "document_journal_line",
+        indexes = {
+                @Index(name = "idx_document_journal_line_journal", columnList = "journal_id, line_number"),
+                @Index(name = "idx_document_journal_line_document", columnList = "document_id")
+        }
+)
+public class DocumentJournalLine extends LynxPanacheEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "journal_id", nullable = false)
+    public Journal journal;
+
+    /**
+     * Journal line the amount was netted into; null if the account netted to
+     * zero and got no line (NET_BY_ACCOUNT).
+     */
+    @Column(name = "line_number")
+    public Integer lineNumber;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_id", nullable = false)
+    public Document document;
+
+    /**
+     * Reference to GeneralLedgerAccount.id (same convention as JournalLine).
+     */
+    @Column(name = "account_id", nullable = false)
+    public Long accountId;
+
+    /**
+     * Contribution of the document. Positive = Debit, Negative = Credit.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
+    public BigDecimal amount;
+
+    // =============================
+    // =   Recording               =
+    // =============================
+
+    /**
+     * Collects signed amounts per (document, account, journal line) and inserts
+     * them in one JDBC batch once the journal id is known. Ids come from
+     * TableSequenceGenerator.allocate(), like JournalService.createBatch.
+     */
+    public static final class Recorder {
+
+        private static final String INSERT_SQL = """
+                insert into document_journal_line (id, journal_id, line_number, document_id, account_id, amount)
+                values (?, ?, ?, ?, ?, ?)
+                """;
+
+        private static final int BATCH_SIZE = 500;
+
+        private record Key(Long documentId, Long accountId, Integer lineNumber) {}
+
+        private final Map<Key, BigDecimal> amounts = new LinkedHashMap<>();
+
+        /**
+         * @param lineNumber journal line, or null if the account got no line
+         * @param signedAmount positive = debit, negative = credit
+         */
+        public void add(Long documentId, Long accountId, Integer lineNumber, BigDecimal signedAmount) {
+            amounts.merge(new Key(documentId, accountId, lineNumber), signedAmount, BigDecimal::add);
+        }
+
+        public boolean isEmpty() {
+            return amounts.isEmpty();
+        }
+
+        public void apply(Connection connection, Long journalId) throws SQLException {
+            if (amounts.isEmpty()) {
+                return;
+            }
+            long[] ids = TableSequenceGenerator.allocate(connection, "document_journal_line", amounts.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                int count = 0;
+                for (Map.Entry<Key, BigDecimal> entry : amounts.entrySet()) {
+                    Key key = entry.getKey();
+                    ps.setLong(1, ids[count]);
+                    ps.setLong(2, journalId);
+                    if (key.lineNumber() != null) {
+                        ps.setInt(3, key.lineNumber());
+                    } else {
+                        ps.setNull(3, Types.INTEGER);
+                    }
+                    ps.setLong(4, key.documentId());
+                    ps.setLong(5, key.accountId());
+                    ps.setBigDecimal(6, entry.getValue());
+                    ps.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    // =============================
+    // =   Query Methods           =
+    // =============================
+
+    /**
+     * Documents behind a journal, optionally one line only, in line order.
+     * Documents are fetched with the rows.
+     */
+    public static List<DocumentJournalLine> listByJournal(Long journalId, Integer lineNumber) {
+        if (lineNumber == null) {
+            return list("from DocumentJournalLine p join fetch p.document " +
+                    "where p.journal.id = ?1 order by p.lineNumber, p.document.id", journalId);
+        }
+        return list("from DocumentJournalLine p join fetch p.document " +
+                "where p.journal.id = ?1 and p.lineNumber = ?2 order by p.document.id", journalId, lineNumber);
+    }
+
+    public static List<DocumentJournalLine> listByDocument(Long documentId) {
+        return list("from DocumentJournalLine p join fetch p.document " +
+                "where p.document.id = ?1 order by p.journal.id, p.lineNumber", documentId);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentJournalLine{" +
+                "id=" + id +
+                ", journal=" + (journal != null ? journal.id : null) +
+                ", lineNumber=" + lineNumber +
+                ", document=" + (document != null ? document.id : null) +
+                ", accountId=" + accountId +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -1,7 +1,9 @@
 package io.tahawus.lynx.documents.model;
 
+import io.tahawus.lynx.core.util.KeysetCursor;
 import io.tahawus.lynx.ledger.dto.JournalCreateDto;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -22,6 +24,7 @@ public class JournalEntryDocument extends Document {
 
     @OneToMany(mappedBy = "document", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("id asc")
+    @BatchSize(size = 50)
     public List<JournalEntryDocumentLine> lines = new ArrayList<>();
 
     // =============================
@@ -157,6 +160,14 @@ public class JournalEntryDocument extends Document {
         return list("business.id = ?1 order by documentDate desc, id desc", businessId);
     }
 
+    /**
+     * Keyset page in (documentDate desc, id desc) order, optionally by status.
+     * Returns up to limit + 1 rows (see KeysetPage.of).
+     */
+    public static List<JournalEntryDocument> listPageByBusinessId(Long businessId, DocumentStatus status, KeysetCursor after, int limit) {
+        return find(pageQuery(status, after), pageParams(businessId, status, after)).range(0, limit).list();
+    }
+
     public static List<JournalEntryDocument> listByBusinessIdAndStatus(Long businessId, DocumentStatus status) {
         return list("business.id = ?1 and status = ?2 order by documentDate desc, id desc",
                 businessId, status);
@@ -1,6 +1,6 @@
 package io.tahawus.lynx.documents.model;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -22,7 +22,7 @@ import java.math.BigDecimal;
                 @Index(name = "idx_jedl_account", columnList = "account_id")
         }
 )
-public class JournalEntryDocumentLine extends PanacheEntity {
+public class JournalEntryDocumentLine extends LynxPanacheEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "document_id", nullable = false)
@@ -0,0 +1,31 @@
+package io.tahawus.lynx.documents.model;
+
+/**
+ * NettingMode - How a summary posting compresses document lines.
+ *
+ * Document.post(documents, journalService, mode) combines the lines of many
+ * documents into one journal. With netting, lines hitting the same account
+ * are aggregated first, so the journal has a handful of lines instead of one
+ * per document line. DocumentJournalLine keeps the per-document amounts for
+ * drill-down.
+ *
+ * @author Dan Pasco
+ */
+public enum NettingMode {
+
+    /**
+     * Every document line becomes a journal line (no provenance rows).
+     */
+    NONE,
+
+    /**
+     * One debit line and/or one credit line per account.
+     */
+    BY_ACCOUNT_AND_TYPE,
+
+    /**
+     * One line per account carrying the net signed amount; accounts that net
+     * to zero get no line.
+     */
+    NET_BY_ACCOUNT
+}
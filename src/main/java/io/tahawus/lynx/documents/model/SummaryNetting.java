@@ -0,0 +1,94 @@
+package io.tahawus.lynx.documents.model;
+
+import io.tahawus.lynx.ledger.dto.JournalCreateDto;
+import io.tahawus.lynx.ledger.model.EntryType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SummaryNetting - Aggregates the lines of many documents for a summary posting.
+ *
+ * Lines are grouped by account (and entry type for BY_ACCOUNT_AND_TYPE) in order
+ * of first appearance, so the journal is deterministic for a given document order.
+ * Each document's contribution per group is kept for DocumentJournalLine.
+ *
+ * @author Dan Pasco
+ */
+final class SummaryNetting {
+
+    /**
+     * Group a line belongs to; entryType is null when netting by account only.
+     */
+    private record Group(Long accountId, EntryType entryType) {}
+
+    private record Contribution(Long documentId, Group group) {}
+
+    private static final class Total {
+        BigDecimal signed = BigDecimal.ZERO;
+        int sourceLines;
+        String description;
+        Integer lineNumber;
+    }
+
+    private final NettingMode mode;
+    private final Map<Group, Total> totals = new LinkedHashMap<>();
+    private final Map<Contribution, BigDecimal> contributions = new LinkedHashMap<>();
+
+    SummaryNetting(NettingMode mode) {
+        if (mode == NettingMode.NONE) {
+            throw new IllegalArgumentException("NONE does not net lines");
+        }
+        this.mode = mode;
+    }
+
+    void add(Long documentId, List<JournalCreateDto.Line> lines) {
+        for (JournalCreateDto.Line line : lines) {
+            Group group = new Group(line.accountId(),
+                    mode == NettingMode.BY_ACCOUNT_AND_TYPE ? line.entryType() : null);
+            BigDecimal signed = line.entryType() == EntryType.DEBIT ? line.amount() : line.amount().negate();
+
+            Total total = totals.computeIfAbsent(group, g -> new Total());
+            total.signed = total.signed.add(signed);
+            if (total.sourceLines++ == 0) {
+                total.description = line.description();
+            }
+            contributions.merge(new Contribution(documentId, group), signed, BigDecimal::add);
+        }
+    }
+
+    /**
+     * The netted journal lines, numbered from 1 in the order JournalService will number them.
+     */
+    List<JournalCreateDto.Line> lines() {
+        List<JournalCreateDto.Line> lines = new ArrayList<>();
+        for (Map.Entry<Group, Total> entry : totals.entrySet()) {
+            Total total = entry.getValue();
+            if (total.signed.signum() == 0) {
+                continue;
+            }
+            String description = total.sourceLines == 1
+                    ? total.description
+                    : "Net of " + total.sourceLines + " document lines";
+            lines.add(JournalCreateDto.Line.fromSigned(entry.getKey().accountId(), total.signed, description));
+            total.lineNumber = lines.size();
+        }
+        return lines;
+    }
+
+    /**
+     * Provenance rows; call after lines().
+     */
+    DocumentJournalLine.Recorder provenance() {
+        DocumentJournalLine.Recorder recorder = new DocumentJournalLine.Recorder();
+        for (Map.Entry<Contribution, BigDecimal> entry : contributions.entrySet()) {
+            Contribution contribution = entry.getKey();
+            Integer lineNumber = totals.get(contribution.group()).lineNumber;
+            recorder.add(contribution.documentId(), contribution.group().accountId(), lineNumber, entry.getValue());
+        }
+        return recorder;
+    }
+}
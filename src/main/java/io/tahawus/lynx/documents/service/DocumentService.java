@@ -0,0 +1,124 @@
+package io.tahawus.lynx.documents.service;
+
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
+import io.tahawus.lynx.core.util.KeysetCursor;
+import io.tahawus.lynx.documents.dto.DocumentJournalLineDto;
+import io.tahawus.lynx.documents.dto.DocumentSummaryDto;
+import io.tahawus.lynx.documents.dto.SummaryPostingRequestDto;
+import io.tahawus.lynx.documents.model.Document;
+import io.tahawus.lynx.documents.model.DocumentJournalLine;
+import io.tahawus.lynx.documents.model.DocumentStatus;
+import io.tahawus.lynx.documents.model.NettingMode;
+import io.tahawus.lynx.ledger.dto.JournalSummaryDto;
+import io.tahawus.lynx.ledger.mapper.JournalMapper;
+import io.tahawus.lynx.ledger.model.Journal;
+import io.tahawus.lynx.ledger.service.JournalService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Queries across all document types, and summary posting of documents of one type.
+ */
+@ApplicationScoped
+public class DocumentService {
+
+    @Inject
+    NdjsonStreamer ndjson;
+
+    @Inject
+    JournalService journalService;
+
+    /**
+     * One keyset page of documents of every type, newest document date first.
+     *
+     * @param status optional filter
+     * @param cursor next cursor from the previous page, or null for the first page
+     */
+    public KeysetPage<DocumentSummaryDto> list(Long businessId, DocumentStatus status, String cursor, Integer limit) {
+        int pageSize = KeysetPage.limit(limit);
+        List<Document> rows = Document.listPageByBusiness(businessId, status, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetPage.of(rows, pageSize, DocumentService::toSummary, d -> KeysetCursor.of(d.documentDate, d.id));
+    }
+
+    /**
+     * Every document of a business as NDJSON, newest first.
+     */
+    public StreamingOutput stream(Long businessId, DocumentStatus status) {
+        return ndjson.stream(() -> Document.findByBusinessId(businessId, status), DocumentService::toSummary);
+    }
+
+    /**
+     * Post documents as one summary journal, optionally netting their lines.
+     * Documents are posted in document date, id order.
+     *
+     * @throws NotFoundException if a document does not exist
+     */
+    @Transactional
+    public JournalSummaryDto postSummary(SummaryPostingRequestDto dto) {
+        if (dto.documentIds() == null || dto.documentIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        Set<Long> ids = new HashSet<>(dto.documentIds());
+        List<Document> documents = Document.list("id in ?1 order by documentDate, id", ids);
+        if (documents.size() != ids.size()) {
+            documents.forEach(d -> ids.remove(d.id));
+            throw new NotFoundException("Documents not found: " + ids);
+        }
+        NettingMode mode = dto.nettingMode() != null ? dto.nettingMode() : NettingMode.NONE;
+        Journal journal = Document.post(documents, journalService, mode);
+        return JournalMapper.toSummaryDto(journal);
+    }
+
+    /**
+     * Drill-down of a netted summary journal: which documents make up its lines.
+     *
+     * @param lineNumber optional, one journal line only
+     */
+    public List<DocumentJournalLineDto> provenanceByJournal(Long journalId, Integer lineNumber) {
+        return DocumentJournalLine.listByJournal(journalId, lineNumber).stream()
+                .map(DocumentService::toProvenance)
+                .toList();
+    }
+
+    /**
+     * The summary journal lines a document was netted into.
+     */
+    public List<DocumentJournalLineDto> provenanceByDocument(Long documentId) {
+        return DocumentJournalLine.listByDocument(documentId).stream()
+                .map(DocumentService::toProvenance)
+                .toList();
+    }
+
+    private static DocumentJournalLineDto toProvenance(DocumentJournalLine row) {
+        return new DocumentJournalLineDto(
+                row.journal.id,
+                row.lineNumber,
+                row.document.id,
+                row.document.documentNumber,
+                row.accountId,
+                row.amount
+        );
+    }
+
+    private static DocumentSummaryDto toSummary(Document document) {
+        return new DocumentSummaryDto(
+                document.id,
+                document.business != null ? document.business.id : null,
+                document.documentType,
+                document.documentNumber,
+                document.documentDate,
+                document.status,
+                document.description,
+                document.referenceNumber,
+                document.journal != null ? document.journal.id : null
+        );
+    }
+}
@@ -1,7 +1,10 @@
 package io.tahawus.lynx.documents.service;
 
 import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.core.dto.KeysetPage;
 import io.tahawus.lynx.core.service.NumberSequenceService;
+import io.tahawus.lynx.core.service.NumberSequenceService.NumberRange;
+import io.tahawus.lynx.core.util.KeysetCursor;
 import io.tahawus.lynx.documents.dto.*;
 import io.tahawus.lynx.documents.mapper.JournalEntryDocumentMapper;
 import io.tahawus.lynx.documents.model.Document;
@@ -15,7 +18,10 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -50,6 +56,54 @@ public class JournalEntryDocumentService {
         return mapper.toDto(entity);
     }
 
+    /**
+     * Create many journal entries in one transaction (bulk import).
+     *
+     * Document numbers are reserved once per business as a contiguous range,
+     * assigned in input order. Results are returned in input order.
+     */
+    @Transactional
+    public List<JournalEntryDocumentDto> create(List<JournalEntryDocumentCreateDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Integer>> indexesByBusiness = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            JournalEntryDocumentCreateDto dto = dtos.get(i);
+            if (!dto.isBalanced()) {
+                throw new IllegalArgumentException("Journal entry " + i + " must be balanced");
+            }
+            indexesByBusiness.computeIfAbsent(dto.businessId(), k -> new ArrayList<>()).add(i);
+        }
+
+        String prefix = DocumentType.JOURNAL_ENTRY.getPrefix();
+        JournalEntryDocument[] entities = new JournalEntryDocument[dtos.size()];
+        for (Map.Entry<Long, List<Integer>> group : indexesByBusiness.entrySet()) {
+            Business business = Business.findById(group.getKey());
+            if (business == null) {
+                throw new NotFoundException("Business not found: " + group.getKey());
+            }
+
+            List<Integer> indexes = group.getValue();
+            NumberRange numbers = numberSequenceService.reserve(business.id, prefix, indexes.size());
+
+            for (int n = 0; n < indexes.size(); n++) {
+                int i = indexes.get(n);
+                String documentNumber = NumberSequenceService.format(prefix, numbers.get(n), 4);
+                JournalEntryDocument entity = mapper.fromCreateDto(dtos.get(i), business, documentNumber);
+                entity.persist();
+                entities[i] = entity;
+            }
+        }
+
+        List<JournalEntryDocumentDto> results = new ArrayList<>(entities.length);
+        for (JournalEntryDocument entity : entities) {
+            results.add(mapper.toDto(entity));
+        }
+        return results;
+    }
+
     public Optional<JournalEntryDocumentDto> get(Long id) {
         return JournalEntryDocument.<JournalEntryDocument>findByIdOptional(id)
                 .map(mapper::toDto);
@@ -59,12 +113,17 @@ public class JournalEntryDocumentService {
         return get(id).orElseThrow(() -> new NotFoundException("Journal entry not found: " + id));
     }
 
-    public List<JournalEntryDocumentDto> listByBusiness(Long businessId) {
-        return mapper.toDtoList(JournalEntryDocument.listByBusinessId(businessId));
-    }
-
-    public List<JournalEntryDocumentDto> listByBusinessAndStatus(Long businessId, DocumentStatus status) {
-        return mapper.toDtoList(JournalEntryDocument.listByBusinessIdAndStatus(businessId, status));
+    /**
+     * One keyset page of journal entries, newest document date first.
+     *
+     * @param status optional filter
+     * @param cursor next cursor from the previous page, or null for the first page
+     */
+    public KeysetPage<JournalEntryDocumentDto> list(Long businessId, DocumentStatus status, String cursor, Integer limit) {
+        int pageSize = KeysetPage.limit(limit);
+        List<JournalEntryDocument> rows = JournalEntryDocument.listPageByBusinessId(
+                businessId, status, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetPage.of(rows, pageSize, mapper::toDto, d -> KeysetCursor.of(d.documentDate, d.id));
     }
 
     @Transactional
@@ -0,0 +1,466 @@
+package io.tahawus.lynx.documents.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.tahawus.lynx.documents.dto.PostingJobDto;
+import io.tahawus.lynx.documents.dto.PostingJobDto.ItemStatus;
+import io.tahawus.lynx.documents.model.Document;
+import io.tahawus.lynx.documents.model.DocumentStatus;
+import io.tahawus.lynx.ledger.model.Journal;
+import io.tahawus.lynx.ledger.service.JournalService;
+import io.tahawus.lynx.tenant.CurrentTenant;
+import io.tahawus.lynx.tenant.TenantTaskRunner;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * PostingQueue - Posts COMPLETED documents in the background.
+ *
+ * Mass posting at period end would otherwise hold a request thread and a
+ * connection per document. Callers submit document ids (or a whole business)
+ * and get a job id back; progress is polled or streamed from the job.
+ *
+ * ORDERING AND CONCURRENCY:
+ * - One lane per tenant and business. A lane posts in document date, id order
+ *   and never has more than one batch in flight, so a business's journals are
+ *   created in order.
+ * - Lanes share a pool of lynx.posting-queue.concurrency workers; a lane goes
+ *   to the back of the pool queue after every batch, so businesses take turns.
+ * - A batch of up to lynx.posting-queue.batch-size documents is posted in one
+ *   transaction. If it fails, its documents are retried one transaction each,
+ *   so one bad document does not hold back the rest.
+ *
+ * DURABILITY:
+ * The queue and job results live in memory on this node. Documents stay
+ * COMPLETED until posted, so after a restart unposted documents are simply
+ * submitted again. Finished jobs are kept for lynx.posting-queue.retention.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class PostingQueue {
+
+    private static final Logger LOG = Logger.getLogger(PostingQueue.class);
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    JournalService journalService;
+
+    @Inject
+    CurrentTenant currentTenant;
+
+    @Inject
+    TenantTaskRunner tenantTaskRunner;
+
+    @ConfigProperty(name = "lynx.posting-queue.concurrency", defaultValue = "4")
+    int concurrency;
+
+    @ConfigProperty(name = "lynx.posting-queue.batch-size", defaultValue = "50")
+    int batchSize;
+
+    @ConfigProperty(name = "lynx.posting-queue.retention", defaultValue = "PT1H")
+    Duration retention;
+
+    private ExecutorService workers;
+
+    private final ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Documents waiting or being posted, so the same document is not queued twice.
+     */
+    private final Set<DocumentKey> queued = ConcurrentHashMap.newKeySet();
+
+    private record LaneKey(String tenant, Long businessId) {}
+
+    private record DocumentKey(String tenant, Long documentId) {}
+
+    private record Work(Job job, int index, Long documentId) {}
+
+    private static final class Lane {
+        final LaneKey key;
+        final Deque<Work> pending = new ArrayDeque<>();
+        boolean running;
+
+        Lane(LaneKey key) {
+            this.key = key;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "posting-queue-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            LOG.warn("Posting queue workers did not finish in time");
+            workers.shutdownNow();
+        }
+    }
+
+    // =============================
+    // =   Submission              =
+    // =============================
+
+    /**
+     * Enqueue documents for posting. Documents that do not exist, are not
+     * COMPLETED or are already queued are reported as REJECTED in the job.
+     */
+    public PostingJobDto submit(List<Long> documentIds) {
+        if (documentIds == null || documentIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        List<Object[]> rows = em.createQuery("""
+                        select d.id, d.business.id, d.status
+                        from Document d
+                        where d.id in ?1
+                        order by d.documentDate, d.id
+                        """, Object[].class)
+                .setParameter(1, documentIds)
+                .getResultList();
+        return enqueue(documentIds, rows);
+    }
+
+    /**
+     * Enqueue every COMPLETED document of a business.
+     *
+     * @throws NotFoundException if there is none
+     */
+    public PostingJobDto submitCompleted(Long businessId) {
+        List<Object[]> rows = em.createQuery("""
+                        select d.id, d.business.id, d.status
+                        from Document d
+                        where d.business.id = ?1 and d.status = ?2
+                        order by d.documentDate, d.id
+                        """, Object[].class)
+                .setParameter(1, businessId)
+                .setParameter(2, DocumentStatus.COMPLETED)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new NotFoundException("No completed documents for business: " + businessId);
+        }
+        return enqueue(rows.stream().map(row -> (Long) row[0]).toList(), rows);
+    }
+
+    /**
+     * @param documentIds submission order, for the job's item list
+     * @param rows        (id, businessId, status) in posting order
+     */
+    PostingJobDto enqueue(List<Long> documentIds, List<Object[]> rows) {
+        String tenant = currentTenant.requireTenantId();
+        purgeExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), documentIds);
+        jobs.put(job.id, job);
+
+        Map<Long, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < documentIds.size(); i++) {
+            indexes.putIfAbsent(documentIds.get(i), i);
+        }
+        for (int i = 0; i < documentIds.size(); i++) {
+            if (indexes.get(documentIds.get(i)) != i) {
+                job.finish(i, ItemStatus.REJECTED, null, "Duplicate in request");
+            }
+        }
+
+        Map<LaneKey, List<Work>> byLane = new LinkedHashMap<>();
+        Set<Long> found = new HashSet<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            int index = indexes.get(id);
+            found.add(id);
+            if (row[2] != DocumentStatus.COMPLETED) {
+                job.finish(index, ItemStatus.REJECTED, null, "Document is " + row[2] + ", not COMPLETED");
+            } else if (!queued.add(new DocumentKey(tenant, id))) {
+                job.finish(index, ItemStatus.REJECTED, null, "Document is already queued");
+            } else {
+                byLane.computeIfAbsent(new LaneKey(tenant, (Long) row[1]), k -> new ArrayList<>())
+                        .add(new Work(job, index, id));
+            }
+        }
+        for (Map.Entry<Long, Integer> entry : indexes.entrySet()) {
+            if (!found.contains(entry.getKey())) {
+                job.finish(entry.getValue(), ItemStatus.REJECTED, null, "Document not found");
+            }
+        }
+
+        byLane.forEach(this::append);
+        LOG.debugf("Posting job %s: %d documents in %d lanes", job.id, documentIds.size(), byLane.size());
+        return job.snapshot();
+    }
+
+    // =============================
+    // =   Status                  =
+    // =============================
+
+    /**
+     * @throws NotFoundException if the job is unknown or expired
+     */
+    public PostingJobDto status(String jobId) {
+        return requireJob(jobId).snapshot();
+    }
+
+    /**
+     * Job progress as a stream: the current state, then every change until the job is done.
+     */
+    public Multi<PostingJobDto> updates(String jobId) {
+        Job job = requireJob(jobId);
+        return Multi.createFrom().emitter(emitter -> {
+            Consumer<PostingJobDto> listener = snapshot -> {
+                emitter.emit(snapshot);
+                if (snapshot.isDone()) {
+                    emitter.complete();
+                }
+            };
+            emitter.onTermination(() -> job.listeners.remove(listener));
+            job.listeners.add(listener);
+            listener.accept(job.snapshot());
+        }, BackPressureStrategy.LATEST);
+    }
+
+    private Job requireJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.visibleTo(currentTenant.tenantId())) {
+            throw new NotFoundException("Posting job not found: " + jobId);
+        }
+        return job;
+    }
+
+    // =============================
+    // =   Workers                 =
+    // =============================
+
+    private void append(LaneKey key, List<Work> work) {
+        Lane lane = lanes.computeIfAbsent(key, Lane::new);
+        synchronized (lane) {
+            lane.pending.addAll(work);
+            if (!lane.running) {
+                lane.running = true;
+                schedule(lane);
+            }
+        }
+    }
+
+    private void schedule(Lane lane) {
+        Uni.createFrom().item(() -> takeBatch(lane))
+                .runSubscriptionOn(workers)
+                .onItem().invoke(batch -> postOrFail(lane.key, batch))
+                .subscribe().with(
+                        batch -> next(lane),
+                        failure -> {
+                            LOG.errorf(failure, "Posting lane %s failed", lane.key);
+                            next(lane);
+                        });
+    }
+
+    private List<Work> takeBatch(Lane lane) {
+        List<Work> batch = new ArrayList<>(batchSize);
+        synchronized (lane) {
+            while (batch.size() < batchSize && !lane.pending.isEmpty()) {
+                batch.add(lane.pending.poll());
+            }
+        }
+        return batch;
+    }
+
+    private void next(Lane lane) {
+        synchronized (lane) {
+            if (lane.pending.isEmpty()) {
+                lane.running = false;
+            } else {
+                schedule(lane);
+            }
+        }
+    }
+
+    /**
+     * Post a batch; if that fails outright (e.g. the tenant cannot be set up),
+     * every document of the batch still open is FAILED and leaves the queue,
+     * so the job finishes and the documents can be submitted again.
+     */
+    private void postOrFail(LaneKey lane, List<Work> batch) {
+        try {
+            postBatch(lane, batch);
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Posting batch for %s failed", lane);
+            for (Work work : batch) {
+                complete(lane, work, ItemStatus.FAILED, null, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Post a batch in one transaction; on failure, post each document in its own.
+     */
+    private void postBatch(LaneKey lane, List<Work> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.forEach(w -> w.job.started());
+
+        tenantTaskRunner.run(lane.tenant(), () -> {
+            try {
+                Map<Work, Long> journals = QuarkusTransaction.requiringNew().call(() -> {
+                    Map<Work, Long> created = new LinkedHashMap<>();
+                    for (Work work : batch) {
+                        created.put(work, postOne(work.documentId()));
+                    }
+                    return created;
+                });
+                journals.forEach((work, journalId) -> complete(lane, work, ItemStatus.POSTED, journalId, null));
+            } catch (RuntimeException batchFailure) {
+                LOG.debugf(batchFailure, "Posting batch for %s failed, posting one by one", lane);
+                for (Work work : batch) {
+                    try {
+                        Long journalId = QuarkusTransaction.requiringNew().call(() -> postOne(work.documentId()));
+                        complete(lane, work, ItemStatus.POSTED, journalId, null);
+                    } catch (RuntimeException e) {
+                        complete(lane, work, ItemStatus.FAILED, null, e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private Long postOne(Long documentId) {
+        Document document = Document.findById(documentId);
+        if (document == null) {
+            throw new NotFoundException("Document not found: " + documentId);
+        }
+        Journal journal = Document.post(document, journalService);
+        return journal.id;
+    }
+
+    private void complete(LaneKey lane, Work work, ItemStatus status, Long journalId, String error) {
+        queued.remove(new DocumentKey(lane.tenant(), work.documentId()));
+        work.job.finish(work.index(), status, journalId, error);
+    }
+
+    private void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    // =============================
+    // =   Job State               =
+    // =============================
+
+    private final class Job {
+        final String id;
+        final String tenant = currentTenant.tenantId();
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final List<Long> documentIds;
+        final PostingJobDto.Item[] items;
+        final List<Consumer<PostingJobDto>> listeners = new CopyOnWriteArrayList<>();
+        private int open;
+        private boolean started;
+        private LocalDateTime finishedAt;
+
+        Job(String id, List<Long> documentIds) {
+            this.id = id;
+            this.documentIds = List.copyOf(documentIds);
+            this.items = new PostingJobDto.Item[documentIds.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new PostingJobDto.Item(documentIds.get(i), ItemStatus.QUEUED, null, null);
+            }
+            this.open = items.length;
+        }
+
+        boolean visibleTo(String tenantIdentifier) {
+            return tenant != null && tenant.equals(tenantIdentifier);
+        }
+
+        void started() {
+            synchronized (this) {
+                if (started) {
+                    return;
+                }
+                started = true;
+            }
+            notifyListeners();
+        }
+
+        void finish(int index, ItemStatus status, Long journalId, String error) {
+            synchronized (this) {
+                if (items[index].status() != ItemStatus.QUEUED) {
+                    return;
+                }
+                items[index] = new PostingJobDto.Item(documentIds.get(index), status, journalId, error);
+                if (--open == 0) {
+                    finishedAt = LocalDateTime.now();
+                }
+            }
+            notifyListeners();
+        }
+
+        synchronized boolean finishedBefore(LocalDateTime cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        synchronized PostingJobDto snapshot() {
+            int posted = 0;
+            int failed = 0;
+            int rejected = 0;
+            for (PostingJobDto.Item item : items) {
+                switch (item.status()) {
+                    case POSTED -> posted++;
+                    case FAILED -> failed++;
+                    case REJECTED -> rejected++;
+                    default -> { }
+                }
+            }
+            PostingJobDto.Status status = finishedAt != null ? PostingJobDto.Status.DONE
+                    : started ? PostingJobDto.Status.RUNNING
+                    : PostingJobDto.Status.QUEUED;
+            return new PostingJobDto(id, status, items.length, posted, failed, rejected,
+                    submittedAt, finishedAt, List.of(items));
+        }
+
+        private void notifyListeners() {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            PostingJobDto snapshot = snapshot();
+            listeners.forEach(listener -> listener.accept(snapshot));
+        }
+    }
+}
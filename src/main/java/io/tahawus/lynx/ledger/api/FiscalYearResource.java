@@ -2,12 +2,15 @@ package io.tahawus.lynx.ledger.api;
 
 import io.tahawus.lynx.ledger.dto.FiscalYearCreateDto;
 import io.tahawus.lynx.ledger.dto.FiscalYearDto;
+import io.tahawus.lynx.ledger.dto.TrialBalanceDto;
 import io.tahawus.lynx.ledger.service.FiscalYearService;
+import io.tahawus.lynx.ledger.service.TrialBalanceService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,6 +24,9 @@ public class FiscalYearResource {
     @Inject
     FiscalYearService fiscalYearService;
 
+    @Inject
+    TrialBalanceService trialBalanceService;
+
     @GET
     public List<FiscalYearDto> list(@QueryParam("businessId") Long businessId) {
         if (businessId == null) {
@@ -35,6 +41,15 @@ public class FiscalYearResource {
         return fiscalYearService.getRequired(id);
     }
 
+    /**
+     * Trial balance for all accounts. asOf defaults to the fiscal year end date.
+     */
+    @GET
+    @Path("/{id}/trial-balance")
+    public TrialBalanceDto trialBalance(@PathParam("id") Long id, @QueryParam("asOf") LocalDate asOf) {
+        return trialBalanceService.getTrialBalance(id, asOf);
+    }
+
     @POST
     public Response create(@Valid FiscalYearCreateDto dto, @Context UriInfo uriInfo) {
         FiscalYearDto result = fiscalYearService.create(dto);
@@ -0,0 +1,87 @@
+package io.tahawus.lynx.ledger.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
+import io.tahawus.lynx.ledger.dto.JournalBatchResultDto;
+import io.tahawus.lynx.ledger.dto.JournalIntegrityReportDto;
+import io.tahawus.lynx.ledger.dto.JournalSummaryDto;
+import io.tahawus.lynx.ledger.service.JournalService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.util.List;
+
+/**
+ * REST API for reading journals.
+ *
+ * Journals are normally created by posting documents. The one write here is
+ * the batch endpoint for month-end imports.
+ */
+@Path("/journals")
+@Produces(MediaType.APPLICATION_JSON)
+public class JournalResource {
+
+    @Inject
+    JournalService journalService;
+
+    /**
+     * Keyset-paginated list, newest posting date first.
+     * Pass the returned next cursor to get the following page.
+     */
+    @GET
+    public KeysetPage<JournalSummaryDto> list(
+            @QueryParam("businessId") Long businessId,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit) {
+
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        return journalService.list(businessId, cursor, limit);
+    }
+
+    /**
+     * Full list as newline-delimited JSON, for exports and syncs.
+     * Selected with Accept: application/x-ndjson.
+     */
+    @GET
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    public StreamingOutput listNdjson(@QueryParam("businessId") Long businessId) {
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        return journalService.stream(businessId);
+    }
+
+    /**
+     * Create many journals in one transaction (month-end imports).
+     * Items are JournalCreateDto objects, bound as raw JSON so a malformed
+     * item is rejected individually instead of failing the whole request;
+     * one result per item, in order.
+     */
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public List<JournalBatchResultDto> createBatch(List<JsonNode> items) {
+        if (items == null) {
+            throw new BadRequestException("Request body is required");
+        }
+        return journalService.createBatch(items);
+    }
+
+    /**
+     * Verify stored journal totals against journal lines.
+     * Intended to be run periodically (e.g. nightly) by an external scheduler.
+     */
+    @GET
+    @Path("/integrity")
+    public JournalIntegrityReportDto checkIntegrity(@QueryParam("businessId") Long businessId) {
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        return journalService.checkIntegrity(businessId);
+    }
+}
@@ -0,0 +1,26 @@
+package io.tahawus.lynx.ledger.dto;
+
+/**
+ * Per-item outcome of JournalService.createBatch().
+ *
+ * @param index Position of the JournalCreateDto in the submitted batch
+ * @param journalId Created journal id, or null if the item was rejected
+ * @param error Validation failure message, or null on success
+ */
+public record JournalBatchResultDto(
+        int index,
+        Long journalId,
+        String error
+) {
+    public static JournalBatchResultDto created(int index, Long journalId) {
+        return new JournalBatchResultDto(index, journalId, null);
+    }
+
+    public static JournalBatchResultDto rejected(int index, String error) {
+        return new JournalBatchResultDto(index, null, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
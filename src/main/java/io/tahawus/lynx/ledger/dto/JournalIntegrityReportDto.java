@@ -0,0 +1,32 @@
+package io.tahawus.lynx.ledger.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of verifying stored journal header totals against journal lines.
+ *
+ * @author Dan Pasco
+ */
+public record JournalIntegrityReportDto(
+        Long businessId,
+        long journalsChecked,
+        List<Mismatch> mismatches
+) {
+    /**
+     * A journal whose stored totals disagree with its lines.
+     */
+    public record Mismatch(
+            Long journalId,
+            BigDecimal storedDebits,
+            BigDecimal storedCredits,
+            int storedLineCount,
+            BigDecimal lineDebits,
+            BigDecimal lineCredits,
+            int lineCount
+    ) {}
+
+    public boolean isConsistent() {
+        return mismatches.isEmpty();
+    }
+}
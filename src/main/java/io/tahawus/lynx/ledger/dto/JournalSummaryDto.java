@@ -0,0 +1,27 @@
+package io.tahawus.lynx.ledger.dto;
+
+import io.tahawus.lynx.ledger.model.JournalType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Journal list view DTO (no lines; totals come from the journal header).
+ */
+public record JournalSummaryDto(
+        Long id,
+        Long businessId,
+        Long fiscalPeriodId,
+        JournalType journalType,
+        LocalDate entryDate,
+        LocalDate postingDate,
+        Long documentId,
+        String reference,
+        String description,
+        Long reversesJournalId,
+        BigDecimal totalDebits,
+        BigDecimal totalCredits,
+        int lineCount,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,37 @@
+package io.tahawus.lynx.ledger.dto;
+
+import io.tahawus.lynx.accounts.model.AccountType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Trial balance view DTO for a fiscal year as of a date.
+ *
+ * Balances are signed: Positive = Debit, Negative = Credit.
+ */
+public record TrialBalanceDto(
+        Long fiscalYearId,
+        Integer fiscalYear,
+        LocalDate asOfDate,
+        List<Line> lines,
+        BigDecimal totalDebits,
+        BigDecimal totalCredits,
+        boolean isBalanced
+) {
+
+    /**
+     * One account row of the trial balance.
+     */
+    public record Line(
+            Long accountId,
+            String formattedAccountNumber,
+            String shortCode,
+            String name,
+            AccountType accountType,
+            BigDecimal openingBalance,
+            BigDecimal activity,
+            BigDecimal closingBalance
+    ) {}
+}
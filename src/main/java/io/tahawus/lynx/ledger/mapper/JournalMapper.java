@@ -3,6 +3,7 @@ package io.tahawus.lynx.ledger.mapper;
 import io.tahawus.lynx.accounts.model.GeneralLedgerAccount;
 import io.tahawus.lynx.ledger.dto.JournalDto;
 import io.tahawus.lynx.ledger.dto.JournalLineDto;
+import io.tahawus.lynx.ledger.dto.JournalSummaryDto;
 import io.tahawus.lynx.ledger.model.Journal;
 import io.tahawus.lynx.ledger.model.JournalLine;
 
@@ -18,6 +19,27 @@ public final class JournalMapper {
 
     private JournalMapper() {}
 
+    public static JournalSummaryDto toSummaryDto(Journal journal) {
+        if (journal == null) return null;
+
+        return new JournalSummaryDto(
+                journal.id,
+                journal.business != null ? journal.business.id : null,
+                journal.fiscalPeriod != null ? journal.fiscalPeriod.id : null,
+                journal.journalType,
+                journal.entryDate,
+                journal.postingDate,
+                journal.documentId,
+                journal.reference,
+                journal.description,
+                journal.reversesJournal != null ? journal.reversesJournal.id : null,
+                journal.totalDebits,
+                journal.totalCredits,
+                journal.lineCount,
+                journal.createdAt
+        );
+    }
+
     public static JournalDto toDto(Journal journal) {
         if (journal == null) return null;
 
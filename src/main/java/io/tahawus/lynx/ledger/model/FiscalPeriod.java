@@ -2,6 +2,8 @@ package io.tahawus.lynx.ledger.model;
 
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
@@ -26,6 +28,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners(ReferenceCacheListener.class)
 @Table(
         name = "fiscal_period",
         uniqueConstraints = {
@@ -117,13 +121,13 @@ public class FiscalPeriod extends AuditableEntity {
     }
 
     public static Optional<FiscalPeriod> findByFiscalYearAndNumber(FiscalYear fiscalYear, Integer periodNumber) {
-        return find("fiscalYear = ?1 and periodNumber = ?2", fiscalYear, periodNumber)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("fiscalYear = ?1 and periodNumber = ?2", fiscalYear, periodNumber),
+                FiscalPeriod.class).firstResultOptional();
     }
 
     public static Optional<FiscalPeriod> findByDate(FiscalYear fiscalYear, LocalDate date) {
-        return find("fiscalYear = ?1 and startDate <= ?2 and endDate >= ?2", fiscalYear, date)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("fiscalYear = ?1 and startDate <= ?2 and endDate >= ?2", fiscalYear, date),
+                FiscalPeriod.class).firstResultOptional();
     }
 
     public static List<FiscalPeriod> listOpen(FiscalYear fiscalYear) {
@@ -2,6 +2,8 @@ package io.tahawus.lynx.ledger.model;
 
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.ReferenceCache;
+import io.tahawus.lynx.core.service.ReferenceCacheListener;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
@@ -23,6 +25,8 @@ import java.util.Optional;
  * @author Dan Pasco
  */
 @Entity
+@Cacheable
+@EntityListeners(ReferenceCacheListener.class)
 @Table(
         name = "fiscal_year",
         uniqueConstraints = {
@@ -103,12 +107,13 @@ public class FiscalYear extends AuditableEntity {
     }
 
     public static Optional<FiscalYear> findByBusinessAndYear(Business business, Integer year) {
-        return find("business = ?1 and year = ?2", business, year).firstResultOptional();
+        return ReferenceCache.lookup(find("business = ?1 and year = ?2", business, year), FiscalYear.class)
+                .firstResultOptional();
     }
 
     public static Optional<FiscalYear> findByDate(Business business, LocalDate date) {
-        return find("business = ?1 and startDate <= ?2 and endDate >= ?2", business, date)
-                .firstResultOptional();
+        return ReferenceCache.lookup(find("business = ?1 and startDate <= ?2 and endDate >= ?2", business, date),
+                FiscalYear.class).firstResultOptional();
     }
 
     public static Optional<FiscalYear> findCurrent(Business business) {
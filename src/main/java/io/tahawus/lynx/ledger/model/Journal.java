@@ -1,14 +1,18 @@
 package io.tahawus.lynx.ledger.model;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.util.KeysetCursor;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,6 +26,11 @@ import java.util.Optional;
  * - Corrections via reversing entries only
  * - createdAt is the permanent timestamp
  *
+ * HEADER TOTALS:
+ * totalDebits, totalCredits and lineCount are written once with the journal,
+ * so listings show amounts without loading lines. JournalService.checkIntegrity
+ * verifies them against journal_line.
+ *
  * POSTING DATE COMPUTATION:
  * - entryDate: when the economic event occurred
  * - postingDate: first day of the first OPEN FiscalPeriod on or after entryDate
@@ -92,6 +101,21 @@ public class Journal extends AuditableEntity {
     @JoinColumn(name = "reverses_journal_id")
     public Journal reversesJournal;
 
+    /**
+     * Sum of debit lines, stored at creation.
+     */
+    @Column(name = "total_debits", nullable = false, precision = 19, scale = 4)
+    public BigDecimal totalDebits = BigDecimal.ZERO;
+
+    /**
+     * Sum of credit lines, stored at creation.
+     */
+    @Column(name = "total_credits", nullable = false, precision = 19, scale = 4)
+    public BigDecimal totalCredits = BigDecimal.ZERO;
+
+    @Column(name = "line_count", nullable = false)
+    public Integer lineCount = 0;
+
     /**
      * Journal lines (detail).
      */
@@ -111,30 +135,24 @@ public class Journal extends AuditableEntity {
     }
 
     /**
-     * Total debits.
+     * Total debits (stored; does not load lines).
      */
     public BigDecimal getTotalDebits() {
-        return lines.stream()
-                .filter(line -> line.entryType == EntryType.DEBIT)
-                .map(line -> line.amount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalDebits;
     }
 
     /**
-     * Total credits.
+     * Total credits (stored; does not load lines).
      */
     public BigDecimal getTotalCredits() {
-        return lines.stream()
-                .filter(line -> line.entryType == EntryType.CREDIT)
-                .map(line -> line.amount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalCredits;
     }
 
     /**
      * Is the entry balanced? (debits = credits)
      */
     public boolean isBalanced() {
-        return getTotalDebits().compareTo(getTotalCredits()) == 0;
+        return totalDebits.compareTo(totalCredits) == 0;
     }
 
     // =============================
@@ -153,9 +171,33 @@ public class Journal extends AuditableEntity {
         line.amount = amount;
         line.description = description;
         lines.add(line);
+        if (entryType == EntryType.DEBIT) {
+            totalDebits = totalDebits.add(amount);
+        } else {
+            totalCredits = totalCredits.add(amount);
+        }
+        lineCount = lines.size();
         return line;
     }
 
+    /**
+     * Recompute header totals from the lines in memory.
+     */
+    private void computeTotals() {
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        for (JournalLine line : lines) {
+            if (line.entryType == EntryType.DEBIT) {
+                debits = debits.add(line.amount);
+            } else {
+                credits = credits.add(line.amount);
+            }
+        }
+        totalDebits = debits;
+        totalCredits = credits;
+        lineCount = lines.size();
+    }
+
     // =============================
     // =   Immutability            =
     // =============================
@@ -173,12 +215,12 @@ public class Journal extends AuditableEntity {
         if (lines.isEmpty()) {
             throw new IllegalStateException("Journal must have at least one line");
         }
+        computeTotals();
         if (!isBalanced()) {
             throw new IllegalStateException("Journal entry must be balanced (debits = credits)");
         }
-        if (journalType == JournalType.CE && fiscalPeriod.fiscalYear.status != FiscalYearStatus.CLOSING) {
-            throw new IllegalStateException("Closing entries (CE) only allowed when fiscal year is CLOSING");
-        }
+        // CE rule (fiscal year CLOSING) is enforced by JournalService against the
+        // FiscalCalendar, so persisting does not have to load the fiscal year.
     }
 
     // =============================
@@ -197,6 +239,29 @@ public class Journal extends AuditableEntity {
         return list("business = ?1 order by postingDate desc, id desc", business);
     }
 
+    /**
+     * Keyset page in (postingDate desc, id desc) order.
+     * Returns up to limit + 1 rows (see KeysetPage.of).
+     */
+    public static List<Journal> listPageByBusiness(Long businessId, KeysetCursor after, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("businessId", businessId);
+        String query = "business.id = :businessId";
+        if (after != null) {
+            query += " and " + KeysetCursor.descending("postingDate");
+            params.put("afterKey", after.dateKey());
+            params.put("afterId", after.id());
+        }
+        return find(query + " order by postingDate desc, id desc", params).range(0, limit).list();
+    }
+
+    /**
+     * Every journal of a business in list order (for streaming exports).
+     */
+    public static PanacheQuery<Journal> findByBusinessId(Long businessId) {
+        return find("business.id = ?1 order by postingDate desc, id desc", businessId);
+    }
+
     public static List<Journal> listByDocument(Long documentId) {
         return list("documentId = ?1 order by id", documentId);
     }
@@ -218,8 +283,9 @@ public class Journal extends AuditableEntity {
                 ", entryDate=" + entryDate +
                 ", postingDate=" + postingDate +
                 ", reference='" + reference + '\'' +
-                ", balanced=" + isBalanced() +
-                ", lines=" + lines.size() +
+                ", totalDebits=" + totalDebits +
+                ", totalCredits=" + totalCredits +
+                ", lines=" + lineCount +
                 '}';
     }
 }
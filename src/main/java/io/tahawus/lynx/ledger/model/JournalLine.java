@@ -1,6 +1,6 @@
 package io.tahawus.lynx.ledger.model;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -26,7 +26,7 @@ import java.util.List;
                 @Index(name = "idx_journal_line_account", columnList = "account_id")
         }
 )
-public class JournalLine extends PanacheEntity {
+public class JournalLine extends LynxPanacheEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "journal_id", nullable = false)
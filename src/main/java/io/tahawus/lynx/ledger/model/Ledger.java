@@ -15,10 +15,10 @@ import java.util.Optional;
  *
  * The ledger is the central record for account balances by fiscal year.
  * Opening balance is set during onboarding or carried forward from prior year close.
- * Current balance is computed on-demand from journal entries.
+ * Current balance is computed on-demand from the LedgerPeriodBalance rollup.
  *
  * BALANCE COMPUTATION:
- * currentBalance = openingBalance + SUM(journalLines for this account in this fiscal year)
+ * currentBalance = openingBalance + SUM(period rollups for this account in this fiscal year)
  *
  * YEAR-END CLOSE:
  * When a FiscalYear is closed, balance sheet account closing balances become
@@ -86,30 +86,40 @@ public class Ledger extends AuditableEntity {
 
     /**
      * Compute net activity (change) from year start through a date.
+     *
+     * Periods ending on or before the date come from the LedgerPeriodBalance rollup.
+     * Only the period containing the date (if it ends after it) is aggregated from
+     * journal lines, and that is done in the database without loading entities.
      */
     public BigDecimal getActivityThrough(LocalDate throughDate) {
-        // Sum all journal lines for this account in this fiscal year through the date
-        // DEBIT adds, CREDIT subtracts
-        List<JournalLine> lines = JournalLine.list(
-                "journal.fiscalPeriod.fiscalYear = ?1 and accountId = ?2 and journal.postingDate <= ?3",
+        BigDecimal closedPeriods = LedgerPeriodBalance.sumNetActivityForClosedPeriods(
                 fiscalYear, account.id, throughDate);
 
-        return lines.stream()
-                .map(JournalLine::getSignedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal partialPeriod = getEntityManager().createQuery("""
+                        select coalesce(sum(case when l.entryType = ?4 then l.amount else -l.amount end), 0)
+                        from JournalLine l
+                        where l.journal.fiscalPeriod.fiscalYear = ?1
+                          and l.accountId = ?2
+                          and l.journal.fiscalPeriod.startDate <= ?3
+                          and l.journal.fiscalPeriod.endDate > ?3
+                          and l.journal.postingDate <= ?3
+                        """, BigDecimal.class)
+                .setParameter(1, fiscalYear)
+                .setParameter(2, account.id)
+                .setParameter(3, throughDate)
+                .setParameter(4, EntryType.DEBIT)
+                .getSingleResult();
+
+        return partialPeriod != null ? closedPeriods.add(partialPeriod) : closedPeriods;
     }
 
     /**
      * Compute activity within a specific fiscal period.
      */
     public BigDecimal getPeriodActivity(FiscalPeriod period) {
-        List<JournalLine> lines = JournalLine.list(
-                "journal.fiscalPeriod = ?1 and accountId = ?2",
-                period, account.id);
-
-        return lines.stream()
-                .map(JournalLine::getSignedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return LedgerPeriodBalance.findByPeriodAndAccount(period, account.id)
+                .map(LedgerPeriodBalance::getNetActivity)
+                .orElse(BigDecimal.ZERO);
     }
 
     /**
@@ -0,0 +1,179 @@
+package io.tahawus.lynx.ledger.model;
+
+import io.tahawus.lynx.core.model.LynxPanacheEntity;
+import io.tahawus.lynx.core.model.TableSequenceGenerator;
+import jakarta.persistence.*;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * LedgerPeriodBalance - Rollup of journal activity per fiscal period and account.
+ *
+ * One row per (fiscal period, account) that has activity. Rows are maintained
+ * incrementally by JournalService in the same transaction that creates the
+ * Journal, so the rollup is always consistent with journal_line.
+ *
+ * Ledger balance lookups read these rows instead of loading JournalLine entities.
+ *
+ * IMMUTABILITY:
+ * Never edited directly. Totals only grow as journals are posted; reversals
+ * post offsetting journals like everything else in the ledger.
+ *
+ * @author Dan Pasco
+ */
+@Entity
+@Table(
+        name = "ledger_period_balance",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_ledger_period_balance_period_account",
+                        columnNames = {"fiscal_period_id", "account_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_ledger_period_balance_account", columnList = "account_id")
+        }
+)
+public class LedgerPeriodBalance extends LynxPanacheEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fiscal_period_id", nullable = false)
+    public FiscalPeriod fiscalPeriod;
+
+    /**
+     * Reference to GeneralLedgerAccount.id (same convention as JournalLine).
+     */
+    @Column(name = "account_id", nullable = false)
+    public Long accountId;
+
+    @Column(name = "debit_total", nullable = false, precision = 19, scale = 4)
+    public BigDecimal debitTotal = BigDecimal.ZERO;
+
+    @Column(name = "credit_total", nullable = false, precision = 19, scale = 4)
+    public BigDecimal creditTotal = BigDecimal.ZERO;
+
+    /**
+     * Net activity for the period. Positive = Debit, Negative = Credit.
+     */
+    public BigDecimal getNetActivity() {
+        return debitTotal.subtract(creditTotal);
+    }
+
+    // =============================
+    // =   Maintenance             =
+    // =============================
+
+    /**
+     * Add a journal's lines to the period rollup.
+     * Must be called inside the transaction that persists the journal.
+     */
+    public static void accumulate(Journal journal) {
+        Accumulator accumulator = new Accumulator();
+        for (JournalLine line : journal.lines) {
+            accumulator.add(journal.fiscalPeriod.id, line.accountId, line.entryType, line.amount);
+        }
+        getEntityManager().unwrap(Session.class).doWork(accumulator::apply);
+    }
+
+    /**
+     * Collects line amounts per (fiscal period, account) and upserts them in one JDBC batch.
+     *
+     * Rows are written in (period, account) order so concurrent postings touching
+     * the same accounts lock rollup rows in the same order.
+     */
+    public static final class Accumulator {
+
+        private static final String UPSERT_SQL = """
+                insert into ledger_period_balance (id, fiscal_period_id, account_id, debit_total, credit_total)
+                values (?, ?, ?, ?, ?)
+                on conflict (fiscal_period_id, account_id) do update
+                set debit_total = ledger_period_balance.debit_total + excluded.debit_total,
+                    credit_total = ledger_period_balance.credit_total + excluded.credit_total
+                """;
+
+        private final TreeMap<Long, TreeMap<Long, BigDecimal[]>> totals = new TreeMap<>();
+
+        public void add(Long fiscalPeriodId, Long accountId, EntryType entryType, BigDecimal amount) {
+            BigDecimal[] t = totals.computeIfAbsent(fiscalPeriodId, k -> new TreeMap<>())
+                    .computeIfAbsent(accountId, k -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            if (entryType == EntryType.DEBIT) {
+                t[0] = t[0].add(amount);
+            } else {
+                t[1] = t[1].add(amount);
+            }
+        }
+
+        public boolean isEmpty() {
+            return totals.isEmpty();
+        }
+
+        public void apply(Connection connection) throws SQLException {
+            if (totals.isEmpty()) {
+                return;
+            }
+            // Ids for rows that turn out to exist are discarded by the upsert
+            int rows = totals.values().stream().mapToInt(Map::size).sum();
+            long[] ids = TableSequenceGenerator.allocate(connection, "ledger_period_balance", rows);
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+                int i = 0;
+                for (Map.Entry<Long, TreeMap<Long, BigDecimal[]>> period : totals.entrySet()) {
+                    for (Map.Entry<Long, BigDecimal[]> account : period.getValue().entrySet()) {
+                        ps.setLong(1, ids[i++]);
+                        ps.setLong(2, period.getKey());
+                        ps.setLong(3, account.getKey());
+                        ps.setBigDecimal(4, account.getValue()[0]);
+                        ps.setBigDecimal(5, account.getValue()[1]);
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    // =============================
+    // =   Query Methods           =
+    // =============================
+
+    public static Optional<LedgerPeriodBalance> findByPeriodAndAccount(FiscalPeriod period, Long accountId) {
+        return find("fiscalPeriod = ?1 and accountId = ?2", period, accountId)
+                .firstResultOptional();
+    }
+
+    /**
+     * Net activity for an account over all periods of a fiscal year that end on or before a date.
+     */
+    public static BigDecimal sumNetActivityForClosedPeriods(FiscalYear fiscalYear, Long accountId, LocalDate throughDate) {
+        BigDecimal sum = getEntityManager().createQuery("""
+                        select coalesce(sum(b.debitTotal - b.creditTotal), 0)
+                        from LedgerPeriodBalance b
+                        where b.fiscalPeriod.fiscalYear = ?1
+                          and b.accountId = ?2
+                          and b.fiscalPeriod.endDate <= ?3
+                        """, BigDecimal.class)
+                .setParameter(1, fiscalYear)
+                .setParameter(2, accountId)
+                .setParameter(3, throughDate)
+                .getSingleResult();
+        return sum != null ? sum : BigDecimal.ZERO;
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerPeriodBalance{" +
+                "id=" + id +
+                ", fiscalPeriod=" + (fiscalPeriod != null ? fiscalPeriod.id : null) +
+                ", accountId=" + accountId +
+                ", debitTotal=" + debitTotal +
+                ", creditTotal=" + creditTotal +
+                '}';
+    }
+}
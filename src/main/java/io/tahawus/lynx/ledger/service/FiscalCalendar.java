@@ -0,0 +1,213 @@
+package io.tahawus.lynx.ledger.service;
+
+import io.tahawus.lynx.core.service.InvalidationBus;
+import io.tahawus.lynx.core.service.TransactionCallbacks;
+import io.tahawus.lynx.ledger.model.FiscalPeriod;
+import io.tahawus.lynx.ledger.model.FiscalPeriodStatus;
+import io.tahawus.lynx.ledger.model.FiscalYearStatus;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FiscalCalendar - In-memory fiscal period calendar per tenant and business.
+ *
+ * Holds every fiscal period of a business, ordered by start date, together with
+ * the period and fiscal year statuses. Answers "first OPEN period on or after a
+ * date" with a binary search instead of a query plus lazy loads.
+ *
+ * INVALIDATION:
+ * Anything that creates periods or changes period/year status must call
+ * invalidate(businessId). The entry is dropped immediately and again when the
+ * transaction completes, so a concurrent reload cannot keep pre-commit state.
+ * Other nodes drop it when the InvalidationBus notice arrives.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class FiscalCalendar {
+
+    /**
+     * InvalidationBus entity name; the notice id is the business id.
+     */
+    public static final String NOTICE_ENTITY = "FiscalCalendar";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TransactionCallbacks transactionCallbacks;
+
+    @Inject
+    InvalidationBus invalidationBus;
+
+    private final ConcurrentMap<Key, Periods> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation; a load that raced with one is not cached.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record Key(String tenant, Long businessId) {}
+
+    /**
+     * Immutable snapshot of one fiscal period.
+     */
+    public record PeriodEntry(
+            Long periodId,
+            Long fiscalYearId,
+            Integer year,
+            Integer periodNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            FiscalPeriodStatus status,
+            FiscalYearStatus yearStatus
+    ) {
+        /**
+         * Same rule as FiscalPeriod.canAcceptEntries().
+         */
+        public boolean canAcceptEntries() {
+            return status == FiscalPeriodStatus.OPEN &&
+                   (yearStatus == FiscalYearStatus.OPEN ||
+                    yearStatus == FiscalYearStatus.CLOSING);
+        }
+
+        /**
+         * Same format as FiscalPeriod.getDisplayName().
+         */
+        public String getDisplayName() {
+            if (periodNumber <= 12) {
+                return startDate.getMonth().toString() + " " + year;
+            }
+            return "Period " + periodNumber + " " + year;
+        }
+    }
+
+    /**
+     * Periods of one business ordered by start date (periods do not overlap,
+     * so end dates are ordered too).
+     */
+    private record Periods(PeriodEntry[] entries) {
+
+        Optional<PeriodEntry> firstOpenOnOrAfter(LocalDate date) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid].endDate().isBefore(date)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < entries.length; i++) {
+                if (entries[i].status() == FiscalPeriodStatus.OPEN) {
+                    return Optional.of(entries[i]);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    // =============================
+    // =   Lookups                 =
+    // =============================
+
+    /**
+     * Find the first OPEN period on or after a date.
+     * Same semantics as FiscalPeriod.findFirstOpenOnOrAfter().
+     */
+    public Optional<PeriodEntry> findFirstOpenOnOrAfter(Long businessId, LocalDate date) {
+        return periods(businessId).firstOpenOnOrAfter(date);
+    }
+
+    // =============================
+    // =   Invalidation            =
+    // =============================
+
+    /**
+     * Drop the cached calendar of a business in the current tenant.
+     */
+    public void invalidate(Long businessId) {
+        Key key = new Key(currentTenant(), businessId);
+        evict(key);
+        transactionCallbacks.afterCompletion(() -> evict(key));
+        invalidationBus.publish(key.tenant(), NOTICE_ENTITY, businessId);
+    }
+
+    /**
+     * Drop every cached calendar.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        calendars.clear();
+    }
+
+    /**
+     * Change made on another node.
+     */
+    void onInvalidation(@Observes InvalidationBus.Notice notice) {
+        if (notice.isFlush()) {
+            invalidateAll();
+        } else if (notice.isFor(NOTICE_ENTITY) && notice.id() != null) {
+            evict(new Key(notice.tenant(), Long.valueOf(notice.id())));
+        }
+    }
+
+    private void evict(Key key) {
+        invalidations.incrementAndGet();
+        calendars.remove(key);
+    }
+
+    // =============================
+    // =   Loading                 =
+    // =============================
+
+    private Periods periods(Long businessId) {
+        Key key = new Key(currentTenant(), businessId);
+        Periods cached = calendars.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long seen = invalidations.get();
+        Periods loaded = load(businessId);
+        if (invalidations.get() == seen) {
+            calendars.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    private Periods load(Long businessId) {
+        List<FiscalPeriod> periods = em.createQuery(
+                        "select p from FiscalPeriod p join fetch p.fiscalYear y " +
+                        "where y.business.id = ?1 order by p.startDate", FiscalPeriod.class)
+                .setParameter(1, businessId)
+                .getResultList();
+
+        return new Periods(periods.stream()
+                .map(p -> new PeriodEntry(
+                        p.id,
+                        p.fiscalYear.id,
+                        p.fiscalYear.year,
+                        p.periodNumber,
+                        p.startDate,
+                        p.endDate,
+                        p.status,
+                        p.fiscalYear.status))
+                .toArray(PeriodEntry[]::new));
+    }
+
+    private String currentTenant() {
+        return String.valueOf(em.unwrap(Session.class).getTenantIdentifierValue());
+    }
+}
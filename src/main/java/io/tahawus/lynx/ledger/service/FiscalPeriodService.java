@@ -8,6 +8,7 @@ import io.tahawus.lynx.ledger.model.FiscalPeriodStatus;
 import io.tahawus.lynx.ledger.model.FiscalYear;
 import io.tahawus.lynx.ledger.model.FiscalYearStatus;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 
@@ -23,6 +24,9 @@ import java.util.Optional;
 @ApplicationScoped
 public class FiscalPeriodService {
 
+    @Inject
+    FiscalCalendar fiscalCalendar;
+
     public List<FiscalPeriodDto> listByFiscalYear(Long fiscalYearId) {
         FiscalYear fiscalYear = requireFiscalYear(fiscalYearId);
         return FiscalPeriodMapper.toDtoList(FiscalPeriod.listByFiscalYear(fiscalYear));
@@ -48,6 +52,7 @@ public class FiscalPeriodService {
 
         FiscalPeriod period = FiscalPeriodMapper.fromCreateDto(dto, fiscalYear);
         period.persist();
+        fiscalCalendar.invalidate(fiscalYear.business.id);
         return FiscalPeriodMapper.toDto(period);
     }
 
@@ -85,6 +90,7 @@ public class FiscalPeriodService {
 
             periodStart = periodEnd.plusDays(1);
         }
+        fiscalCalendar.invalidate(fiscalYear.business.id);
 
         return FiscalPeriodMapper.toDtoList(periods);
     }
@@ -104,6 +110,7 @@ public class FiscalPeriodService {
         }
 
         period.status = FiscalPeriodStatus.CLOSED;
+        fiscalCalendar.invalidate(period.fiscalYear.business.id);
         return FiscalPeriodMapper.toDto(period);
     }
 
@@ -126,6 +133,7 @@ public class FiscalPeriodService {
         }
 
         period.status = FiscalPeriodStatus.OPEN;
+        fiscalCalendar.invalidate(period.fiscalYear.business.id);
         return FiscalPeriodMapper.toDto(period);
     }
 
@@ -9,6 +9,7 @@ import io.tahawus.lynx.ledger.model.FiscalPeriodStatus;
 import io.tahawus.lynx.ledger.model.FiscalYear;
 import io.tahawus.lynx.ledger.model.FiscalYearStatus;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 
@@ -21,6 +22,9 @@ import java.util.Optional;
 @ApplicationScoped
 public class FiscalYearService {
 
+    @Inject
+    FiscalCalendar fiscalCalendar;
+
     public List<FiscalYearDto> listByBusiness(Long businessId) {
         Business business = requireBusiness(businessId);
         return FiscalYearMapper.toDtoList(FiscalYear.listByBusiness(business));
@@ -78,6 +82,7 @@ public class FiscalYearService {
         }
 
         fiscalYear.status = FiscalYearStatus.CLOSING;
+        fiscalCalendar.invalidate(fiscalYear.business.id);
         return FiscalYearMapper.toDto(fiscalYear);
     }
 
@@ -98,6 +103,7 @@ public class FiscalYearService {
         }
 
         fiscalYear.status = FiscalYearStatus.CLOSED;
+        fiscalCalendar.invalidate(fiscalYear.business.id);
         return FiscalYearMapper.toDto(fiscalYear);
     }
 
@@ -1,29 +1,88 @@
 package io.tahawus.lynx.ledger.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.model.TableSequenceGenerator;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
+import io.tahawus.lynx.core.util.KeysetCursor;
+import io.tahawus.lynx.ledger.dto.JournalBatchResultDto;
 import io.tahawus.lynx.ledger.dto.JournalCreateDto;
+import io.tahawus.lynx.ledger.dto.JournalIntegrityReportDto;
+import io.tahawus.lynx.ledger.dto.JournalSummaryDto;
+import io.tahawus.lynx.ledger.mapper.JournalMapper;
 import io.tahawus.lynx.ledger.model.*;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
 
-import java.util.Optional;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * JournalService - The ONE entry point for Journal creation.
  *
  * Documents module calls create() to post entries to the ledger.
  * This service handles:
- * - Fiscal period lookup
+ * - Fiscal period lookup (FiscalCalendar)
  * - Posting date computation
  * - Validation (balanced, period open, CE rules)
  * - Persistence
+ * - Ledger period balance rollup (same transaction)
+ * - Integrity check of stored journal totals
  *
  * @author Dan Pasco
  */
 @ApplicationScoped
 public class JournalService {
 
+    private static final Logger LOG = Logger.getLogger(JournalService.class);
+
+    /**
+     * Maximum statements per JDBC batch execution.
+     */
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String INSERT_JOURNAL_SQL = """
+            insert into journal (id, business_id, fiscal_period_id, journal_type, entry_date, posting_date,
+                                 document_id, reference, description, reverses_journal_id, created_at,
+                                 total_debits, total_credits, line_count)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_JOURNAL_LINE_SQL = """
+            insert into journal_line (id, journal_id, line_number, account_id, entry_type, amount, description)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    FiscalCalendar fiscalCalendar;
+
+    @Inject
+    NdjsonStreamer ndjson;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Create a journal entry.
      *
@@ -43,16 +102,10 @@ public class JournalService {
         }
 
         // Find fiscal period for posting
-        FiscalPeriod fiscalPeriod = findFiscalPeriodForPosting(business, dto.entryDate());
+        FiscalCalendar.PeriodEntry fiscalPeriod = findFiscalPeriodForPosting(business.id, dto.entryDate());
 
         // Validate CE constraint
-        if (dto.journalType() == JournalType.CE) {
-            if (fiscalPeriod.fiscalYear.status != FiscalYearStatus.CLOSING) {
-                throw new IllegalStateException(
-                        "Closing entries (CE) only allowed when fiscal year is CLOSING. " +
-                        "Current status: " + fiscalPeriod.fiscalYear.status);
-            }
-        }
+        validateClosingEntry(dto, fiscalPeriod);
 
         // Validate balance
         if (!dto.isBalanced()) {
@@ -64,10 +117,10 @@ public class JournalService {
         // Create journal
         Journal journal = new Journal();
         journal.business = business;
-        journal.fiscalPeriod = fiscalPeriod;
+        journal.fiscalPeriod = em.getReference(FiscalPeriod.class, fiscalPeriod.periodId());
         journal.journalType = dto.journalType();
         journal.entryDate = dto.entryDate();
-        journal.postingDate = fiscalPeriod.startDate;
+        journal.postingDate = fiscalPeriod.startDate();
         journal.documentId = dto.documentId();
         journal.reference = dto.reference();
         journal.description = dto.description();
@@ -96,15 +149,366 @@ public class JournalService {
         // Persist (triggers @PrePersist validation in Journal)
         journal.persist();
 
+        // Roll the lines into ledger_period_balance in the same transaction
+        LedgerPeriodBalance.accumulate(journal);
+
         return journal;
     }
 
+    // =============================
+    // =   Queries                 =
+    // =============================
+
+    /**
+     * One keyset page of a business's journals, newest posting date first.
+     *
+     * @param cursor next cursor from the previous page, or null for the first page
+     */
+    public KeysetPage<JournalSummaryDto> list(Long businessId, String cursor, Integer limit) {
+        int pageSize = KeysetPage.limit(limit);
+        List<Journal> rows = Journal.listPageByBusiness(businessId, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetPage.of(rows, pageSize, JournalMapper::toSummaryDto, j -> KeysetCursor.of(j.postingDate, j.id));
+    }
+
+    /**
+     * Every journal of a business as NDJSON, newest first.
+     */
+    public StreamingOutput stream(Long businessId) {
+        return ndjson.stream(() -> Journal.findByBusinessId(businessId), JournalMapper::toSummaryDto);
+    }
+
+    // =============================
+    // =   Integrity               =
+    // =============================
+
+    /**
+     * Verify the stored header totals (totalDebits, totalCredits, lineCount) of
+     * every journal of a business against its journal_line rows. One aggregate
+     * query; lines are not loaded as entities.
+     */
+    public JournalIntegrityReportDto checkIntegrity(Long businessId) {
+        long checked = Journal.count("business.id", businessId);
+
+        List<JournalIntegrityReportDto.Mismatch> mismatches = em.createQuery("""
+                        select j.id, j.totalDebits, j.totalCredits, j.lineCount,
+                               coalesce(sum(case when l.entryType = :debit then l.amount end), 0),
+                               coalesce(sum(case when l.entryType = :credit then l.amount end), 0),
+                               count(l.id)
+                        from Journal j left join j.lines l
+                        where j.business.id = :businessId
+                        group by j.id, j.totalDebits, j.totalCredits, j.lineCount
+                        having j.totalDebits <> coalesce(sum(case when l.entryType = :debit then l.amount end), 0)
+                            or j.totalCredits <> coalesce(sum(case when l.entryType = :credit then l.amount end), 0)
+                            or j.lineCount <> count(l.id)
+                        order by j.id
+                        """, Object[].class)
+                .setParameter("businessId", businessId)
+                .setParameter("debit", EntryType.DEBIT)
+                .setParameter("credit", EntryType.CREDIT)
+                .getResultStream()
+                .map(row -> new JournalIntegrityReportDto.Mismatch(
+                        (Long) row[0],
+                        (BigDecimal) row[1],
+                        (BigDecimal) row[2],
+                        (Integer) row[3],
+                        (BigDecimal) row[4],
+                        (BigDecimal) row[5],
+                        ((Long) row[6]).intValue()))
+                .toList();
+
+        if (!mismatches.isEmpty()) {
+            LOG.warnf("%d of %d journals of business %d have header totals that disagree with their lines",
+                    mismatches.size(), checked, businessId);
+        }
+        return new JournalIntegrityReportDto(businessId, checked, mismatches);
+    }
+
+    // =============================
+    // =   Batch Posting           =
+    // =============================
+
+    /**
+     * Create many journal entries in one transaction.
+     *
+     * Same rules as create(), but built for month-end imports:
+     * - Businesses, accounts and reversed journals are loaded once; periods come from FiscalCalendar
+     * - Ids are allocated in pooled blocks from the table sequences
+     * - Headers, lines and period rollups are written with JDBC batches
+     *
+     * Items are taken as raw JSON and converted one by one, so an item that
+     * JournalCreateDto rejects (a null accountId, a non-positive amount) or
+     * that does not parse fails on its own. Items failing conversion or
+     * validation are reported in the result and skipped; the rest of the batch
+     * is still posted. Results are in submission order.
+     *
+     * @param items Journal creation data, one JSON object per journal
+     * @return One result per submitted item
+     */
+    @Transactional
+    public List<JournalBatchResultDto> createBatch(List<JsonNode> items) {
+        JournalBatchResultDto[] results = new JournalBatchResultDto[items.size()];
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<JournalCreateDto> dtos = convertBatch(items, results);
+
+        // Resolve everything the batch references up front
+        Set<Long> businessIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(JournalCreateDto::businessId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Business> businesses = businessIds.isEmpty() ? Map.of() :
+                Business.<Business>list("id in ?1", businessIds).stream()
+                        .collect(Collectors.toMap(b -> b.id, b -> b));
+
+        Set<Long> accountIds = dtos.stream()
+                .filter(dto -> dto != null && dto.lines() != null)
+                .flatMap(dto -> dto.lines().stream())
+                .filter(Objects::nonNull)
+                .map(JournalCreateDto.Line::accountId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Long> accountBusiness = accountIds.isEmpty() ? Map.of() :
+                em.createQuery("select a.id, a.business.id from GeneralLedgerAccount a where a.id in ?1", Object[].class)
+                        .setParameter(1, accountIds)
+                        .getResultStream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        Set<Long> reversesIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(JournalCreateDto::reversesJournalId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingJournals = reversesIds.isEmpty() ? Set.of() :
+                new HashSet<>(em.createQuery("select j.id from Journal j where j.id in ?1", Long.class)
+                        .setParameter(1, reversesIds)
+                        .getResultList());
+
+        List<PendingJournal> pending = validateBatch(dtos,
+                new BatchReferences(businesses, accountBusiness, existingJournals), results);
+
+        if (!pending.isEmpty()) {
+            em.flush();
+            em.unwrap(Session.class).doWork(connection -> writeBatch(connection, pending));
+            for (PendingJournal p : pending) {
+                results[p.index()] = JournalBatchResultDto.created(p.index(), p.id);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * What a batch references, loaded once for all items.
+     *
+     * @param accountBusiness G/L account id -> business id
+     */
+    record BatchReferences(
+            Map<Long, Business> businesses,
+            Map<Long, Long> accountBusiness,
+            Set<Long> existingJournals
+    ) {}
+
+    /**
+     * Convert each item on its own. An item that cannot be converted gets a
+     * rejected result.
+     *
+     * @return the items in submission order; null where conversion failed
+     */
+    List<JournalCreateDto> convertBatch(List<JsonNode> items, JournalBatchResultDto[] results) {
+        List<JournalCreateDto> dtos = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            JsonNode item = items.get(i);
+            JournalCreateDto dto = null;
+            if (item != null && !item.isNull()) {
+                try {
+                    dto = objectMapper.treeToValue(item, JournalCreateDto.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    results[i] = JournalBatchResultDto.rejected(i, conversionError(e));
+                }
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * The DTO's own message when its constructor rejected the item, else
+     * Jackson's message without the source location.
+     */
+    private static String conversionError(Exception e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        if (root instanceof IllegalArgumentException && root.getMessage() != null) {
+            return root.getMessage();
+        }
+        if (e instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Validate each item on its own. A failing item gets a rejected result and
+     * never aborts the batch, whatever the failure. Items already rejected
+     * (results[i] set) are skipped.
+     *
+     * @return the valid items, in submission order
+     */
+    List<PendingJournal> validateBatch(List<JournalCreateDto> dtos,
+                                       BatchReferences references,
+                                       JournalBatchResultDto[] results) {
+        List<PendingJournal> pending = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            try {
+                pending.add(validateBatchItem(i, dtos.get(i), references));
+            } catch (RuntimeException e) {
+                String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                results[i] = JournalBatchResultDto.rejected(i, message);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * A validated batch item waiting for its id.
+     */
+    static final class PendingJournal {
+        private final int index;
+        private final JournalCreateDto dto;
+        private final FiscalCalendar.PeriodEntry fiscalPeriod;
+        private Long id;
+
+        PendingJournal(int index, JournalCreateDto dto, FiscalCalendar.PeriodEntry fiscalPeriod) {
+            this.index = index;
+            this.dto = dto;
+            this.fiscalPeriod = fiscalPeriod;
+        }
+
+        int index() {
+            return index;
+        }
+    }
+
+    private PendingJournal validateBatchItem(int index, JournalCreateDto dto, BatchReferences references) {
+        if (dto == null) {
+            throw new IllegalStateException("Journal entry is required");
+        }
+        if (dto.lines() == null || dto.lines().isEmpty()) {
+            throw new IllegalStateException("at least one line is required");
+        }
+        for (JournalCreateDto.Line line : dto.lines()) {
+            if (line == null) {
+                throw new IllegalStateException("Journal lines cannot be null");
+            }
+        }
+
+        Business business = references.businesses().get(dto.businessId());
+        if (business == null) {
+            throw new NotFoundException("Business not found: " + dto.businessId());
+        }
+
+        FiscalCalendar.PeriodEntry fiscalPeriod = findFiscalPeriodForPosting(business.id, dto.entryDate());
+        validateClosingEntry(dto, fiscalPeriod);
+
+        if (!dto.isBalanced()) {
+            throw new IllegalStateException(
+                    "Journal entry must be balanced. Debits: " + dto.getTotalDebits() +
+                    ", Credits: " + dto.getTotalCredits());
+        }
+
+        if (dto.description() == null || dto.description().isBlank()) {
+            throw new IllegalStateException("description is required");
+        }
+
+        for (JournalCreateDto.Line line : dto.lines()) {
+            if (!business.id.equals(references.accountBusiness().get(line.accountId()))) {
+                throw new NotFoundException("Account not found for business: " + line.accountId());
+            }
+        }
+
+        if (dto.reversesJournalId() != null && !references.existingJournals().contains(dto.reversesJournalId())) {
+            throw new NotFoundException("Reverses journal not found: " + dto.reversesJournalId());
+        }
+
+        return new PendingJournal(index, dto, fiscalPeriod);
+    }
+
+    private void writeBatch(Connection connection, List<PendingJournal> pending) throws SQLException {
+        int lineCount = pending.stream().mapToInt(p -> p.dto.lines().size()).sum();
+        long[] journalIds = TableSequenceGenerator.allocate(connection, "journal", pending.size());
+        long[] lineIds = TableSequenceGenerator.allocate(connection, "journal_line", lineCount);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_JOURNAL_SQL)) {
+            int count = 0;
+            for (PendingJournal p : pending) {
+                JournalCreateDto dto = p.dto;
+                p.id = journalIds[count];
+                ps.setLong(1, p.id);
+                ps.setLong(2, dto.businessId());
+                ps.setLong(3, p.fiscalPeriod.periodId());
+                ps.setString(4, dto.journalType().name());
+                ps.setDate(5, Date.valueOf(dto.entryDate()));
+                ps.setDate(6, Date.valueOf(p.fiscalPeriod.startDate()));
+                ps.setLong(7, dto.documentId());
+                ps.setString(8, dto.reference());
+                ps.setString(9, dto.description());
+                if (dto.reversesJournalId() != null) {
+                    ps.setLong(10, dto.reversesJournalId());
+                } else {
+                    ps.setNull(10, Types.BIGINT);
+                }
+                ps.setTimestamp(11, now);
+                ps.setBigDecimal(12, dto.getTotalDebits());
+                ps.setBigDecimal(13, dto.getTotalCredits());
+                ps.setInt(14, dto.lines().size());
+                ps.addBatch();
+                if (++count % JDBC_BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+
+        LedgerPeriodBalance.Accumulator rollup = new LedgerPeriodBalance.Accumulator();
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_JOURNAL_LINE_SQL)) {
+            int count = 0;
+            for (PendingJournal p : pending) {
+                int lineNumber = 1;
+                for (JournalCreateDto.Line line : p.dto.lines()) {
+                    ps.setLong(1, lineIds[count]);
+                    ps.setLong(2, p.id);
+                    ps.setInt(3, lineNumber++);
+                    ps.setLong(4, line.accountId());
+                    ps.setString(5, line.entryType().name());
+                    ps.setBigDecimal(6, line.amount());
+                    ps.setString(7, line.description());
+                    ps.addBatch();
+                    rollup.add(p.fiscalPeriod.periodId(), line.accountId(), line.entryType(), line.amount());
+                    if (++count % JDBC_BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+
+        rollup.apply(connection);
+    }
+
     /**
      * Find the fiscal period for posting.
-     * Returns the first OPEN period on or after the entry date.
+     * Returns the first OPEN period on or after the entry date, from the FiscalCalendar.
      */
-    private FiscalPeriod findFiscalPeriodForPosting(Business business, java.time.LocalDate entryDate) {
-        Optional<FiscalPeriod> periodOpt = FiscalPeriod.findFirstOpenOnOrAfter(business, entryDate);
+    private FiscalCalendar.PeriodEntry findFiscalPeriodForPosting(Long businessId, LocalDate entryDate) {
+        Optional<FiscalCalendar.PeriodEntry> periodOpt = fiscalCalendar.findFirstOpenOnOrAfter(businessId, entryDate);
 
         if (periodOpt.isEmpty()) {
             throw new IllegalStateException(
@@ -112,14 +516,25 @@ public class JournalService {
                     ". Ensure fiscal year and periods are set up.");
         }
 
-        FiscalPeriod period = periodOpt.get();
+        FiscalCalendar.PeriodEntry period = periodOpt.get();
 
         if (!period.canAcceptEntries()) {
             throw new IllegalStateException(
                     "Fiscal period " + period.getDisplayName() + " cannot accept entries. " +
-                    "Period status: " + period.status + ", Year status: " + period.fiscalYear.status);
+                    "Period status: " + period.status() + ", Year status: " + period.yearStatus());
         }
 
         return period;
     }
+
+    /**
+     * Closing entries (CE) are only allowed while the fiscal year is CLOSING.
+     */
+    private void validateClosingEntry(JournalCreateDto dto, FiscalCalendar.PeriodEntry period) {
+        if (dto.journalType() == JournalType.CE && period.yearStatus() != FiscalYearStatus.CLOSING) {
+            throw new IllegalStateException(
+                    "Closing entries (CE) only allowed when fiscal year is CLOSING. " +
+                    "Current status: " + period.yearStatus());
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package io.tahawus.lynx.ledger.service;
+
+import io.tahawus.lynx.accounts.model.AccountType;
+import io.tahawus.lynx.ledger.dto.TrialBalanceDto;
+import io.tahawus.lynx.ledger.model.FiscalYear;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.NotFoundException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * TrialBalanceService - Set-based balances for every account in a fiscal year.
+ *
+ * Computes opening balance, activity and closing balance for all accounts with a
+ * single grouped SQL statement:
+ * - Completed periods (ending on or before asOf) come from ledger_period_balance
+ * - The period containing asOf is aggregated from journal_line joined to journal
+ *
+ * No Ledger or JournalLine entities are materialized.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class TrialBalanceService {
+
+    /**
+     * AccountType is stored as a string; order by its statement number instead.
+     */
+    private static final String ACCOUNT_TYPE_ORDER = Arrays.stream(AccountType.values())
+            .map(t -> "when '" + t.name() + "' then " + t.getNumber())
+            .collect(Collectors.joining(" ", "case g.account_type ", " end"));
+
+    private static final String TRIAL_BALANCE_SQL = """
+            with activity as (
+                select b.account_id, sum(b.debit_total - b.credit_total) as amount
+                from ledger_period_balance b
+                join fiscal_period p on p.id = b.fiscal_period_id
+                where p.fiscal_year_id = :fiscalYearId
+                  and p.end_date <= :asOf
+                group by b.account_id
+                union all
+                select l.account_id,
+                       sum(case when l.entry_type = 'DEBIT' then l.amount else -l.amount end) as amount
+                from journal_line l
+                join journal j on j.id = l.journal_id
+                join fiscal_period p on p.id = j.fiscal_period_id
+                where p.fiscal_year_id = :fiscalYearId
+                  and p.start_date <= :asOf
+                  and p.end_date > :asOf
+                  and j.posting_date <= :asOf
+                group by l.account_id
+            ),
+            totals as (
+                select account_id, sum(amount) as amount
+                from activity
+                group by account_id
+            )
+            select a.id,
+                   g.account_type,
+                   g.group_number,
+                   a.account_number,
+                   a.short_code,
+                   a.name,
+                   coalesce(lg.opening_balance, 0) as opening_balance,
+                   coalesce(t.amount, 0) as activity
+            from general_ledger_account a
+            join account_group g on g.id = a.account_group_id
+            left join ledger lg on lg.account_id = a.id and lg.fiscal_year_id = :fiscalYearId
+            left join totals t on t.account_id = a.id
+            where a.business_id = :businessId
+              and (a.is_active or lg.id is not null or t.account_id is not null)
+            order by %s, g.display_order, a.account_number
+            """.formatted(ACCOUNT_TYPE_ORDER);
+
+    @Inject
+    EntityManager em;
+
+    /**
+     * Compute the trial balance for a fiscal year.
+     *
+     * @param fiscalYearId Fiscal year
+     * @param asOf Balance date; defaults to the fiscal year end date
+     */
+    public TrialBalanceDto getTrialBalance(Long fiscalYearId, LocalDate asOf) {
+        FiscalYear fiscalYear = FiscalYear.findById(fiscalYearId);
+        if (fiscalYear == null) {
+            throw new NotFoundException("FiscalYear not found: " + fiscalYearId);
+        }
+
+        LocalDate asOfDate = asOf != null ? asOf : fiscalYear.endDate;
+        if (asOfDate.isBefore(fiscalYear.startDate) || asOfDate.isAfter(fiscalYear.endDate)) {
+            throw new IllegalArgumentException("asOf " + asOfDate + " is outside fiscal year " + fiscalYear.year);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(TRIAL_BALANCE_SQL)
+                .setParameter("fiscalYearId", fiscalYear.id)
+                .setParameter("businessId", fiscalYear.business.id)
+                .setParameter("asOf", asOfDate)
+                .getResultList();
+
+        List<TrialBalanceDto.Line> lines = new ArrayList<>(rows.size());
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+
+        for (Object[] row : rows) {
+            AccountType accountType = AccountType.valueOf((String) row[1]);
+            BigDecimal opening = (BigDecimal) row[6];
+            BigDecimal activity = (BigDecimal) row[7];
+            BigDecimal closing = opening.add(activity);
+
+            lines.add(new TrialBalanceDto.Line(
+                    ((Number) row[0]).longValue(),
+                    String.format("%02d.%02d.%04d", accountType.getNumber(),
+                            ((Number) row[2]).intValue(), ((Number) row[3]).intValue()),
+                    (String) row[4],
+                    (String) row[5],
+                    accountType,
+                    opening,
+                    activity,
+                    closing
+            ));
+
+            if (closing.signum() > 0) {
+                totalDebits = totalDebits.add(closing);
+            } else {
+                totalCredits = totalCredits.add(closing.negate());
+            }
+        }
+
+        return new TrialBalanceDto(
+                fiscalYear.id,
+                fiscalYear.year,
+                asOfDate,
+                lines,
+                totalDebits,
+                totalCredits,
+                totalDebits.compareTo(totalCredits) == 0
+        );
+    }
+}
@@ -1,22 +1,30 @@
 package io.tahawus.lynx.operations.api;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
 import io.tahawus.lynx.operations.dto.DisposalTicketCreateDto;
 import io.tahawus.lynx.operations.dto.DisposalTicketDto;
 import io.tahawus.lynx.operations.dto.DisposalTicketUpdateDto;
 import io.tahawus.lynx.operations.model.DisposalTicket;
 import io.tahawus.lynx.operations.model.OperationStatus;
+import io.tahawus.lynx.operations.service.DisposalTicketPdfCache;
 import io.tahawus.lynx.operations.service.DisposalTicketPdfService;
 import io.tahawus.lynx.operations.service.DisposalTicketService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @Path("/disposal-tickets")
@@ -30,6 +38,10 @@ public class DisposalTicketResource {
     @Inject
     DisposalTicketPdfService pdfService;
 
+    @Inject
+    DisposalTicketPdfCache pdfCache;
+
+    @RunOnVirtualThread
     @POST
     public Response create(@Valid DisposalTicketCreateDto dto, @Context UriInfo uriInfo) {
         DisposalTicketDto created = service.create(dto);
@@ -38,36 +50,68 @@ public class DisposalTicketResource {
         return Response.created(location).entity(created).build();
     }
 
+    @RunOnVirtualThread
+    @POST
+    @Path("/batch")
+    public List<DisposalTicketDto> createBatch(@Valid List<DisposalTicketCreateDto> dtos) {
+        return service.create(dtos);
+    }
+
+    @RunOnVirtualThread
     @GET
     @Path("/{id}")
     public Response get(@PathParam("id") Long id) {
         return Response.ok(service.getRequired(id)).build();
     }
 
+    /**
+     * Keyset-paginated list, newest ticket number first.
+     * Pass the returned next cursor to get the following page.
+     */
+    @RunOnVirtualThread
     @GET
     public Response list(
             @QueryParam("businessId") Long businessId,
-            @QueryParam("status") String statusParam
+            @QueryParam("status") String statusParam,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit
     ) {
-        List<DisposalTicketDto> tickets;
-
-        if (businessId != null && statusParam != null) {
-            OperationStatus status = OperationStatus.valueOf(statusParam.toUpperCase());
-            tickets = service.listByBusinessAndStatus(businessId, status);
-        } else if (businessId != null) {
-            tickets = service.listByBusiness(businessId);
-        } else if (statusParam != null) {
-            OperationStatus status = OperationStatus.valueOf(statusParam.toUpperCase());
-            tickets = service.listByStatus(status);
-        } else {
+        if (businessId == null && statusParam == null) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse("businessId or status required"))
                     .build();
         }
 
-        return Response.ok(tickets).build();
+        OperationStatus status = statusParam != null
+                ? OperationStatus.valueOf(statusParam.toUpperCase())
+                : null;
+
+        return Response.ok(service.list(businessId, status, cursor, limit)).build();
+    }
+
+    /**
+     * Full list as newline-delimited JSON, for exports and syncs.
+     * Selected with Accept: application/x-ndjson.
+     */
+    @RunOnVirtualThread
+    @GET
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    public Response listNdjson(
+            @QueryParam("businessId") Long businessId,
+            @QueryParam("status") String statusParam
+    ) {
+        if (businessId == null && statusParam == null) {
+            throw new BadRequestException("businessId or status required");
+        }
+
+        OperationStatus status = statusParam != null
+                ? OperationStatus.valueOf(statusParam.toUpperCase())
+                : null;
+
+        return Response.ok(service.stream(businessId, status)).build();
     }
 
+    @RunOnVirtualThread
     @GET
     @Path("/ready-to-invoice")
     public Response listReadyToInvoice(@QueryParam("businessId") Long businessId) {
@@ -79,12 +123,14 @@ public class DisposalTicketResource {
         return Response.ok(service.listReadyToInvoice(businessId)).build();
     }
 
+    @RunOnVirtualThread
     @PUT
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, @Valid DisposalTicketUpdateDto dto) {
         return Response.ok(service.update(id, dto)).build();
     }
 
+    @RunOnVirtualThread
     @DELETE
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
@@ -99,6 +145,7 @@ public class DisposalTicketResource {
     /**
      * Process the ticket. OPEN → PROCESSED.
      */
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/process")
     public Response process(@PathParam("id") Long id) {
@@ -108,6 +155,7 @@ public class DisposalTicketResource {
     /**
      * Revert to OPEN. PROCESSED → OPEN.
      */
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/revert")
     public Response revert(@PathParam("id") Long id) {
@@ -117,6 +165,7 @@ public class DisposalTicketResource {
     /**
      * Void the ticket.
      */
+    @RunOnVirtualThread
     @POST
     @Path("/{id}/void")
     public Response voidTicket(@PathParam("id") Long id) {
@@ -127,10 +176,41 @@ public class DisposalTicketResource {
     // =   PDF Generation          =
     // =============================
 
+    /**
+     * All tickets of a business for a date range and/or contact (trucking or oil
+     * company) merged into one PDF, one page per ticket, oldest first.
+     * Dates are inclusive ISO dates.
+     */
+    @RunOnVirtualThread
+    @GET
+    @Path("/manifest")
+    @Produces("application/pdf")
+    public Response downloadManifest(
+            @QueryParam("businessId") Long businessId,
+            @QueryParam("from") LocalDate from,
+            @QueryParam("to") LocalDate to,
+            @QueryParam("contactId") Long contactId
+    ) {
+        StreamingOutput pdf = service.manifest(businessId, from, to, contactId);
+        String filename = String.format("disposal-tickets-%d-%s.pdf", businessId,
+                from != null ? from : LocalDate.now());
+        return Response.ok(pdf)
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .build();
+    }
+
+    /**
+     * Ticket PDF. PROCESSED and COMPLETED tickets are served from the disk cache
+     * as a file (zero-copy), with the cached file's version as ETag, and honor
+     * If-None-Match. Other statuses are rendered on every request with current
+     * branding and contact data, which do not change the ticket's version, so
+     * they get no ETag and are not stored by clients.
+     */
+    @RunOnVirtualThread
     @GET
     @Path("/{id}/pdf")
     @Produces("application/pdf")
-    public Response downloadPdf(@PathParam("id") Long id) {
+    public Response downloadPdf(@PathParam("id") Long id, @Context Request request) {
         DisposalTicket ticket = DisposalTicket.findById(id);
         if (ticket == null) {
             return Response.status(Response.Status.NOT_FOUND)
@@ -139,11 +219,32 @@ public class DisposalTicketResource {
                     .build();
         }
 
+        boolean cacheable = DisposalTicketPdfCache.isCacheable(ticket);
+        EntityTag etag = cacheable ? new EntityTag(DisposalTicketPdfCache.version(ticket)) : null;
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        if (cacheable) {
+            cacheControl.setNoCache(true);
+        } else {
+            cacheControl.setNoStore(true);
+        }
+
+        if (cacheable) {
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.cacheControl(cacheControl).build();
+            }
+        }
+
         try {
-            byte[] pdfBytes = pdfService.generatePdf(ticket);
+            Object body = cacheable
+                    ? pdfCache.getOrRender(ticket, () -> pdfService.generatePdf(ticket))
+                    : pdfService.generatePdf(ticket);
             String filename = String.format("disposal-ticket-%d.pdf", ticket.ticketNumber);
 
-            return Response.ok(pdfBytes)
+            return Response.ok(body)
+                    .tag(etag)
+                    .cacheControl(cacheControl)
                     .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
                     .build();
 
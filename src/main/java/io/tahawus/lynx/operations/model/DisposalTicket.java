@@ -1,14 +1,20 @@
 package io.tahawus.lynx.operations.model;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.contacts.model.Contact;
 import io.tahawus.lynx.core.model.AuditableEntity;
+import io.tahawus.lynx.core.model.NumberSequenceMode;
+import io.tahawus.lynx.core.util.KeysetCursor;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -49,6 +55,11 @@ public class DisposalTicket extends AuditableEntity implements BusinessOperation
 
     public static final String SEQUENCE_KEY = "DISPOSAL_TICKET";
 
+    /**
+     * Scale-house ticket numbers do not need to be gapless.
+     */
+    public static final NumberSequenceMode SEQUENCE_MODE = NumberSequenceMode.LEASED;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "business_id", nullable = false)
     public Business business;
@@ -302,6 +313,42 @@ public class DisposalTicket extends AuditableEntity implements BusinessOperation
         return listProcessed(businessId);
     }
 
+    /**
+     * Keyset page in (ticketNumber desc, id desc) order. businessId and status
+     * are optional filters. Returns up to limit + 1 rows (see KeysetPage.of).
+     */
+    public static List<DisposalTicket> listPage(Long businessId, OperationStatus status, KeysetCursor after, int limit) {
+        return filtered(businessId, status, after).range(0, limit).list();
+    }
+
+    /**
+     * Every ticket matching the optional filters, in list order (for streaming exports).
+     */
+    public static PanacheQuery<DisposalTicket> findFiltered(Long businessId, OperationStatus status) {
+        return filtered(businessId, status, null);
+    }
+
+    private static PanacheQuery<DisposalTicket> filtered(Long businessId, OperationStatus status, KeysetCursor after) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (businessId != null) {
+            where.add("business.id = :businessId");
+            params.put("businessId", businessId);
+        }
+        if (status != null) {
+            where.add("status = :status");
+            params.put("status", status);
+        }
+        if (after != null) {
+            where.add(KeysetCursor.descending("ticketNumber"));
+            params.put("afterKey", after.longKey());
+            params.put("afterId", after.id());
+        }
+        String query = (where.isEmpty() ? "" : String.join(" and ", where) + " ") +
+                "order by ticketNumber desc, id desc";
+        return find(query, params);
+    }
+
     public static Optional<DisposalTicket> findByTicketNumber(Long businessId, Long ticketNumber) {
         return find("business.id = ?1 and ticketNumber = ?2", businessId, ticketNumber)
                 .firstResultOptional();
@@ -316,6 +363,30 @@ public class DisposalTicket extends AuditableEntity implements BusinessOperation
         return list("truckingCompany = ?1 or oilCompany = ?1 order by ticketNumber desc", contact);
     }
 
+    /**
+     * Tickets of a business for a printed manifest, oldest first. Date range and
+     * contact (trucking or oil company) are optional; both bounds of the range are inclusive.
+     */
+    public static PanacheQuery<DisposalTicket> findManifest(Long businessId, LocalDate startDate, LocalDate endDate, Long contactId) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        where.add("business.id = :businessId");
+        params.put("businessId", businessId);
+        if (startDate != null) {
+            where.add("ticketDate >= :startDate");
+            params.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            where.add("ticketDate <= :endDate");
+            params.put("endDate", endDate);
+        }
+        if (contactId != null) {
+            where.add("(truckingCompany.id = :contactId or oilCompany.id = :contactId)");
+            params.put("contactId", contactId);
+        }
+        return find(String.join(" and ", where) + " order by ticketDate, ticketNumber, id", params);
+    }
+
     public static List<DisposalTicket> findByInvoice(Long invoiceId) {
         return list("invoiceId = ?1 order by ticketNumber desc", invoiceId);
     }
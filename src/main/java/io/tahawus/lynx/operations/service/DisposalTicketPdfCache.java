@@ -0,0 +1,271 @@
+package io.tahawus.lynx.operations.service;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import io.tahawus.lynx.core.service.TransactionCallbacks;
+import io.tahawus.lynx.operations.model.DisposalTicket;
+import io.tahawus.lynx.operations.model.OperationStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * DisposalTicketPdfCache - Rendered ticket PDFs on local disk.
+ *
+ * PROCESSED and COMPLETED tickets no longer change, so their PDF is rendered
+ * once and served from a file afterwards. Files live under
+ * {directory}/{tenant}/ticket-{id}-{version}.pdf, where the version is the
+ * ticket's modifiedAt. Any update to the ticket changes the version, so a
+ * stale file is never served; it just ages out.
+ *
+ * EVICTION:
+ * Total size is bounded by lynx.pdf-cache.max-size. When it is exceeded the
+ * least recently served files are deleted until the cache is back under 90%
+ * of the limit. Access times are tracked in memory and seeded from file
+ * modification times on startup.
+ *
+ * INVALIDATION:
+ * DisposalTicketService invalidates a ticket when it is reverted to OPEN or
+ * voided; its files are deleted immediately and again after commit.
+ *
+ * Business branding (name, logo) is not part of the version; a cached PDF keeps
+ * the branding it was first rendered with.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class DisposalTicketPdfCache {
+
+    private static final Logger LOG = Logger.getLogger(DisposalTicketPdfCache.class);
+
+    private static final String SUFFIX = ".pdf";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TransactionCallbacks transactionCallbacks;
+
+    @ConfigProperty(name = "lynx.pdf-cache.directory", defaultValue = "${java.io.tmpdir}/lynx-pdf-cache")
+    String directoryName;
+
+    @ConfigProperty(name = "lynx.pdf-cache.max-size", defaultValue = "256M")
+    MemorySize maxSize;
+
+    /**
+     * Renders a ticket PDF on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render() throws IOException;
+    }
+
+    private static final class Entry {
+        final long size;
+        volatile long lastAccess;
+
+        Entry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private Path directory;
+
+    private final ConcurrentMap<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalSize = new AtomicLong();
+
+    /**
+     * Not synchronized: eviction deletes files, which would pin a virtual thread's carrier.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        directory = Path.of(directoryName);
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.walk(directory, 2)) {
+                files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).forEach(this::register);
+            }
+            LOG.infof("PDF cache at %s: %d files, %d bytes", directory, entries.size(), totalSize.get());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot initialize PDF cache at " + directory, e);
+        }
+    }
+
+    // =============================
+    // =   Lookups                 =
+    // =============================
+
+    /**
+     * Only tickets that can no longer be edited are cached.
+     */
+    public static boolean isCacheable(DisposalTicket ticket) {
+        return ticket.status == OperationStatus.PROCESSED || ticket.status == OperationStatus.COMPLETED;
+    }
+
+    /**
+     * Version of a ticket's rendered content, used as file name suffix and ETag.
+     */
+    public static String version(DisposalTicket ticket) {
+        LocalDateTime changed = ticket.modifiedAt != null ? ticket.modifiedAt : ticket.createdAt;
+        if (changed == null) {
+            return ticket.id + "-0";
+        }
+        // Truncated to what the database stores, so a freshly updated
+        // instance and a reloaded one agree.
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0),
+                changed.truncatedTo(ChronoUnit.MICROS));
+        return ticket.id + "-" + Long.toString(micros, 36);
+    }
+
+    /**
+     * Path of the cached PDF for a ticket, rendering and storing it on a miss.
+     *
+     * @throws IllegalStateException if the ticket is not cacheable
+     */
+    public Path getOrRender(DisposalTicket ticket, Renderer renderer) throws IOException {
+        if (!isCacheable(ticket)) {
+            throw new IllegalStateException("Disposal ticket " + ticket.id + " is " + ticket.status + " and cannot be cached");
+        }
+
+        Path file = tenantDirectory().resolve("ticket-" + version(ticket) + SUFFIX);
+        Entry entry = entries.get(file);
+        if (entry != null && Files.isReadable(file)) {
+            entry.lastAccess = System.currentTimeMillis();
+            return file;
+        }
+
+        store(file, renderer.render());
+        evictIfNeeded();
+        return file;
+    }
+
+    // =============================
+    // =   Invalidation            =
+    // =============================
+
+    /**
+     * Delete every cached PDF of a ticket in the current tenant.
+     */
+    public void invalidate(Long ticketId) {
+        Path dir = tenantDirectory();
+        deleteTicket(dir, ticketId);
+        transactionCallbacks.afterCommit(() -> deleteTicket(dir, ticketId));
+    }
+
+    private void deleteTicket(Path dir, Long ticketId) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "ticket-" + ticketId + "-*" + SUFFIX)) {
+            for (Path file : files) {
+                delete(file);
+            }
+        } catch (IOException e) {
+            LOG.warnf(e, "Could not invalidate cached PDFs of disposal ticket %d", ticketId);
+        }
+    }
+
+    // =============================
+    // =   Storage                 =
+    // =============================
+
+    /**
+     * Write to a temp file and move it into place, so readers never see a partial PDF.
+     */
+    private void store(Path file, byte[] pdf) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "ticket-", ".tmp");
+        try {
+            Files.write(temp, pdf);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        Entry previous = entries.put(file, new Entry(pdf.length, System.currentTimeMillis()));
+        totalSize.addAndGet(pdf.length - (previous != null ? previous.size : 0));
+    }
+
+    private void register(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (entries.putIfAbsent(file, new Entry(attrs.size(), attrs.lastModifiedTime().toMillis())) == null) {
+                totalSize.addAndGet(attrs.size());
+            }
+        } catch (IOException e) {
+            LOG.debugf("Skipping unreadable cache file %s", file);
+        }
+    }
+
+    private void delete(Path file) {
+        Entry removed = entries.remove(file);
+        if (removed != null) {
+            totalSize.addAndGet(-removed.size);
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warnf(e, "Could not delete cached PDF %s", file);
+        }
+    }
+
+    /**
+     * Delete least recently served files until the cache is under 90% of its limit.
+     */
+    private void evictIfNeeded() {
+        long limit = maxSize.asLongValue();
+        if (totalSize.get() <= limit) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            long target = limit - limit / 10;
+            List<Path> oldestFirst = new ArrayList<>(entries.keySet());
+            oldestFirst.sort(Comparator.comparingLong(p -> {
+                Entry e = entries.get(p);
+                return e != null ? e.lastAccess : 0L;
+            }));
+            for (Path file : oldestFirst) {
+                if (totalSize.get() <= target) {
+                    break;
+                }
+                delete(file);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private Path tenantDirectory() {
+        String tenant = String.valueOf(em.unwrap(Session.class).getTenantIdentifierValue());
+        return directory.resolve(tenant.replaceAll("[^A-Za-z0-9_-]", "_"));
+    }
+}
@@ -1,25 +1,45 @@
 package io.tahawus.lynx.operations.service;
 
+import io.quarkus.runtime.configuration.MemorySize;
+import io.tahawus.lynx.business.model.BusinessLogo;
+import io.tahawus.lynx.business.model.LogoVariant;
+import io.tahawus.lynx.business.service.LogoImageCache;
 import io.tahawus.lynx.operations.model.DisposalTicket;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service for generating PDF documents from DisposalTickets.
  *
  * Produces professional-looking tickets with business branding.
  *
+ * Fonts are created once per document (RenderContext) and the business logo
+ * is decoded and downscaled once per logo content (LogoImageCache).
+ *
+ * Besides single tickets, renders manifests: many tickets merged into one
+ * PDF, one page each (see openManifest).
+ *
  * @author Dan Pasco
  */
 @ApplicationScoped
@@ -32,6 +52,47 @@ public class DisposalTicketPdfService {
     private static final float PAGE_WIDTH = PDRectangle.LETTER.getWidth();
     private static final float PAGE_HEIGHT = PDRectangle.LETTER.getHeight();
 
+    /**
+     * Logo is drawn at most 60pt high; cached at 2x for print sharpness.
+     */
+    private static final float MAX_LOGO_HEIGHT = 60;
+    private static final int LOGO_PIXEL_HEIGHT = LogoVariant.PRINT.getMaxHeightPixels();
+
+    @Inject
+    LogoImageCache logoImageCache;
+
+    @ConfigProperty(name = "lynx.pdf-manifest.max-main-memory", defaultValue = "16M")
+    MemorySize manifestMainMemory;
+
+    /**
+     * Per-document rendering resources. Fonts belong to one PDDocument, so they
+     * are created once per document rather than per draw call.
+     */
+    private static final class RenderContext {
+        final PDDocument document;
+        final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+
+        /**
+         * Logo XObjects by decoded image; LogoImageCache returns the same
+         * instance for the same logo, so each logo is embedded once per document.
+         */
+        private final Map<BufferedImage, PDImageXObject> logos = new IdentityHashMap<>();
+
+        RenderContext(PDDocument document) {
+            this.document = document;
+        }
+
+        PDImageXObject logo(BufferedImage image) throws IOException {
+            PDImageXObject logo = logos.get(image);
+            if (logo == null) {
+                logo = LosslessFactory.createFromImage(document, image);
+                logos.put(image, logo);
+            }
+            return logo;
+        }
+    }
+
     /**
      * Generate a PDF for the given disposal ticket.
      *
@@ -42,82 +103,143 @@ public class DisposalTicketPdfService {
         try (PDDocument document = new PDDocument();
              ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 
-            PDPage page = new PDPage(PDRectangle.LETTER);
-            document.addPage(page);
+            drawTicketPage(new RenderContext(document), ticket);
 
-            try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
-                float y = PAGE_HEIGHT - MARGIN;
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
 
-                // Header with business info and logo
-                y = drawHeader(document, cs, ticket, y);
-                y -= 30;
+    /**
+     * Start a multi-ticket manifest: one page per ticket in a single PDF.
+     *
+     * This is not streaming: PDFBox writes a document only on save(), so the
+     * whole manifest is built before its first byte goes out. Page content
+     * streams are kept in main memory up to lynx.pdf-manifest.max-main-memory
+     * and spill to a PDFBox scratch file beyond that, but every page's object
+     * graph (page dictionary, resources, content stream objects) stays on the
+     * heap until close(). Heap use therefore grows with the page count and is
+     * bounded only by lynx.pdf-manifest.max-tickets (per manifest) times
+     * lynx.pdf-manifest.max-concurrent. Fonts and the logo image are embedded
+     * once and shared by all pages. The caller must close the manifest.
+     */
+    public Manifest openManifest() {
+        MemoryUsageSetting memory = MemoryUsageSetting.setupMixed(manifestMainMemory.asLongValue());
+        return new Manifest(new PDDocument(memory.streamCache));
+    }
 
-                // Ticket Information
-                y = drawSection(cs, "Ticket Information", y);
-                y = drawField(cs, "Ticket Number:", "#" + ticket.ticketNumber, y);
-                y = drawField(cs, "Date:", formatDate(ticket.ticketDate), y);
-                if (ticket.ticketTime != null) {
-                    y = drawField(cs, "Time:", formatTime(ticket.ticketTime), y);
-                }
-                y = drawField(cs, "Status:", ticket.status.name(), y);
-                y -= 20;
-
-                // Company Information
-                y = drawSection(cs, "Company Information", y);
-                y = drawField(cs, "Trucking Company:",
-                        ticket.truckingCompany != null ? ticket.truckingCompany.name : "N/A", y);
-                y = drawField(cs, "Oil Company:",
-                        ticket.oilCompany != null ? ticket.oilCompany.name : "N/A", y);
-                if (ticket.leaseWellNumber != null && !ticket.leaseWellNumber.isEmpty()) {
-                    y = drawField(cs, "Lease/Well Number:", ticket.leaseWellNumber, y);
-                }
-                y -= 20;
-
-                // Barrel Quantities
-                y = drawSection(cs, "Barrel Quantities", y);
-                y = drawField(cs, "Production (BBL):", formatDecimal(ticket.bblProduction), y);
-                y = drawField(cs, "Flowback (BBL):", formatDecimal(ticket.bblFlowback), y);
-                y = drawField(cs, "Other (BBL):", formatDecimal(ticket.bblOther), y);
-                y -= 10;
-                y = drawTotalField(cs, "Total Barrels:", formatDecimal(ticket.getTotalBarrels()), y);
-                y -= 20;
-
-                // Notes
-                if (ticket.notes != null && !ticket.notes.isEmpty()) {
-                    y = drawSection(cs, "Notes", y);
-                    y = drawMultilineText(cs, ticket.notes, y);
-                }
+    /**
+     * A PDF being built page by page. add() each ticket, then save() once;
+     * nothing is written before save().
+     */
+    public final class Manifest implements Closeable {
+
+        private final RenderContext ctx;
+        private int pages;
+
+        private Manifest(PDDocument document) {
+            this.ctx = new RenderContext(document);
+        }
+
+        public void add(DisposalTicket ticket) throws IOException {
+            drawTicketPage(ctx, ticket);
+            pages++;
+        }
+
+        public int pages() {
+            return pages;
+        }
+
+        /**
+         * Write the finished PDF directly to the output, without buffering it as a byte array.
+         */
+        public void save(OutputStream output) throws IOException {
+            ctx.document.save(output);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ctx.document.close();
+        }
+    }
+
+    private void drawTicketPage(RenderContext ctx, DisposalTicket ticket) throws IOException {
+        PDDocument document = ctx.document;
+        PDPage page = new PDPage(PDRectangle.LETTER);
+        document.addPage(page);
+
+        try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+            float y = PAGE_HEIGHT - MARGIN;
 
-                // Footer
-                drawFooter(cs, ticket);
+            // Header with business info and logo
+            y = drawHeader(ctx, cs, ticket, y);
+            y -= 30;
+
+            // Ticket Information
+            y = drawSection(ctx, cs, "Ticket Information", y);
+            y = drawField(ctx, cs, "Ticket Number:", "#" + ticket.ticketNumber, y);
+            y = drawField(ctx, cs, "Date:", formatDate(ticket.ticketDate), y);
+            if (ticket.ticketTime != null) {
+                y = drawField(ctx, cs, "Time:", formatTime(ticket.ticketTime), y);
+            }
+            y = drawField(ctx, cs, "Status:", ticket.status.name(), y);
+            y -= 20;
+
+            // Company Information
+            y = drawSection(ctx, cs, "Company Information", y);
+            y = drawField(ctx, cs, "Trucking Company:",
+                    ticket.truckingCompany != null ? ticket.truckingCompany.name : "N/A", y);
+            y = drawField(ctx, cs, "Oil Company:",
+                    ticket.oilCompany != null ? ticket.oilCompany.name : "N/A", y);
+            if (ticket.leaseWellNumber != null && !ticket.leaseWellNumber.isEmpty()) {
+                y = drawField(ctx, cs, "Lease/Well Number:", ticket.leaseWellNumber, y);
+            }
+            y -= 20;
+
+            // Barrel Quantities
+            y = drawSection(ctx, cs, "Barrel Quantities", y);
+            y = drawField(ctx, cs, "Production (BBL):", formatDecimal(ticket.bblProduction), y);
+            y = drawField(ctx, cs, "Flowback (BBL):", formatDecimal(ticket.bblFlowback), y);
+            y = drawField(ctx, cs, "Other (BBL):", formatDecimal(ticket.bblOther), y);
+            y -= 10;
+            y = drawTotalField(ctx, cs, "Total Barrels:", formatDecimal(ticket.getTotalBarrels()), y);
+            y -= 20;
+
+            // Notes
+            if (ticket.notes != null && !ticket.notes.isEmpty()) {
+                y = drawSection(ctx, cs, "Notes", y);
+                y = drawMultilineText(ctx, cs, ticket.notes, y);
             }
 
-            document.save(baos);
-            return baos.toByteArray();
+            // Footer
+            drawFooter(ctx, cs, ticket);
         }
     }
 
-    private float drawHeader(PDDocument document, PDPageContentStream cs,
+    private float drawHeader(RenderContext ctx, PDPageContentStream cs,
                              DisposalTicket ticket, float y) throws IOException {
 
         float logoHeight = 0;
 
         // Draw business logo if available
-        if (ticket.business != null && ticket.business.hasLogo() ) {
-            try {
-                PDImageXObject logo = PDImageXObject.createFromByteArray(
-                        document, ticket.business.logoData, "logo");
-
-                // Scale logo to max 60px height while maintaining aspect ratio
-                float maxLogoHeight = 60;
-                float scale = maxLogoHeight / logo.getHeight();
-                float logoWidth = logo.getWidth() * scale;
-                logoHeight = logo.getHeight() * scale;
-
-                cs.drawImage(logo, MARGIN, y - logoHeight, logoWidth, logoHeight);
-            } catch (IOException e) {
-                // Logo failed to load, continue without it
-                logoHeight = 0;
+        if (ticket.business != null && ticket.business.hasLogo()) {
+            Long businessId = ticket.business.id;
+            Optional<BufferedImage> image = logoImageCache.get(ticket.business.logoHash, LOGO_PIXEL_HEIGHT,
+                    () -> BusinessLogo.loadData(businessId, LogoVariant.PRINT));
+            if (image.isPresent()) {
+                try {
+                    PDImageXObject logo = ctx.logo(image.get());
+
+                    // Scale logo to max 60pt height while maintaining aspect ratio
+                    float scale = MAX_LOGO_HEIGHT / logo.getHeight();
+                    float logoWidth = logo.getWidth() * scale;
+                    logoHeight = logo.getHeight() * scale;
+
+                    cs.drawImage(logo, MARGIN, y - logoHeight, logoWidth, logoHeight);
+                } catch (IOException e) {
+                    // Logo failed to embed, continue without it
+                    logoHeight = 0;
+                }
             }
         }
 
@@ -131,7 +253,7 @@ public class DisposalTicketPdfService {
         }
 
         if (ticket.business != null && ticket.business.legalName != null) {
-            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
+            cs.setFont(ctx.bold, 14);
             cs.beginText();
             cs.newLineAtOffset(textX, textY);
             cs.showText(ticket.business.legalName);
@@ -140,17 +262,16 @@ public class DisposalTicketPdfService {
         }
 
         // Document title
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 20);
+        cs.setFont(ctx.bold, 20);
         cs.beginText();
         cs.newLineAtOffset(textX, textY);
         cs.showText("DISPOSAL TICKET");
         cs.endText();
 
         // Ticket number on right side
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 16);
+        cs.setFont(ctx.bold, 16);
         String ticketNum = "#" + ticket.ticketNumber;
-        float textWidth = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD)
-                .getStringWidth(ticketNum) / 1000 * 16;
+        float textWidth = ctx.bold.getStringWidth(ticketNum) / 1000 * 16;
         cs.beginText();
         cs.newLineAtOffset(PAGE_WIDTH - MARGIN - textWidth, y);
         cs.showText(ticketNum);
@@ -166,8 +287,8 @@ public class DisposalTicketPdfService {
         return lineY - 10;
     }
 
-    private float drawSection(PDPageContentStream cs, String title, float y) throws IOException {
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
+    private float drawSection(RenderContext ctx, PDPageContentStream cs, String title, float y) throws IOException {
+        cs.setFont(ctx.bold, 14);
         cs.beginText();
         cs.newLineAtOffset(MARGIN, y);
         cs.showText(title);
@@ -182,14 +303,14 @@ public class DisposalTicketPdfService {
         return y - 15;
     }
 
-    private float drawField(PDPageContentStream cs, String label, String value, float y) throws IOException {
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 11);
+    private float drawField(RenderContext ctx, PDPageContentStream cs, String label, String value, float y) throws IOException {
+        cs.setFont(ctx.bold, 11);
         cs.beginText();
         cs.newLineAtOffset(MARGIN + 20, y);
         cs.showText(label);
         cs.endText();
 
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+        cs.setFont(ctx.regular, 11);
         cs.beginText();
         cs.newLineAtOffset(MARGIN + 180, y);
         cs.showText(value != null ? value : "");
@@ -198,7 +319,7 @@ public class DisposalTicketPdfService {
         return y - 18;
     }
 
-    private float drawTotalField(PDPageContentStream cs, String label, String value, float y) throws IOException {
+    private float drawTotalField(RenderContext ctx, PDPageContentStream cs, String label, String value, float y) throws IOException {
         float boxHeight = 25;
         float boxY = y - 5;
 
@@ -206,7 +327,7 @@ public class DisposalTicketPdfService {
         cs.addRect(MARGIN + 20, boxY, PAGE_WIDTH - (2 * MARGIN) - 40, boxHeight);
         cs.stroke();
 
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
+        cs.setFont(ctx.bold, 12);
         cs.beginText();
         cs.newLineAtOffset(MARGIN + 30, boxY + 8);
         cs.showText(label);
@@ -220,8 +341,8 @@ public class DisposalTicketPdfService {
         return boxY - 10;
     }
 
-    private float drawMultilineText(PDPageContentStream cs, String text, float y) throws IOException {
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+    private float drawMultilineText(RenderContext ctx, PDPageContentStream cs, String text, float y) throws IOException {
+        cs.setFont(ctx.regular, 10);
 
         String[] lines = text.split("\n");
         for (String line : lines) {
@@ -230,8 +351,7 @@ public class DisposalTicketPdfService {
 
             for (String word : words) {
                 String testLine = currentLine.length() == 0 ? word : currentLine + " " + word;
-                float textWidth = new PDType1Font(Standard14Fonts.FontName.HELVETICA)
-                        .getStringWidth(testLine) / 1000 * 10;
+                float textWidth = ctx.regular.getStringWidth(testLine) / 1000 * 10;
 
                 if (textWidth > PAGE_WIDTH - (2 * MARGIN) - 40) {
                     cs.beginText();
@@ -257,10 +377,10 @@ public class DisposalTicketPdfService {
         return y;
     }
 
-    private void drawFooter(PDPageContentStream cs, DisposalTicket ticket) throws IOException {
+    private void drawFooter(RenderContext ctx, PDPageContentStream cs, DisposalTicket ticket) throws IOException {
         float y = MARGIN - 10;
 
-        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 8);
+        cs.setFont(ctx.regular, 8);
         cs.beginText();
         cs.newLineAtOffset(MARGIN, y);
 
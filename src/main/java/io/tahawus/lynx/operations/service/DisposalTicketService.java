@@ -1,21 +1,47 @@
 package io.tahawus.lynx.operations.service;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.tahawus.lynx.business.model.Business;
 import io.tahawus.lynx.contacts.model.Contact;
+import io.tahawus.lynx.core.dto.KeysetPage;
+import io.tahawus.lynx.core.service.NdjsonStreamer;
 import io.tahawus.lynx.core.service.NumberSequenceService;
+import io.tahawus.lynx.core.service.NumberSequenceService.NumberRange;
+import io.tahawus.lynx.core.util.KeysetCursor;
 import io.tahawus.lynx.operations.dto.DisposalTicketCreateDto;
 import io.tahawus.lynx.operations.dto.DisposalTicketDto;
 import io.tahawus.lynx.operations.dto.DisposalTicketUpdateDto;
 import io.tahawus.lynx.operations.mapper.DisposalTicketMapper;
 import io.tahawus.lynx.operations.model.DisposalTicket;
 import io.tahawus.lynx.operations.model.OperationStatus;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
-
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class DisposalTicketService {
@@ -26,6 +52,44 @@ public class DisposalTicketService {
     @Inject
     NumberSequenceService numberSequenceService;
 
+    @Inject
+    NdjsonStreamer ndjson;
+
+    @Inject
+    DisposalTicketPdfCache pdfCache;
+
+    @Inject
+    DisposalTicketPdfService pdfService;
+
+    @Inject
+    EntityManager em;
+
+    @ConfigProperty(name = "lynx.pdf-manifest.max-tickets", defaultValue = "5000")
+    int manifestMaxTickets;
+
+    @ConfigProperty(name = "lynx.pdf-manifest.transaction-timeout", defaultValue = "3600")
+    int manifestTransactionTimeoutSeconds;
+
+    /**
+     * Manifests rendered at once; each holds a pooled connection for its whole
+     * transaction. Further requests fail fast with 503.
+     */
+    @ConfigProperty(name = "lynx.pdf-manifest.max-concurrent", defaultValue = "2")
+    int manifestMaxConcurrent;
+
+    private Semaphore manifests;
+
+    @PostConstruct
+    void init() {
+        manifests = new Semaphore(manifestMaxConcurrent);
+    }
+
+    /**
+     * Tickets read per JDBC round trip and between persistence context clears
+     * while rendering a manifest.
+     */
+    private static final int MANIFEST_FETCH_SIZE = 100;
+
     // =============================
     // =   CRUD Operations         =
     // =============================
@@ -46,7 +110,7 @@ public class DisposalTicketService {
                 : null;
 
         Long nextNumber = numberSequenceService.getNextNumber(
-                dto.businessId(), DisposalTicket.SEQUENCE_KEY);
+                dto.businessId(), DisposalTicket.SEQUENCE_KEY, DisposalTicket.SEQUENCE_MODE);
 
         DisposalTicket ticket = mapper.fromCreateDto(dto, business, truckingCompany, oilCompany);
         ticket.ticketNumber = nextNumber;
@@ -55,6 +119,66 @@ public class DisposalTicketService {
         return mapper.toDto(ticket);
     }
 
+    /**
+     * Create many tickets in one transaction (bulk import).
+     *
+     * Ticket numbers are reserved once per business as a contiguous range,
+     * assigned in input order. Businesses and contacts are loaded once.
+     * Results are returned in input order.
+     */
+    @Transactional
+    public List<DisposalTicketDto> create(List<DisposalTicketCreateDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Integer>> indexesByBusiness = new LinkedHashMap<>();
+        Set<Long> contactIds = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            DisposalTicketCreateDto dto = dtos.get(i);
+            indexesByBusiness.computeIfAbsent(dto.businessId(), k -> new ArrayList<>()).add(i);
+            if (dto.truckingCompanyId() != null) {
+                contactIds.add(dto.truckingCompanyId());
+            }
+            if (dto.oilCompanyId() != null) {
+                contactIds.add(dto.oilCompanyId());
+            }
+        }
+
+        Map<Long, Contact> contacts = new HashMap<>();
+        if (!contactIds.isEmpty()) {
+            Contact.<Contact>list("id in ?1", contactIds).forEach(c -> contacts.put(c.id, c));
+        }
+
+        DisposalTicket[] tickets = new DisposalTicket[dtos.size()];
+        for (Map.Entry<Long, List<Integer>> group : indexesByBusiness.entrySet()) {
+            Business business = Business.findById(group.getKey());
+            if (business == null) {
+                throw new NotFoundException("Business not found: " + group.getKey());
+            }
+
+            List<Integer> indexes = group.getValue();
+            NumberRange numbers = numberSequenceService.reserve(
+                    business.id, DisposalTicket.SEQUENCE_KEY, indexes.size(), DisposalTicket.SEQUENCE_MODE);
+
+            for (int n = 0; n < indexes.size(); n++) {
+                int i = indexes.get(n);
+                DisposalTicketCreateDto dto = dtos.get(i);
+                DisposalTicket ticket = mapper.fromCreateDto(dto, business,
+                        contacts.get(dto.truckingCompanyId()), contacts.get(dto.oilCompanyId()));
+                ticket.ticketNumber = numbers.get(n);
+                ticket.persist();
+                tickets[i] = ticket;
+            }
+        }
+
+        List<DisposalTicketDto> results = new ArrayList<>(tickets.length);
+        for (DisposalTicket ticket : tickets) {
+            results.add(mapper.toDto(ticket));
+        }
+        return results;
+    }
+
     public Optional<DisposalTicketDto> get(Long id) {
         return DisposalTicket.<DisposalTicket>findByIdOptional(id)
                 .map(mapper::toDto);
@@ -65,22 +189,99 @@ public class DisposalTicketService {
                 new NotFoundException("Disposal ticket not found: " + id));
     }
 
-    public List<DisposalTicketDto> listByBusiness(Long businessId) {
-        return DisposalTicket.listByBusinessId(businessId).stream()
-                .map(mapper::toDto)
-                .toList();
+    /**
+     * One keyset page of tickets, newest ticket number first.
+     * businessId and status are optional, but the resource requires one of them.
+     *
+     * @param cursor next cursor from the previous page, or null for the first page
+     */
+    public KeysetPage<DisposalTicketDto> list(Long businessId, OperationStatus status, String cursor, Integer limit) {
+        int pageSize = KeysetPage.limit(limit);
+        List<DisposalTicket> rows = DisposalTicket.listPage(businessId, status, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetPage.of(rows, pageSize, mapper::toDto, t -> KeysetCursor.of(t.ticketNumber, t.id));
     }
 
-    public List<DisposalTicketDto> listByStatus(OperationStatus status) {
-        return DisposalTicket.listByStatus(status).stream()
-                .map(mapper::toDto)
-                .toList();
+    /**
+     * Every ticket matching the optional filters as NDJSON, newest first.
+     */
+    public StreamingOutput stream(Long businessId, OperationStatus status) {
+        return ndjson.stream(() -> DisposalTicket.findFiltered(businessId, status), mapper::toDto);
     }
 
-    public List<DisposalTicketDto> listByBusinessAndStatus(Long businessId, OperationStatus status) {
-        return DisposalTicket.listByBusinessAndStatus(businessId, status).stream()
-                .map(mapper::toDto)
-                .toList();
+    // =============================
+    // =   Manifest                =
+    // =============================
+
+    /**
+     * One merged PDF of every ticket of a business in a date range and/or for a
+     * contact, oldest first, one page per ticket.
+     *
+     * Tickets are read through a cursor in their own transaction and drawn
+     * page by page, but the PDF is only written once every page is drawn: the
+     * page objects of the whole manifest are on the heap at that point (page
+     * content spills to a scratch file, see DisposalTicketPdfService.openManifest).
+     * Memory is bounded by lynx.pdf-manifest.max-tickets, not by streaming.
+     *
+     * @throws NotFoundException if no ticket matches
+     * @throws BadRequestException if the filter matches more than lynx.pdf-manifest.max-tickets
+     */
+    public StreamingOutput manifest(Long businessId, LocalDate startDate, LocalDate endDate, Long contactId) {
+        if (businessId == null) {
+            throw new BadRequestException("businessId is required");
+        }
+        if (startDate == null && endDate == null && contactId == null) {
+            throw new BadRequestException("date range or contactId required");
+        }
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new BadRequestException("to must not be before from");
+        }
+
+        long count = DisposalTicket.findManifest(businessId, startDate, endDate, contactId).count();
+        if (count == 0) {
+            throw new NotFoundException("No disposal tickets match the manifest filter");
+        }
+        if (count > manifestMaxTickets) {
+            throw new BadRequestException("Manifest of " + count + " tickets exceeds the limit of " +
+                    manifestMaxTickets + "; narrow the date range");
+        }
+
+        return output -> {
+            if (!manifests.tryAcquire()) {
+                throw new ServiceUnavailableException(5L);
+            }
+            try {
+                QuarkusTransaction.requiringNew()
+                        .timeout(manifestTransactionTimeoutSeconds)
+                        .run(() -> writeManifest(businessId, startDate, endDate, contactId, output));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                manifests.release();
+            }
+        };
+    }
+
+    private void writeManifest(Long businessId, LocalDate startDate, LocalDate endDate, Long contactId,
+                               OutputStream output) {
+        Session session = em.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+
+        try (DisposalTicketPdfService.Manifest manifest = pdfService.openManifest();
+             Stream<DisposalTicket> tickets = DisposalTicket.findManifest(businessId, startDate, endDate, contactId)
+                     .withHint(HibernateHints.HINT_FETCH_SIZE, MANIFEST_FETCH_SIZE)
+                     .withHint(HibernateHints.HINT_READ_ONLY, true)
+                     .stream()) {
+            Iterator<DisposalTicket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                manifest.add(iterator.next());
+                if (manifest.pages() % MANIFEST_FETCH_SIZE == 0) {
+                    session.clear();
+                }
+            }
+            manifest.save(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public List<DisposalTicketDto> listReadyToInvoice(Long businessId) {
@@ -152,6 +353,7 @@ public class DisposalTicketService {
             throw new NotFoundException("Disposal ticket not found: " + id);
         }
         ticket.revertToOpen();
+        pdfCache.invalidate(id);
         return mapper.toDto(ticket);
     }
 
@@ -165,6 +367,7 @@ public class DisposalTicketService {
             throw new NotFoundException("Disposal ticket not found: " + id);
         }
         ticket.voidOperation();
+        pdfCache.invalidate(id);
         return mapper.toDto(ticket);
     }
 
@@ -11,6 +11,9 @@ import jakarta.inject.Inject;
  * Extracts tenant from X-Tenant-Id header. Some endpoints (tenant management,
  * onboarding) may operate without a tenant context.
  *
+ * Background work has no HTTP request; TenantTaskRunner activates a request
+ * context and sets the tenant explicitly with use().
+ *
  * @author Dan Pasco
  */
 @RequestScoped
@@ -26,7 +29,13 @@ public class CurrentTenant {
 
     @PostConstruct
     void init() {
-        String header = routingContext.request().getHeader(TENANT_HEADER);
+        String header;
+        try {
+            header = routingContext.request().getHeader(TENANT_HEADER);
+        } catch (RuntimeException e) {
+            // No HTTP request (background work); tenant is set with use()
+            header = null;
+        }
 
         if (header != null && !header.isBlank()) {
             tenantId = header.trim();
@@ -34,6 +43,14 @@ public class CurrentTenant {
         resolved = true;
     }
 
+    /**
+     * Set the tenant for the current request context.
+     * Only for work running outside an HTTP request (see TenantTaskRunner).
+     */
+    void use(String tenantIdentifier) {
+        this.tenantId = tenantIdentifier;
+    }
+
     /**
      * Get the tenant identifier from the request header.
      *
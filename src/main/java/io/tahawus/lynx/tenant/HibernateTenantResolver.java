@@ -1,7 +1,6 @@
 package io.tahawus.lynx.tenant;
 
 import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
-import io.tahawus.lynx.tenant.model.Tenant;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -10,7 +9,7 @@ import org.jboss.logging.Logger;
  * Hibernate tenant resolver for schema-per-tenant multitenancy.
  *
  * Resolves the tenant identifier from the request header to
- * the actual database schema name.
+ * the actual database schema name (through TenantCache).
  *
  * @author Dan Pasco
  */
@@ -22,6 +21,9 @@ public class HibernateTenantResolver implements TenantResolver {
     @Inject
     CurrentTenant currentTenant;
 
+    @Inject
+    TenantCache tenantCache;
+
     @Override
     public String getDefaultTenantId() {
         return "public";
@@ -38,11 +40,11 @@ public class HibernateTenantResolver implements TenantResolver {
             }
 
             // Look up the tenant to get the actual schema name
-            return Tenant.findByTenantIdentifier(tenantIdentifier)
-                    .map(tenant -> {
+            return tenantCache.lookup(tenantIdentifier)
+                    .map(route -> {
                         LOG.debugf("Resolved tenant %s to schema %s",
-                                tenantIdentifier, tenant.schemaName);
-                        return tenant.schemaName;
+                                tenantIdentifier, route.schemaName());
+                        return route.schemaName();
                     })
                     .orElseGet(() -> {
                         LOG.warnf("Tenant not found: %s, using default schema", tenantIdentifier);
@@ -0,0 +1,169 @@
+package io.tahawus.lynx.tenant;
+
+import io.tahawus.lynx.core.service.InvalidationBus;
+import io.tahawus.lynx.core.service.TransactionCallbacks;
+import io.tahawus.lynx.tenant.model.Tenant;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded in-process cache of tenant identifier -> schema routing.
+ *
+ * Keeps HibernateTenantResolver from querying the public schema on every request.
+ * - Found tenants are cached for lynx.tenant-cache.ttl
+ * - Unknown identifiers are cached (negatively) for lynx.tenant-cache.negative-ttl,
+ *   so spoofed X-Tenant-Id headers cannot hammer the database
+ * - Identifiers that cannot exist (too long) are rejected without a lookup
+ *
+ * Positive and negative entries are bounded separately so a flood of unknown
+ * identifiers cannot evict real tenants.
+ *
+ * INVALIDATION:
+ * TenantResource and TenantSelectorResource call invalidate() whenever a tenant
+ * is created, updated, activated or deleted. Other nodes drop the entry when
+ * the InvalidationBus notice arrives.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class TenantCache {
+
+    /**
+     * Same limit as Tenant.tenantIdentifier column.
+     */
+    private static final int MAX_IDENTIFIER_LENGTH = 50;
+
+    /**
+     * InvalidationBus entity name; the notice id is the tenant identifier.
+     */
+    public static final String NOTICE_ENTITY = "Tenant";
+
+    @Inject
+    TransactionCallbacks transactionCallbacks;
+
+    @Inject
+    InvalidationBus invalidationBus;
+
+    @ConfigProperty(name = "lynx.tenant-cache.ttl", defaultValue = "PT5M")
+    Duration ttl;
+
+    @ConfigProperty(name = "lynx.tenant-cache.negative-ttl", defaultValue = "PT30S")
+    Duration negativeTtl;
+
+    @ConfigProperty(name = "lynx.tenant-cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    /**
+     * Routing information for a tenant.
+     */
+    public record TenantRoute(
+            String tenantIdentifier,
+            String schemaName,
+            boolean active
+    ) {}
+
+    private record Entry(TenantRoute route, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final ConcurrentMap<String, Entry> routes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> misses = new ConcurrentHashMap<>();
+
+    // =============================
+    // =   Lookups                 =
+    // =============================
+
+    /**
+     * Look up the route for a tenant identifier.
+     *
+     * @return The route, or empty if no tenant has this identifier
+     */
+    public Optional<TenantRoute> lookup(String tenantIdentifier) {
+        if (tenantIdentifier == null || tenantIdentifier.length() > MAX_IDENTIFIER_LENGTH) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+
+        Entry hit = routes.get(tenantIdentifier);
+        if (hit != null && !hit.isExpired(now)) {
+            return Optional.of(hit.route());
+        }
+        Entry miss = misses.get(tenantIdentifier);
+        if (miss != null && !miss.isExpired(now)) {
+            return Optional.empty();
+        }
+
+        Optional<TenantRoute> route = Tenant.findByTenantIdentifier(tenantIdentifier)
+                .map(t -> new TenantRoute(t.tenantIdentifier, t.schemaName, Boolean.TRUE.equals(t.isActive)));
+
+        if (route.isPresent()) {
+            misses.remove(tenantIdentifier);
+            put(routes, tenantIdentifier, new Entry(route.get(), now + ttl.toNanos()), now);
+        } else {
+            routes.remove(tenantIdentifier);
+            put(misses, tenantIdentifier, new Entry(null, now + negativeTtl.toNanos()), now);
+        }
+        return route;
+    }
+
+    // =============================
+    // =   Invalidation            =
+    // =============================
+
+    /**
+     * Drop the cached entry (positive or negative) for an identifier.
+     * Dropped immediately and again when the current transaction completes.
+     */
+    public void invalidate(String tenantIdentifier) {
+        if (tenantIdentifier == null) {
+            return;
+        }
+        evict(tenantIdentifier);
+        transactionCallbacks.afterCompletion(() -> evict(tenantIdentifier));
+        invalidationBus.publish(null, NOTICE_ENTITY, tenantIdentifier);
+    }
+
+    /**
+     * Drop every cached entry.
+     */
+    public void invalidateAll() {
+        routes.clear();
+        misses.clear();
+    }
+
+    /**
+     * Change made on another node.
+     */
+    void onInvalidation(@Observes InvalidationBus.Notice notice) {
+        if (notice.isFlush()) {
+            invalidateAll();
+        } else if (notice.isFor(NOTICE_ENTITY) && notice.id() != null) {
+            evict(notice.id());
+        }
+    }
+
+    private void evict(String tenantIdentifier) {
+        routes.remove(tenantIdentifier);
+        misses.remove(tenantIdentifier);
+    }
+
+    private void put(ConcurrentMap<String, Entry> map, String key, Entry entry, long now) {
+        if (map.size() >= maxSize) {
+            map.values().removeIf(e -> e.isExpired(now));
+            if (map.size() >= maxSize) {
+                map.clear();
+            }
+        }
+        map.put(key, entry);
+    }
+}
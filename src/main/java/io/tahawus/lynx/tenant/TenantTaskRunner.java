@@ -0,0 +1,56 @@
+package io.tahawus.lynx.tenant;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work for a tenant outside an HTTP request.
+ *
+ * Tenant resolution is request scoped (CurrentTenant, HibernateTenantResolver),
+ * so background threads get their own request context with the tenant set
+ * explicitly. Sessions opened inside resolve to that tenant's schema.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class TenantTaskRunner {
+
+    @Inject
+    CurrentTenant currentTenant;
+
+    /**
+     * Run an action as a tenant.
+     *
+     * @param tenantIdentifier Tenant identifier as sent in X-Tenant-Id
+     */
+    public void run(String tenantIdentifier, Runnable action) {
+        call(tenantIdentifier, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Call an action as a tenant and return its result.
+     *
+     * @param tenantIdentifier Tenant identifier as sent in X-Tenant-Id
+     */
+    public <T> T call(String tenantIdentifier, Supplier<T> action) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        if (requestContext.isActive()) {
+            throw new IllegalStateException("TenantTaskRunner must not be used inside a request");
+        }
+
+        requestContext.activate();
+        try {
+            currentTenant.use(tenantIdentifier);
+            return action.get();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package io.tahawus.lynx.tenant.api;
 
 import io.smallrye.common.annotation.Blocking;
+import io.tahawus.lynx.tenant.TenantCache;
+import io.tahawus.lynx.tenant.dto.SchemaUpgradeJobDto;
 import io.tahawus.lynx.tenant.model.Tenant;
 import io.tahawus.lynx.tenant.service.TenantSchemaService;
+import io.tahawus.lynx.tenant.service.TenantUpgradeJobs;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -37,6 +40,12 @@ public class TenantResource {
     @Inject
     TenantSchemaService tenantSchemaService;
 
+    @Inject
+    TenantCache tenantCache;
+
+    @Inject
+    TenantUpgradeJobs tenantUpgradeJobs;
+
     /**
      * List all tenants.
      */
@@ -119,6 +128,7 @@ public class TenantResource {
             tenant.contactPhone = request.phone();
 
             tenant.persist();
+            tenantCache.invalidate(tenant.tenantIdentifier);
             LOG.infof("Tenant created with ID: %d", tenant.id);
 
             tenantSchemaService.createTenantSchema(tenant);
@@ -160,6 +170,7 @@ public class TenantResource {
         if (request.subscriptionPlan() != null) tenant.subscriptionPlan = request.subscriptionPlan();
         if (request.maxUsers() != null) tenant.maxUsers = request.maxUsers();
         if (request.notes() != null) tenant.notes = request.notes();
+        tenantCache.invalidate(tenant.tenantIdentifier);
 
         LOG.infof("Tenant updated: %d", id);
 
@@ -195,6 +206,7 @@ public class TenantResource {
             try {
                 tenantSchemaService.deleteTenantSchema(tenant);
                 tenant.delete();
+                tenantCache.invalidate(tenant.tenantIdentifier);
                 return Response.noContent().build();
 
             } catch (Exception e) {
@@ -206,6 +218,7 @@ public class TenantResource {
         } else {
             // Soft delete
             tenant.isActive = false;
+            tenantCache.invalidate(tenant.tenantIdentifier);
             LOG.infof("Tenant deactivated: %d", id);
             return Response.ok(tenant).build();
         }
@@ -224,6 +237,7 @@ public class TenantResource {
                 .orElseThrow(() -> new NotFoundException("Tenant not found: " + id));
 
         tenant.isActive = true;
+        tenantCache.invalidate(tenant.tenantIdentifier);
         LOG.infof("Tenant activated: %d", id);
 
         return Response.ok(tenant).build();
@@ -267,6 +281,62 @@ public class TenantResource {
         }
     }
 
+    /**
+     * Upgrade every tenant schema in the background (see TenantUpgradeJobs).
+     * Returns 202 with the job; 409 if one is already running.
+     */
+    @POST
+    @Path("/upgrade")
+    public Response upgradeAllSchemas(
+            @QueryParam("activeOnly") boolean activeOnly,
+            @HeaderParam("X-Admin-Token") String token) {
+
+        if (!adminToken.equals(token)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(new ErrorResponse("Admin token required"))
+                    .build();
+        }
+
+        SchemaUpgradeJobDto job = tenantUpgradeJobs.upgradeAll(activeOnly);
+        return Response.accepted(job).build();
+    }
+
+    /**
+     * Per-schema progress of an upgrade-all job.
+     */
+    @GET
+    @Path("/upgrade-jobs/{jobId}")
+    public Response upgradeJobStatus(
+            @PathParam("jobId") String jobId,
+            @HeaderParam("X-Admin-Token") String token) {
+
+        if (!adminToken.equals(token)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(new ErrorResponse("Admin token required"))
+                    .build();
+        }
+
+        return Response.ok(tenantUpgradeJobs.status(jobId)).build();
+    }
+
+    /**
+     * Queue the schemas that failed in a finished upgrade-all job again.
+     */
+    @POST
+    @Path("/upgrade-jobs/{jobId}/retry")
+    public Response retryFailedUpgrades(
+            @PathParam("jobId") String jobId,
+            @HeaderParam("X-Admin-Token") String token) {
+
+        if (!adminToken.equals(token)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(new ErrorResponse("Admin token required"))
+                    .build();
+        }
+
+        return Response.accepted(tenantUpgradeJobs.retryFailed(jobId)).build();
+    }
+
     // DTOs
 
     public record ProvisionTenantRequest(
@@ -1,6 +1,7 @@
 package io.tahawus.lynx.tenant.api;
 
 import io.smallrye.common.annotation.Blocking;
+import io.tahawus.lynx.tenant.TenantCache;
 import io.tahawus.lynx.tenant.model.Tenant;
 import io.tahawus.lynx.tenant.model.TenantRole;
 import io.tahawus.lynx.tenant.model.UserTenantAccess;
@@ -37,6 +38,9 @@ public class TenantSelectorResource {
     @Inject
     TenantSchemaService tenantSchemaService;
 
+    @Inject
+    TenantCache tenantCache;
+
     /**
      * Get list of tenants the current user has access to.
      */
@@ -128,6 +132,7 @@ public class TenantSelectorResource {
             tenant.isActive = true;
 
             tenant.persist();
+            tenantCache.invalidate(tenant.tenantIdentifier);
 
             // Create schema and run migrations
             tenantSchemaService.createTenantSchema(tenant);
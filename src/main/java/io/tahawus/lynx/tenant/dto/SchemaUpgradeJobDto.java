@@ -0,0 +1,60 @@
+package io.tahawus.lynx.tenant.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an upgrade-all-tenant-schemas job.
+ *
+ * @author Dan Pasco
+ */
+public record SchemaUpgradeJobDto(
+        String jobId,
+        Status status,
+        String targetVersion,
+        int parallelism,
+        int total,
+        int upgraded,
+        int current,
+        int failed,
+        LocalDateTime submittedAt,
+        LocalDateTime finishedAt,
+        List<Item> schemas
+) {
+
+    public enum Status {
+        RUNNING,
+        DONE
+    }
+
+    /**
+     * Outcome per schema, in tenant id order.
+     *
+     * @param attempts    Flyway runs so far, retries included
+     * @param fromVersion version before the upgrade, null for a schema without history
+     * @param error       last failure, set when FAILED (and kept while a retry is queued)
+     */
+    public record Item(
+            Long tenantId,
+            String tenantIdentifier,
+            String schemaName,
+            ItemStatus status,
+            int attempts,
+            String fromVersion,
+            String toVersion,
+            String error
+    ) {}
+
+    public enum ItemStatus {
+        QUEUED,
+        RUNNING,
+        UPGRADED,
+        /** Already at the target version; Flyway was not run */
+        CURRENT,
+        FAILED
+    }
+
+    public boolean isDone() {
+        return status == Status.DONE;
+    }
+}
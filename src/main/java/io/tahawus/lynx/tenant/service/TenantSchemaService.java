@@ -1,22 +1,33 @@
 package io.tahawus.lynx.tenant.service;
 
 import io.agroal.api.AgroalDataSource;
+import io.tahawus.lynx.core.model.TableSequenceGenerator;
 import io.tahawus.lynx.tenant.model.Tenant;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
 import org.jboss.logging.Logger;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Service for managing tenant database schemas.
  *
  * Handles:
  * - Schema creation
- * - Flyway migrations per schema
+ * - Flyway migrations per schema (one at a time here; TenantUpgradeJobs runs
+ *   them across every tenant in parallel)
  * - Schema deletion (hard delete)
  *
  * @author Dan Pasco
@@ -29,6 +40,11 @@ public class TenantSchemaService {
     @Inject
     AgroalDataSource dataSource;
 
+    /**
+     * Newest tenant migration on the classpath; resolved once, it cannot change at runtime.
+     */
+    private volatile MigrationVersion availableVersion;
+
     /**
      * Create a new schema for a tenant and run migrations.
      *
@@ -73,20 +89,14 @@ public class TenantSchemaService {
     /**
      * Run Flyway migrations on a specific schema.
      */
-    private void migrateSchema(String schemaName) {
+    private MigrateResult migrateSchema(String schemaName) {
         LOG.infof("Running migrations on schema: %s", schemaName);
 
         try {
-            Flyway flyway = Flyway.configure()
-                    .dataSource(dataSource)
-                    .schemas(schemaName)
-                    .locations("classpath:db/migration/tenant")
-                    .baselineOnMigrate(true)
-                    .load();
-
-            flyway.migrate();
+            MigrateResult result = flyway(schemaName).migrate();
 
             LOG.infof("Migrations complete for schema: %s", schemaName);
+            return result;
 
         } catch (Exception e) {
             LOG.errorf(e, "Migration failed for schema: %s", schemaName);
@@ -94,6 +104,21 @@ public class TenantSchemaService {
         }
     }
 
+    private Flyway flyway(String schemaName) {
+        return flywayConfiguration()
+                .schemas(schemaName)
+                .load();
+    }
+
+    private FluentConfiguration flywayConfiguration() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/tenant")
+                .placeholders(Map.of(
+                        "idAllocationSize", String.valueOf(TableSequenceGenerator.allocationSize())))
+                .baselineOnMigrate(true);
+    }
+
     /**
      * Delete a tenant's schema (DANGEROUS - use with caution).
      *
@@ -166,6 +191,96 @@ public class TenantSchemaService {
         migrateSchema(schemaName);
     }
 
+    // =============================
+    // =   Bulk Upgrade Support    =
+    // =============================
+
+    /**
+     * Result of upgradeIfBehind().
+     *
+     * @param migrated   false when the schema was already current and Flyway was not run
+     * @param fromVersion schema version before, null for a schema without history
+     */
+    public record UpgradeOutcome(
+            boolean migrated,
+            String fromVersion,
+            String toVersion,
+            int migrationsExecuted
+    ) {}
+
+    /**
+     * Newest tenant migration version on the classpath.
+     * The first call resolves migrations through Flyway against the given schema.
+     */
+    public MigrationVersion availableVersion(String schemaName) {
+        MigrationVersion version = availableVersion;
+        if (version == null) {
+            validateSchemaName(schemaName);
+            version = Arrays.stream(flyway(schemaName).info().all())
+                    .filter(info -> info.getState().isResolved())
+                    .map(MigrationInfo::getVersion)
+                    .filter(Objects::nonNull)
+                    .max(MigrationVersion::compareTo)
+                    .orElse(MigrationVersion.EMPTY);
+            availableVersion = version;
+        }
+        return version;
+    }
+
+    /**
+     * Version of the last successful migration of a schema, read straight from
+     * its flyway_schema_history (one query, no Flyway instance).
+     *
+     * @return empty if the schema has no history or has a failed migration
+     */
+    public Optional<MigrationVersion> appliedVersion(String schemaName) {
+        validateSchemaName(schemaName);
+
+        String sql = """
+            SELECT (SELECT version FROM %1$s.flyway_schema_history
+                     WHERE success AND version IS NOT NULL
+                     ORDER BY installed_rank DESC LIMIT 1),
+                   EXISTS (SELECT 1 FROM %1$s.flyway_schema_history WHERE NOT success)
+            """.formatted(schemaName);
+
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (!rs.next() || rs.getString(1) == null || rs.getBoolean(2)) {
+                return Optional.empty();
+            }
+            return Optional.of(MigrationVersion.fromVersion(rs.getString(1)));
+
+        } catch (SQLException e) {
+            // No schema or no history table yet: Flyway will sort it out
+            LOG.debugf("No usable schema history in %s: %s", schemaName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Migrate a schema unless its history already reaches the target version.
+     *
+     * @throws TenantSchemaException if the schema does not exist or migration fails
+     */
+    public UpgradeOutcome upgradeIfBehind(String schemaName, MigrationVersion target) {
+        Optional<MigrationVersion> applied = appliedVersion(schemaName);
+        if (applied.isPresent() && applied.get().compareTo(target) >= 0) {
+            String version = applied.get().getVersion();
+            return new UpgradeOutcome(false, version, version, 0);
+        }
+        if (!schemaExists(schemaName)) {
+            throw new TenantSchemaException("Schema does not exist: " + schemaName);
+        }
+        MigrateResult result = migrateSchema(schemaName);
+        return new UpgradeOutcome(true,
+                applied.map(MigrationVersion::getVersion).orElse(result.initialSchemaVersion),
+                result.targetSchemaVersion != null ? result.targetSchemaVersion
+                        : applied.map(MigrationVersion::getVersion).orElse(null),
+                result.migrationsExecuted);
+    }
+
     /**
      * Validate schema name to prevent SQL injection.
      */
@@ -0,0 +1,294 @@
+package io.tahawus.lynx.tenant.service;
+
+import io.tahawus.lynx.tenant.dto.SchemaUpgradeJobDto;
+import io.tahawus.lynx.tenant.dto.SchemaUpgradeJobDto.ItemStatus;
+import io.tahawus.lynx.tenant.model.Tenant;
+import io.tahawus.lynx.tenant.service.TenantSchemaService.UpgradeOutcome;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.flywaydb.core.api.MigrationVersion;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TenantUpgradeJobs - Upgrades every tenant schema in the background.
+ *
+ * A release with a tenant migration would otherwise take one admin call per
+ * schema. A job walks all tenants and runs TenantSchemaService.upgradeIfBehind()
+ * on each:
+ * - Schemas whose flyway_schema_history already reaches the newest classpath
+ *   migration are marked CURRENT after one query; no Flyway instance is built.
+ * - The rest are migrated, lynx.tenant-upgrade.parallelism schemas at a time.
+ *
+ * CONNECTIONS:
+ * A Flyway run holds up to two pooled connections. Parallelism is capped so
+ * that lynx.tenant-upgrade.reserved-connections of the JDBC pool stay free
+ * for requests while a job runs.
+ *
+ * RETRIES:
+ * A failed schema is retried after lynx.tenant-upgrade.retry-delay, up to
+ * lynx.tenant-upgrade.max-attempts runs. retryFailed() queues the schemas that
+ * still failed once the job is done.
+ *
+ * One job runs at a time. Jobs live in memory on this node; a job interrupted
+ * by a restart is simply submitted again, current schemas are skipped cheaply.
+ *
+ * @author Dan Pasco
+ */
+@ApplicationScoped
+public class TenantUpgradeJobs {
+
+    private static final Logger LOG = Logger.getLogger(TenantUpgradeJobs.class);
+
+    /**
+     * Flyway keeps a second connection open for its schema history lock.
+     */
+    private static final int CONNECTIONS_PER_MIGRATION = 2;
+
+    @Inject
+    TenantSchemaService tenantSchemaService;
+
+    @ConfigProperty(name = "lynx.tenant-upgrade.parallelism", defaultValue = "3")
+    int parallelism;
+
+    @ConfigProperty(name = "lynx.tenant-upgrade.reserved-connections", defaultValue = "34")
+    int reservedConnections;
+
+    @ConfigProperty(name = "lynx.tenant-upgrade.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "lynx.tenant-upgrade.retry-delay", defaultValue = "PT30S")
+    Duration retryDelay;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "40")
+    int poolSize;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService retries;
+
+    private volatile Job latest;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(effectiveParallelism(), r -> {
+            Thread t = new Thread(r, "schema-upgrade-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        retries = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "schema-upgrade-retry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retries.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // =============================
+    // =   Submission              =
+    // =============================
+
+    /**
+     * Start upgrading every tenant schema (active tenants only if activeOnly).
+     *
+     * @throws ClientErrorException 409 if a job is still running
+     */
+    public synchronized SchemaUpgradeJobDto upgradeAll(boolean activeOnly) {
+        if (latest != null && !latest.isDone()) {
+            throw new ClientErrorException("Schema upgrade job already running: " + latest.id,
+                    Response.Status.CONFLICT);
+        }
+        List<Tenant> tenants = activeOnly ? Tenant.findActiveTenants() : Tenant.findAllTenants();
+        if (tenants.isEmpty()) {
+            throw new NotFoundException("No tenants to upgrade");
+        }
+        tenants = tenants.stream()
+                .sorted(Comparator.comparing(tenant -> tenant.id))
+                .toList();
+
+        MigrationVersion target = tenantSchemaService.availableVersion(tenants.get(0).schemaName);
+        Job job = new Job(UUID.randomUUID().toString(), target, effectiveParallelism(), tenants);
+        latest = job;
+        LOG.infof("Schema upgrade job %s: %d schemas to version %s, %d at a time",
+                job.id, tenants.size(), target, job.parallelism);
+        for (int i = 0; i < tenants.size(); i++) {
+            job.schedule(i, 0);
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Queue the FAILED schemas of a finished job again, with a fresh attempt budget.
+     */
+    public synchronized SchemaUpgradeJobDto retryFailed(String jobId) {
+        Job job = requireJob(jobId);
+        if (!job.isDone()) {
+            throw new ClientErrorException("Schema upgrade job still running: " + jobId,
+                    Response.Status.CONFLICT);
+        }
+        job.retryFailed();
+        return job.snapshot();
+    }
+
+    /**
+     * @throws NotFoundException if the job is not the latest one on this node
+     */
+    public SchemaUpgradeJobDto status(String jobId) {
+        return requireJob(jobId).snapshot();
+    }
+
+    private Job requireJob(String jobId) {
+        Job job = latest;
+        if (job == null || !job.id.equals(jobId)) {
+            throw new NotFoundException("Schema upgrade job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private int effectiveParallelism() {
+        int byPool = (poolSize - reservedConnections) / CONNECTIONS_PER_MIGRATION;
+        return Math.max(1, Math.min(parallelism, byPool));
+    }
+
+    // =============================
+    // =   Job State               =
+    // =============================
+
+    private final class Job {
+        final String id;
+        final MigrationVersion target;
+        final int parallelism;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final SchemaUpgradeJobDto.Item[] items;
+        private int open;
+        private LocalDateTime finishedAt;
+
+        Job(String id, MigrationVersion target, int parallelism, List<Tenant> tenants) {
+            this.id = id;
+            this.target = target;
+            this.parallelism = parallelism;
+            this.items = new SchemaUpgradeJobDto.Item[tenants.size()];
+            for (int i = 0; i < items.length; i++) {
+                Tenant tenant = tenants.get(i);
+                items[i] = new SchemaUpgradeJobDto.Item(tenant.id, tenant.tenantIdentifier, tenant.schemaName,
+                        ItemStatus.QUEUED, 0, null, null, null);
+            }
+            this.open = items.length;
+        }
+
+        void schedule(int index, long delayMillis) {
+            if (delayMillis <= 0) {
+                workers.execute(() -> upgrade(index));
+            } else {
+                retries.schedule(() -> workers.execute(() -> upgrade(index)), delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void upgrade(int index) {
+            SchemaUpgradeJobDto.Item item = update(index, ItemStatus.RUNNING, null, null, null, 1);
+            try {
+                UpgradeOutcome outcome = tenantSchemaService.upgradeIfBehind(item.schemaName(), target);
+                finish(index, outcome.migrated() ? ItemStatus.UPGRADED : ItemStatus.CURRENT,
+                        outcome.fromVersion(), outcome.toVersion(), null);
+            } catch (RuntimeException e) {
+                String error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                if (item.attempts() < maxAttempts) {
+                    LOG.warnf("Upgrade of %s failed (attempt %d of %d), retrying in %s: %s",
+                            item.schemaName(), item.attempts(), maxAttempts, retryDelay, error);
+                    update(index, ItemStatus.QUEUED, null, null, error, 0);
+                    schedule(index, retryDelay.toMillis());
+                } else {
+                    LOG.errorf("Upgrade of %s failed after %d attempts: %s", item.schemaName(), item.attempts(), error);
+                    finish(index, ItemStatus.FAILED, null, null, error);
+                }
+            }
+        }
+
+        synchronized void retryFailed() {
+            int count = 0;
+            for (int i = 0; i < items.length; i++) {
+                SchemaUpgradeJobDto.Item item = items[i];
+                if (item.status() == ItemStatus.FAILED) {
+                    items[i] = new SchemaUpgradeJobDto.Item(item.tenantId(), item.tenantIdentifier(),
+                            item.schemaName(), ItemStatus.QUEUED, 0, null, null, item.error());
+                    open++;
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            finishedAt = null;
+            LOG.infof("Schema upgrade job %s: retrying %d failed schemas", id, count);
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].status() == ItemStatus.QUEUED) {
+                    schedule(i, 0);
+                }
+            }
+        }
+
+        private synchronized SchemaUpgradeJobDto.Item update(int index, ItemStatus status,
+                                                             String fromVersion, String toVersion,
+                                                             String error, int addAttempts) {
+            SchemaUpgradeJobDto.Item item = items[index];
+            items[index] = new SchemaUpgradeJobDto.Item(item.tenantId(), item.tenantIdentifier(), item.schemaName(),
+                    status, item.attempts() + addAttempts, fromVersion, toVersion,
+                    error != null ? error : item.error());
+            return items[index];
+        }
+
+        private synchronized void finish(int index, ItemStatus status, String fromVersion, String toVersion,
+                                         String error) {
+            SchemaUpgradeJobDto.Item item = items[index];
+            items[index] = new SchemaUpgradeJobDto.Item(item.tenantId(), item.tenantIdentifier(), item.schemaName(),
+                    status, item.attempts(), fromVersion, toVersion, error);
+            if (--open == 0) {
+                finishedAt = LocalDateTime.now();
+                LOG.infof("Schema upgrade job %s done", id);
+            }
+        }
+
+        synchronized boolean isDone() {
+            return finishedAt != null;
+        }
+
+        synchronized SchemaUpgradeJobDto snapshot() {
+            int upgraded = 0;
+            int current = 0;
+            int failed = 0;
+            for (SchemaUpgradeJobDto.Item item : items) {
+                switch (item.status()) {
+                    case UPGRADED -> upgraded++;
+                    case CURRENT -> current++;
+                    case FAILED -> failed++;
+                    default -> { }
+                }
+            }
+            return new SchemaUpgradeJobDto(id,
+                    finishedAt != null ? SchemaUpgradeJobDto.Status.DONE : SchemaUpgradeJobDto.Status.RUNNING,
+                    target.getVersion(), parallelism, items.length, upgraded, current, failed,
+                    submittedAt, finishedAt, List.of(items));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- V2__table_sequences.sql
+-- Pooled per-table id sequences (<table>_seq) for public schema entities
+--
+-- INCREMENT BY must match lynx.id.allocation-size (pooled-lo blocks).
+
+DO $$
+DECLARE
+    t TEXT;
+    next_id BIGINT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['tenant', 'user_tenant_access'] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS public.%I INCREMENT BY ${idAllocationSize}', t || '_seq');
+
+        IF to_regclass('public.' || t) IS NOT NULL THEN
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) + 1 FROM public.%I', t) INTO next_id;
+            PERFORM setval('public.' || t || '_seq', next_id, false);
+            EXECUTE format('ALTER TABLE public.%I ALTER COLUMN id SET DEFAULT nextval(%L)', t, 'public.' || t || '_seq');
+        END IF;
+    END LOOP;
+END $$;
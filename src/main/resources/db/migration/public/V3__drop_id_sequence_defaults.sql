@@ -0,0 +1,17 @@
+-- V3__drop_id_sequence_defaults.sql
+-- Drop the nextval(<table>_seq) id defaults set by V2
+--
+-- The sequences are INCREMENT BY lynx.id.allocation-size (pooled-lo blocks), so
+-- every insert that fell back on the default used up a whole block of ids.
+-- Ids come from Hibernate (TableSequenceGenerator) only.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['tenant', 'user_tenant_access'] LOOP
+        IF to_regclass('public.' || t) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE public.%I ALTER COLUMN id DROP DEFAULT', t);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,25 @@
+-- V10__drop_id_sequence_defaults.sql
+-- Drop the nextval(<table>_seq) id defaults set by V3, V7 and V9
+-- This runs in each tenant's schema (not public)
+--
+-- The sequences are INCREMENT BY lynx.id.allocation-size (pooled-lo blocks), so
+-- every insert that fell back on the default used up a whole block of ids.
+-- Rows written outside Hibernate get their ids from TableSequenceGenerator.allocate().
+-- A native insert that forgets the id now fails instead of wasting a block.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOR t IN
+        SELECT c.table_name
+        FROM information_schema.columns c
+        WHERE c.table_schema = current_schema()
+          AND c.column_name = 'id'
+          -- Exactly <table>_seq: BIGSERIAL defaults (<table>_id_seq) stay, since
+          -- NumberSequence still relies on its IDENTITY-style default
+          AND c.column_default = format('nextval(%L::regclass)', c.table_name || '_seq')
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+    END LOOP;
+END $$;
@@ -0,0 +1,6 @@
+-- V11__contact_keyset_index.sql
+-- Composite index matching the keyset-paginated contact list (name, id)
+-- This runs in each tenant's schema (not public)
+
+CREATE INDEX IF NOT EXISTS idx_contact_name_id
+    ON contact (name, id);
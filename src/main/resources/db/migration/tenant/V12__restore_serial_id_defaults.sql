@@ -0,0 +1,22 @@
+-- V12__restore_serial_id_defaults.sql
+-- Restore the number_sequence id default that an earlier V10 dropped by mistake
+-- This runs in each tenant's schema (not public)
+--
+-- V10 was meant to drop only the pooled nextval(<table>_seq) defaults, but its
+-- first version also matched nextval('number_sequence_id_seq') from V1's
+-- BIGSERIAL column. NumberSequence (GenerationType.IDENTITY) needs it. Other
+-- tables keep no default: their ids come from <table>_seq via Hibernate.
+
+DO $$
+BEGIN
+    IF to_regclass('number_sequence_id_seq') IS NOT NULL
+       AND EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = 'number_sequence'
+                     AND column_name = 'id'
+                     AND column_default IS NULL) THEN
+        ALTER TABLE number_sequence ALTER COLUMN id SET DEFAULT nextval('number_sequence_id_seq');
+        PERFORM setval('number_sequence_id_seq',
+                       (SELECT COALESCE(MAX(id), 0) + 1 FROM number_sequence), false);
+    END IF;
+END $$;
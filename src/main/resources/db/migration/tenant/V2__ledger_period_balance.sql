@@ -0,0 +1,25 @@
+-- V2__ledger_period_balance.sql
+-- Per-period account balance rollup maintained by JournalService
+-- This runs in each tenant's schema (not public)
+
+CREATE TABLE IF NOT EXISTS ledger_period_balance (
+    id BIGSERIAL PRIMARY KEY,
+    fiscal_period_id BIGINT NOT NULL REFERENCES fiscal_period(id),
+    account_id BIGINT NOT NULL,
+    debit_total NUMERIC(19,4) NOT NULL DEFAULT 0,
+    credit_total NUMERIC(19,4) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_ledger_period_balance_period_account UNIQUE (fiscal_period_id, account_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_period_balance_account ON ledger_period_balance(account_id);
+
+-- Backfill from existing journal lines
+INSERT INTO ledger_period_balance (fiscal_period_id, account_id, debit_total, credit_total)
+SELECT j.fiscal_period_id,
+       l.account_id,
+       COALESCE(SUM(CASE WHEN l.entry_type = 'DEBIT' THEN l.amount END), 0),
+       COALESCE(SUM(CASE WHEN l.entry_type = 'CREDIT' THEN l.amount END), 0)
+FROM journal_line l
+JOIN journal j ON j.id = l.journal_id
+GROUP BY j.fiscal_period_id, l.account_id
+ON CONFLICT (fiscal_period_id, account_id) DO NOTHING;
@@ -0,0 +1,53 @@
+-- V3__table_sequences.sql
+-- Pooled per-table id sequences (<table>_seq) used by LynxPanacheEntity
+-- This runs in each tenant's schema (not public)
+--
+-- INCREMENT BY must match lynx.id.allocation-size (pooled-lo blocks).
+-- Each sequence starts after the current max(id), and the id column default
+-- is switched to it so rows inserted outside Hibernate draw from the same sequence.
+
+DO $$
+DECLARE
+    t TEXT;
+    next_id BIGINT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'business',
+        'contact',
+        'address',
+        'telephone',
+        'account_group',
+        'general_ledger_account',
+        'receivable_account',
+        'payable_account',
+        'bank_account',
+        'inventory_account',
+        'fiscal_year',
+        'fiscal_period',
+        'ledger',
+        'ledger_period_balance',
+        'journal',
+        'journal_line',
+        'document',
+        'journal_entry_document_line',
+        'closing_entry_document_line',
+        'disposal_ticket'
+    ] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY ${idAllocationSize}', t || '_seq');
+
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) + 1 FROM %I', t) INTO next_id;
+            PERFORM setval(t || '_seq', next_id, false);
+
+            IF EXISTS (SELECT 1 FROM information_schema.columns
+                       WHERE table_schema = current_schema()
+                         AND table_name = t
+                         AND column_name = 'id'
+                         AND is_identity = 'YES') THEN
+                EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', t);
+            END IF;
+
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_seq');
+        END IF;
+    END LOOP;
+END $$;
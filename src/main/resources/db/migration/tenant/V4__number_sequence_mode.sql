@@ -0,0 +1,9 @@
+-- V4__number_sequence_mode.sql
+-- Numbering mode per sequence: GAPLESS (row lock per number) or LEASED (block leases)
+-- This runs in each tenant's schema (not public)
+
+ALTER TABLE number_sequence ADD COLUMN IF NOT EXISTS mode VARCHAR(20) NOT NULL DEFAULT 'GAPLESS';
+ALTER TABLE number_sequence ADD COLUMN IF NOT EXISTS lease_size INTEGER;
+
+-- Scale-house ticket numbers do not need to be gapless
+UPDATE number_sequence SET mode = 'LEASED' WHERE sequence_key = 'DISPOSAL_TICKET';
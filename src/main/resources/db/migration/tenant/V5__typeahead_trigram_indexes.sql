@@ -0,0 +1,30 @@
+-- V5__typeahead_trigram_indexes.sql
+-- Trigram GIN indexes for typeahead search (ILIKE '%q%' and similarity matching)
+-- This runs in each tenant's schema (not public)
+--
+-- pg_trgm is installed once per database into public, so every tenant schema
+-- uses the same operator classes (public.gin_trgm_ops).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+DO $$
+DECLARE
+    idx TEXT[];
+BEGIN
+    FOREACH idx SLICE 1 IN ARRAY ARRAY[
+        ['general_ledger_account', 'short_code'],
+        ['general_ledger_account', 'name'],
+        ['receivable_account', 'short_code'],
+        ['payable_account', 'short_code'],
+        ['bank_account', 'short_code'],
+        ['bank_account', 'name'],
+        ['inventory_account', 'short_code'],
+        ['inventory_account', 'name'],
+        ['contact', 'name']
+    ] LOOP
+        IF to_regclass(idx[1]) IS NOT NULL THEN
+            EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I USING gin (%I public.gin_trgm_ops)',
+                    'idx_' || idx[1] || '_' || idx[2] || '_trgm', idx[1], idx[2]);
+        END IF;
+    END LOOP;
+END $$;
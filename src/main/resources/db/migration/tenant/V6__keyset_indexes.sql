@@ -0,0 +1,21 @@
+-- V6__keyset_indexes.sql
+-- Composite indexes matching the keyset-paginated list orderings
+-- This runs in each tenant's schema (not public)
+
+DO $$
+BEGIN
+    IF to_regclass('disposal_ticket') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_disposal_ticket_business_number_id
+            ON disposal_ticket (business_id, ticket_number DESC, id DESC);
+        CREATE INDEX IF NOT EXISTS idx_disposal_ticket_status_number_id
+            ON disposal_ticket (status, ticket_number DESC, id DESC);
+    END IF;
+
+    IF to_regclass('document') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_document_business_date_id
+            ON document (business_id, document_date DESC, id DESC);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_journal_business_posting_date_id
+    ON journal (business_id, posting_date DESC, id DESC);
@@ -0,0 +1,88 @@
+-- V7__business_logo_table.sql
+-- Move business logos out of the business row into business_logo, with
+-- pre-generated downscaled variants in business_logo_variant
+-- This runs in each tenant's schema (not public)
+--
+-- business keeps only logo_hash (SHA-256 hex of the logo), so loading a
+-- business never reads logo bytes. Variants of migrated logos are generated
+-- by the application on first request.
+
+CREATE SEQUENCE IF NOT EXISTS business_logo_seq INCREMENT BY ${idAllocationSize};
+CREATE SEQUENCE IF NOT EXISTS business_logo_variant_seq INCREMENT BY ${idAllocationSize};
+
+CREATE TABLE IF NOT EXISTS business_logo (
+    id BIGINT PRIMARY KEY DEFAULT nextval('business_logo_seq'),
+    business_id BIGINT NOT NULL REFERENCES business(id) ON DELETE CASCADE,
+    content_type VARCHAR(100),
+    file_name VARCHAR(255),
+    content_hash VARCHAR(64) NOT NULL,
+    size_bytes INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    CONSTRAINT uk_business_logo_business UNIQUE (business_id)
+);
+
+CREATE TABLE IF NOT EXISTS business_logo_variant (
+    id BIGINT PRIMARY KEY DEFAULT nextval('business_logo_variant_seq'),
+    logo_id BIGINT NOT NULL REFERENCES business_logo(id) ON DELETE CASCADE,
+    variant VARCHAR(20) NOT NULL,
+    width INTEGER NOT NULL,
+    height INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    CONSTRAINT uk_business_logo_variant UNIQUE (logo_id, variant)
+);
+
+ALTER TABLE business ADD COLUMN IF NOT EXISTS logo_hash VARCHAR(64);
+
+-- Copy existing logos. logo_data may be a large object (oid) or bytea
+-- depending on how the column was created; V1 had a bytea logo column.
+DO $$
+DECLARE
+    col_type TEXT;
+    data_expr TEXT;
+BEGIN
+    SELECT c.data_type INTO col_type
+    FROM information_schema.columns c
+    WHERE c.table_schema = current_schema()
+      AND c.table_name = 'business'
+      AND c.column_name = 'logo_data';
+
+    IF col_type IS NOT NULL THEN
+        data_expr := CASE WHEN col_type = 'oid' THEN 'lo_get(b.logo_data)' ELSE 'b.logo_data' END;
+
+        EXECUTE format($sql$
+            INSERT INTO business_logo (business_id, content_type, file_name, content_hash, size_bytes, data)
+            SELECT s.id, s.content_type, s.file_name, encode(sha256(s.data), 'hex'), length(s.data), s.data
+            FROM (SELECT b.id, b.logo_content_type AS content_type, b.logo_file_name AS file_name, %s AS data
+                  FROM business b
+                  WHERE b.logo_data IS NOT NULL) s
+            WHERE length(s.data) > 0
+            ON CONFLICT (business_id) DO NOTHING
+        $sql$, data_expr);
+
+        IF col_type = 'oid' THEN
+            PERFORM lo_unlink(logo_data) FROM business WHERE logo_data IS NOT NULL;
+        END IF;
+
+        ALTER TABLE business DROP COLUMN logo_data;
+        ALTER TABLE business DROP COLUMN IF EXISTS logo_content_type;
+        ALTER TABLE business DROP COLUMN IF EXISTS logo_file_name;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'business'
+                 AND column_name = 'logo') THEN
+        INSERT INTO business_logo (business_id, content_hash, size_bytes, data)
+        SELECT b.id, encode(sha256(b.logo), 'hex'), length(b.logo), b.logo
+        FROM business b
+        WHERE b.logo IS NOT NULL AND length(b.logo) > 0
+        ON CONFLICT (business_id) DO NOTHING;
+
+        ALTER TABLE business DROP COLUMN logo;
+    END IF;
+END $$;
+
+UPDATE business b
+SET logo_hash = l.content_hash
+FROM business_logo l
+WHERE l.business_id = b.id;
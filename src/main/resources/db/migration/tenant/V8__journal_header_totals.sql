@@ -0,0 +1,29 @@
+-- V8__journal_header_totals.sql
+-- Stored debit/credit totals and line count on the journal header, so journal
+-- listings do not have to read journal_line
+-- This runs in each tenant's schema (not public)
+--
+-- Journals are immutable; the totals are written once at creation
+-- (see Journal and JournalService) and verified by JournalService.checkIntegrity.
+
+ALTER TABLE journal ADD COLUMN IF NOT EXISTS total_debits NUMERIC(19, 4);
+ALTER TABLE journal ADD COLUMN IF NOT EXISTS total_credits NUMERIC(19, 4);
+ALTER TABLE journal ADD COLUMN IF NOT EXISTS line_count INTEGER;
+
+UPDATE journal j
+SET total_debits = t.debits,
+    total_credits = t.credits,
+    line_count = t.lines
+FROM (SELECT j2.id,
+             COALESCE(SUM(l.amount) FILTER (WHERE l.entry_type = 'DEBIT'), 0) AS debits,
+             COALESCE(SUM(l.amount) FILTER (WHERE l.entry_type = 'CREDIT'), 0) AS credits,
+             COUNT(l.id) AS lines
+      FROM journal j2
+      LEFT JOIN journal_line l ON l.journal_id = j2.id
+      WHERE j2.total_debits IS NULL
+      GROUP BY j2.id) t
+WHERE j.id = t.id;
+
+ALTER TABLE journal ALTER COLUMN total_debits SET NOT NULL;
+ALTER TABLE journal ALTER COLUMN total_credits SET NOT NULL;
+ALTER TABLE journal ALTER COLUMN line_count SET NOT NULL;
@@ -0,0 +1,27 @@
+-- V9__document_journal_line.sql
+-- Provenance of netted summary journal lines (see DocumentJournalLine)
+-- This runs in each tenant's schema (not public)
+--
+-- One row per (journal, document, account, line) with the document's signed
+-- contribution. line_number is null when an account netted to zero.
+
+CREATE SEQUENCE IF NOT EXISTS document_journal_line_seq INCREMENT BY ${idAllocationSize};
+
+DO $$
+BEGIN
+    IF to_regclass('document') IS NOT NULL THEN
+        CREATE TABLE IF NOT EXISTS document_journal_line (
+            id BIGINT PRIMARY KEY DEFAULT nextval('document_journal_line_seq'),
+            journal_id BIGINT NOT NULL REFERENCES journal(id),
+            line_number INTEGER,
+            document_id BIGINT NOT NULL REFERENCES document(id),
+            account_id BIGINT NOT NULL,
+            amount NUMERIC(19, 4) NOT NULL
+        );
+
+        CREATE INDEX IF NOT EXISTS idx_document_journal_line_journal
+            ON document_journal_line (journal_id, line_number);
+        CREATE INDEX IF NOT EXISTS idx_document_journal_line_document
+            ON document_journal_line (document_id);
+    END IF;
+END $$;
@@ -0,0 +1,202 @@
+package io.tahawus.lynx.core.model;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert round trips for a 200-line JournalEntryDocument: IDENTITY ids (one
+ * insert per row, batching impossible) against pooled per-table sequences
+ * with JDBC batches of quarkus.hibernate-orm.jdbc.statement-batch-size.
+ *
+ * Scratch tables shaped like document / document line stand in for the
+ * entities so the two id strategies can run side by side in one schema.
+ *
+ * Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark -Dtest=IdAllocationBenchmark}.
+ */
+@QuarkusTest
+@Tag("benchmark")
+class IdAllocationBenchmark {
+
+    private static final Logger LOG = Logger.getLogger(IdAllocationBenchmark.class);
+
+    private static final int LINES = 200;
+    private static final int STATEMENT_BATCH_SIZE = 50;
+    private static final int DOCUMENTS = 100;
+    private static final int ROUNDS = 3;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    /**
+     * Round trips and elapsed time for inserting DOCUMENTS documents.
+     */
+    private record Run(long roundTrips, long nanos) {}
+
+    @BeforeEach
+    void createTables() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table bench_identity_document (id bigint generated by default as identity primary key, reference varchar(50))");
+            statement.execute("create table bench_identity_line (id bigint generated by default as identity primary key, document_id bigint, line_number int, amount numeric(19,4))");
+            statement.execute("create table bench_pooled_document (id bigint primary key, reference varchar(50))");
+            statement.execute("create table bench_pooled_line (id bigint primary key, document_id bigint, line_number int, amount numeric(19,4))");
+            int increment = TableSequenceGenerator.allocationSize();
+            statement.execute("create sequence bench_pooled_document_seq increment by " + increment);
+            statement.execute("create sequence bench_pooled_line_seq increment by " + increment);
+        }
+    }
+
+    @AfterEach
+    void dropTables() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bench_identity_document, bench_identity_line, " +
+                    "bench_pooled_document, bench_pooled_line");
+            statement.execute("drop sequence if exists bench_pooled_document_seq, bench_pooled_line_seq");
+        }
+    }
+
+    @Test
+    void pooledIdsBatchTwoHundredLineDocuments() throws SQLException {
+        Run identity = null;
+        Run pooled = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            truncate();
+            identity = fastest(identity, run(this::insertIdentity));
+            pooled = fastest(pooled, run(this::insertPooled));
+        }
+
+        assertEquals(DOCUMENTS * LINES, distinctIds("bench_identity_line"));
+        assertEquals(DOCUMENTS * LINES, distinctIds("bench_pooled_line"));
+        assertEquals(DOCUMENTS * (1 + LINES), identity.roundTrips());
+        assertTrue(pooled.roundTrips() * 10 < identity.roundTrips(),
+                "pooled ids should cut insert round trips by at least 10x");
+
+        LOG.infof("%d-line document, best of %d x %d documents: IDENTITY %d round trips/document %.1f ms/document; " +
+                        "pooled + batch %d round trips/document %.1f ms/document",
+                LINES, ROUNDS, DOCUMENTS,
+                identity.roundTrips() / DOCUMENTS, identity.nanos() / 1e6 / DOCUMENTS,
+                pooled.roundTrips() / DOCUMENTS, pooled.nanos() / 1e6 / DOCUMENTS);
+    }
+
+    /**
+     * What IDENTITY forces on Hibernate: every insert returns its generated id.
+     */
+    private long insertIdentity(Connection connection, int document) throws SQLException {
+        long roundTrips = 0;
+        long documentId;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into bench_identity_document (reference) values (?) returning id")) {
+            ps.setString(1, "JE-" + document);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                documentId = rs.getLong(1);
+            }
+            roundTrips++;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into bench_identity_line (document_id, line_number, amount) values (?, ?, ?) returning id")) {
+            for (int line = 1; line <= LINES; line++) {
+                ps.setLong(1, documentId);
+                ps.setInt(2, line);
+                ps.setBigDecimal(3, BigDecimal.valueOf(line, 2));
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                }
+                roundTrips++;
+            }
+        }
+        return roundTrips;
+    }
+
+    /**
+     * Pooled ids: one nextval per table per allocation block, inserts in batches.
+     */
+    private long insertPooled(Connection connection, int document) throws SQLException {
+        long roundTrips = 0;
+        long documentId = TableSequenceGenerator.allocate(connection, "bench_pooled_document", 1)[0];
+        long[] lineIds = TableSequenceGenerator.allocate(connection, "bench_pooled_line", LINES);
+        roundTrips += 2;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into bench_pooled_document (id, reference) values (?, ?)")) {
+            ps.setLong(1, documentId);
+            ps.setString(2, "JE-" + document);
+            ps.executeUpdate();
+            roundTrips++;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into bench_pooled_line (id, document_id, line_number, amount) values (?, ?, ?, ?)")) {
+            for (int line = 1; line <= LINES; line++) {
+                ps.setLong(1, lineIds[line - 1]);
+                ps.setLong(2, documentId);
+                ps.setInt(3, line);
+                ps.setBigDecimal(4, BigDecimal.valueOf(line, 2));
+                ps.addBatch();
+                if (line % STATEMENT_BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                    roundTrips++;
+                }
+            }
+            if (LINES % STATEMENT_BATCH_SIZE != 0) {
+                ps.executeBatch();
+                roundTrips++;
+            }
+        }
+        return roundTrips;
+    }
+
+    private interface Insert {
+        long document(Connection connection, int document) throws SQLException;
+    }
+
+    private Run run(Insert insert) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long roundTrips = 0;
+            long start = System.nanoTime();
+            for (int document = 0; document < DOCUMENTS; document++) {
+                roundTrips += insert.document(connection, document);
+            }
+            connection.commit();
+            return new Run(roundTrips, System.nanoTime() - start);
+        }
+    }
+
+    private static Run fastest(Run best, Run run) {
+        return best == null || run.nanos() < best.nanos() ? run : best;
+    }
+
+    private void truncate() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("truncate bench_identity_document, bench_identity_line, " +
+                    "bench_pooled_document, bench_pooled_line");
+        }
+    }
+
+    private long distinctIds(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select count(distinct id) from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io.tahawus.lynx.core.service;
+
+import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.core.dto.NumberSequenceDto;
+import io.tahawus.lynx.core.dto.NumberSequenceUpdateDto;
+import io.tahawus.lynx.core.model.NumberSequence;
+import io.tahawus.lynx.core.model.NumberSequenceMode;
+import io.tahawus.lynx.tenant.CurrentTenant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mode switches and lease handling of NumberSequenceService, with the
+ * sequence row kept in memory and shared by two nodes.
+ */
+class NumberSequenceServiceTest {
+
+    private static final String TENANT = "tenant_acme";
+    private static final long BUSINESS_ID = 1L;
+    private static final long SEQUENCE_ID = 7L;
+    private static final String KEY = "DISPOSAL_TICKET";
+
+    private NumberSequence row;
+    private int leaseCalls;
+    private final List<InvalidationBus.Notice> published = new ArrayList<>();
+    private final List<NumberSequenceService> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Business business = new Business();
+        business.id = BUSINESS_ID;
+        row = NumberSequence.create(business, KEY, 1L);
+        row.id = SEQUENCE_ID;
+        row.mode = NumberSequenceMode.LEASED;
+        row.leaseSize = 10;
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(NumberSequenceService::shutdown);
+    }
+
+    @Test
+    void switchToGaplessReachesEveryNode() {
+        NumberSequenceService nodeA = node();
+        NumberSequenceService nodeB = node();
+
+        assertEquals(1L, nodeA.getNextNumber(BUSINESS_ID, KEY));
+        assertEquals(11L, nodeB.getNextNumber(BUSINESS_ID, KEY));
+        assertEquals(21L, row.nextNumber);
+
+        NumberSequenceDto updated = nodeA.update(SEQUENCE_ID,
+                new NumberSequenceUpdateDto(null, NumberSequenceMode.GAPLESS, null));
+        assertEquals(NumberSequenceMode.GAPLESS, updated.mode());
+        assertEquals(List.of(new InvalidationBus.Notice(TENANT, NumberSequenceService.NOTICE_ENTITY, BUSINESS_ID + ":" + KEY)),
+                published);
+
+        // Node A dropped its lease after commit: straight from the row
+        assertEquals(21L, nodeA.getNextNumber(BUSINESS_ID, KEY));
+
+        // Node B drops its lease when the notice arrives
+        published.forEach(nodeB::onInvalidation);
+        assertEquals(22L, nodeB.getNextNumber(BUSINESS_ID, KEY));
+        assertEquals(23L, row.nextNumber);
+        assertEquals(2, leaseCalls);
+    }
+
+    @Test
+    void switchToLeasedAppliesLeaseSize() {
+        row.mode = NumberSequenceMode.GAPLESS;
+        NumberSequenceService node = node();
+        assertEquals(1L, node.getNextNumber(BUSINESS_ID, KEY));
+
+        node.update(SEQUENCE_ID, new NumberSequenceUpdateDto(null, NumberSequenceMode.LEASED, 5));
+
+        assertEquals(2L, node.getNextNumber(BUSINESS_ID, KEY));
+        assertEquals(7L, row.nextNumber);
+        assertEquals(1, leaseCalls);
+    }
+
+    @Test
+    void nextNumberCannotMoveBack() {
+        NumberSequenceService node = node();
+        node.getNextNumber(BUSINESS_ID, KEY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> node.update(SEQUENCE_ID, new NumberSequenceUpdateDto(5L, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> node.update(SEQUENCE_ID, new NumberSequenceUpdateDto(null, null, 0)));
+        assertEquals(11L, row.nextNumber);
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void leasedNumbersRunOnIntoThePrefetchedBlock() {
+        row.leaseSize = 8;
+        NumberSequenceService node = node();
+
+        Set<Long> numbers = new HashSet<>();
+        for (long expected = 1; expected <= 20; expected++) {
+            assertEquals(expected, node.getNextNumber(BUSINESS_ID, KEY));
+            numbers.add(expected);
+        }
+        assertEquals(20, numbers.size());
+        assertEquals(3, leaseCalls);
+    }
+
+    @Test
+    void leaseCompletingOnTheCallingThreadIsPickedUp() {
+        row.leaseSize = 2;
+        NumberSequenceService node = node();
+        node.shutdown();
+        node.leaseExecutor = new CallerRunsExecutor();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (long expected = 1; expected <= 10; expected++) {
+                assertEquals(expected, node.getNextNumber(BUSINESS_ID, KEY));
+            }
+        });
+        // Five blocks used, the sixth prefetched when the fifth ran out
+        assertEquals(6, leaseCalls);
+    }
+
+    /**
+     * Runs every task inline, so a lease completes before refill() returns.
+     */
+    private static final class CallerRunsExecutor extends AbstractExecutorService {
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /**
+     * A node with its own caches; every node sees the same row.
+     */
+    private NumberSequenceService node() {
+        NumberSequenceService service = new NumberSequenceService() {
+            @Override
+            Optional<NumberSequenceMode> findMode(Long businessId, String sequenceKey) {
+                synchronized (row) {
+                    return Optional.of(row.mode);
+                }
+            }
+
+            @Override
+            NumberSequence lockOrCreate(Long businessId, String sequenceKey) {
+                return row;
+            }
+
+            @Override
+            NumberSequence lockById(Long id) {
+                return id == SEQUENCE_ID ? row : null;
+            }
+
+            @Override
+            NumberRange leaseBlock(String tenantIdentifier, Long businessId, String sequenceKey) {
+                synchronized (row) {
+                    leaseCalls++;
+                    int size = row.leaseSize != null ? row.leaseSize : defaultLeaseSize;
+                    return new NumberRange(row.generateBlock(size), size);
+                }
+            }
+
+            @Override
+            String currentTenant() {
+                return TENANT;
+            }
+        };
+        service.currentTenant = new CurrentTenant() {
+            @Override
+            public String requireTenantId() {
+                return "acme";
+            }
+        };
+        service.transactionCallbacks = new TransactionCallbacks() {
+            @Override
+            public void afterCommit(Runnable action) {
+                action.run();
+            }
+        };
+        service.invalidationBus = new InvalidationBus() {
+            @Override
+            public void publish(String tenant, String entity, Object id) {
+                published.add(new Notice(tenant, entity, String.valueOf(id)));
+            }
+        };
+        service.defaultLeaseSize = 100;
+        service.leaseThreads = 1;
+        service.leaseTimeout = Duration.ofSeconds(10);
+        service.init();
+        nodes.add(service);
+        return service;
+    }
+}
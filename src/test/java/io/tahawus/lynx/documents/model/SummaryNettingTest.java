@@ -0,0 +1,172 @@
+package io.tahawus.lynx.documents.model;
+
+import io.tahawus.lynx.core.model.TableSequenceGenerator;
+import io.tahawus.lynx.ledger.dto.JournalCreateDto.Line;
+import io.tahawus.lynx.ledger.model.EntryType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Netting of summary postings and the provenance rows it records.
+ */
+class SummaryNettingTest {
+
+    private static final long CASH = 100L;
+    private static final long REVENUE = 200L;
+    private static final long CLEARING = 300L;
+    private static final long JOURNAL_ID = 77L;
+    private static final long FIRST_ID = 1001L;
+
+    /**
+     * A sale, a sale through a clearing account that nets to zero, and a refund.
+     */
+    private static SummaryNetting netted(NettingMode mode) {
+        SummaryNetting netting = new SummaryNetting(mode);
+        netting.add(1L, List.of(
+                Line.debit(CASH, amount("100.00")),
+                Line.credit(REVENUE, amount("100.00"))));
+        netting.add(2L, List.of(
+                Line.debit(CASH, amount("40.00")),
+                Line.credit(REVENUE, amount("40.00")),
+                Line.debit(CLEARING, amount("10.00")),
+                Line.credit(CLEARING, amount("10.00"))));
+        netting.add(3L, List.of(
+                Line.credit(CASH, amount("30.00")),
+                Line.debit(REVENUE, amount("30.00"))));
+        return netting;
+    }
+
+    @Test
+    void netByAccountRecordsEachDocumentsShareOfEveryLine() throws SQLException {
+        SummaryNetting netting = netted(NettingMode.NET_BY_ACCOUNT);
+
+        List<Line> lines = netting.lines();
+        assertEquals(2, lines.size());
+        assertLine(lines.get(0), CASH, EntryType.DEBIT, "110.00");
+        assertLine(lines.get(1), REVENUE, EntryType.CREDIT, "110.00");
+
+        RecordingConnection recording = new RecordingConnection();
+        netting.provenance().apply(recording.connection(), JOURNAL_ID);
+
+        // id, journal_id, line_number, document_id, account_id, amount
+        assertEquals(List.of(
+                row(FIRST_ID, 1, 1L, CASH, "100.00"),
+                row(FIRST_ID + 1, 2, 1L, REVENUE, "-100.00"),
+                row(FIRST_ID + 2, 1, 2L, CASH, "40.00"),
+                row(FIRST_ID + 3, 2, 2L, REVENUE, "-40.00"),
+                row(FIRST_ID + 4, null, 2L, CLEARING, "0.00"),
+                row(FIRST_ID + 5, 1, 3L, CASH, "-30.00"),
+                row(FIRST_ID + 6, 2, 3L, REVENUE, "30.00")
+        ), recording.rows);
+        assertEquals(1, recording.sequenceCalls, "one nextval round trip for the whole block");
+    }
+
+    @Test
+    void byAccountAndTypeKeepsDebitsAndCreditsApart() {
+        List<Line> lines = netted(NettingMode.BY_ACCOUNT_AND_TYPE).lines();
+
+        assertEquals(6, lines.size());
+        assertLine(lines.get(0), CASH, EntryType.DEBIT, "140.00");
+        assertLine(lines.get(1), REVENUE, EntryType.CREDIT, "140.00");
+        assertLine(lines.get(2), CLEARING, EntryType.DEBIT, "10.00");
+        assertLine(lines.get(3), CLEARING, EntryType.CREDIT, "10.00");
+        assertLine(lines.get(4), CASH, EntryType.CREDIT, "30.00");
+        assertLine(lines.get(5), REVENUE, EntryType.DEBIT, "30.00");
+        assertEquals("Net of 2 document lines", lines.get(0).description());
+    }
+
+    @Test
+    void noneIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SummaryNetting(NettingMode.NONE));
+    }
+
+    private static void assertLine(Line line, long accountId, EntryType entryType, String amount) {
+        assertEquals(accountId, line.accountId());
+        assertEquals(entryType, line.entryType());
+        assertEquals(amount(amount), line.amount());
+    }
+
+    private static List<Object> row(long id, Integer lineNumber, long documentId, long accountId, String amount) {
+        return Arrays.asList(id, JOURNAL_ID, lineNumber, documentId, accountId, amount(amount));
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+
+    /**
+     * JDBC stand-in: answers the nextval query with blocks starting at
+     * FIRST_ID and keeps the parameters of every batched insert.
+     */
+    private static final class RecordingConnection {
+        final List<List<Object>> rows = new ArrayList<>();
+        int sequenceCalls;
+
+        Connection connection() {
+            return proxy(Connection.class, (method, args) -> switch (method) {
+                case "prepareStatement" -> statement((String) args[0]);
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(method);
+            });
+        }
+
+        private PreparedStatement statement(String sql) {
+            List<Object> parameters = new ArrayList<>();
+            return proxy(PreparedStatement.class, (method, args) -> switch (method) {
+                case "setLong", "setInt", "setBigDecimal", "setString" -> set(parameters, (Integer) args[0], args[1]);
+                case "setNull" -> set(parameters, (Integer) args[0], null);
+                case "executeQuery" -> {
+                    assertTrue(sql.contains("nextval"), "unexpected query: " + sql);
+                    sequenceCalls++;
+                    yield blocks((Integer) parameters.get(1));
+                }
+                case "addBatch" -> {
+                    rows.add(new ArrayList<>(parameters));
+                    parameters.clear();
+                    yield null;
+                }
+                case "executeBatch" -> new int[0];
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(method);
+            });
+        }
+
+        private static Object set(List<Object> parameters, int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+            return null;
+        }
+
+        private static ResultSet blocks(int count) {
+            int[] row = {0};
+            return proxy(ResultSet.class, (method, args) -> switch (method) {
+                case "next" -> row[0]++ < count;
+                case "getLong" -> FIRST_ID + (row[0] - 1L) * TableSequenceGenerator.allocationSize();
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(method);
+            });
+        }
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+}
@@ -0,0 +1,92 @@
+package io.tahawus.lynx.documents.service;
+
+import io.tahawus.lynx.documents.dto.PostingJobDto;
+import io.tahawus.lynx.documents.dto.PostingJobDto.ItemStatus;
+import io.tahawus.lynx.documents.model.DocumentStatus;
+import io.tahawus.lynx.tenant.CurrentTenant;
+import io.tahawus.lynx.tenant.TenantTaskRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Failure handling of PostingQueue batches.
+ */
+class PostingQueueTest {
+
+    private static final String TENANT = "acme";
+    private static final long BUSINESS_ID = 10L;
+
+    private PostingQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new PostingQueue();
+        queue.currentTenant = new CurrentTenant() {
+            @Override
+            public String tenantId() {
+                return TENANT;
+            }
+
+            @Override
+            public String requireTenantId() {
+                return TENANT;
+            }
+        };
+        // Fails before any document transaction starts, so postBatch itself throws
+        queue.tenantTaskRunner = new TenantTaskRunner() {
+            @Override
+            public void run(String tenantIdentifier, Runnable action) {
+                throw new IllegalStateException("Tenant schema unavailable");
+            }
+        };
+        queue.concurrency = 1;
+        queue.batchSize = 50;
+        queue.retention = Duration.ofHours(1);
+        queue.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.shutdown();
+    }
+
+    @Test
+    void failedBatchFinishesEveryItemAndReleasesItsDocuments() throws InterruptedException {
+        PostingJobDto first = awaitDone(queue.enqueue(List.of(1L, 2L), completed(1L, 2L)));
+
+        assertEquals(2, first.failed());
+        for (PostingJobDto.Item item : first.items()) {
+            assertEquals(ItemStatus.FAILED, item.status());
+            assertEquals("Tenant schema unavailable", item.error());
+        }
+
+        // Not "already queued": the failed batch gave its documents back
+        PostingJobDto second = awaitDone(queue.enqueue(List.of(1L, 2L), completed(1L, 2L)));
+        assertEquals(0, second.rejected());
+        assertEquals(2, second.failed());
+    }
+
+    private PostingJobDto awaitDone(PostingJobDto submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        PostingJobDto job = submitted;
+        while (!job.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "job did not finish: " + job);
+            Thread.sleep(10);
+            job = queue.status(submitted.jobId());
+        }
+        return job;
+    }
+
+    private static List<Object[]> completed(Long... documentIds) {
+        return Arrays.stream(documentIds)
+                .map(id -> new Object[]{id, BUSINESS_ID, DocumentStatus.COMPLETED})
+                .toList();
+    }
+}
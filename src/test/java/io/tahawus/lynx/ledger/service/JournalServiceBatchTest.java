@@ -0,0 +1,147 @@
+package io.tahawus.lynx.ledger.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.ledger.dto.JournalBatchResultDto;
+import io.tahawus.lynx.ledger.dto.JournalCreateDto;
+import io.tahawus.lynx.ledger.dto.JournalCreateDto.Line;
+import io.tahawus.lynx.ledger.model.FiscalPeriodStatus;
+import io.tahawus.lynx.ledger.model.FiscalYearStatus;
+import io.tahawus.lynx.ledger.model.JournalType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-item validation of JournalService.createBatch().
+ */
+class JournalServiceBatchTest {
+
+    private static final long BUSINESS_ID = 1L;
+    private static final long CASH = 100L;
+    private static final long REVENUE = 200L;
+    private static final long OTHER_BUSINESS_ACCOUNT = 300L;
+    private static final LocalDate ENTRY_DATE = LocalDate.of(2026, 1, 15);
+
+    private JournalService service;
+    private JournalService.BatchReferences references;
+
+    @BeforeEach
+    void setUp() {
+        service = new JournalService();
+        service.objectMapper = new ObjectMapper().findAndRegisterModules();
+        service.fiscalCalendar = new FiscalCalendar() {
+            @Override
+            public Optional<PeriodEntry> findFirstOpenOnOrAfter(Long businessId, LocalDate date) {
+                return Optional.of(new PeriodEntry(10L, 5L, 2026, 1,
+                        LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31),
+                        FiscalPeriodStatus.OPEN, FiscalYearStatus.OPEN));
+            }
+        };
+
+        Business business = new Business();
+        business.id = BUSINESS_ID;
+        references = new JournalService.BatchReferences(
+                Map.of(BUSINESS_ID, business),
+                Map.of(CASH, BUSINESS_ID, REVENUE, BUSINESS_ID, OTHER_BUSINESS_ACCOUNT, 2L),
+                Set.of());
+    }
+
+    @Test
+    void mixedBatchRejectsOnlyInvalidItems() {
+        List<JournalCreateDto> batch = Arrays.asList(
+                journal(BUSINESS_ID, "Sale", Line.debit(CASH, amount("100")), Line.credit(REVENUE, amount("100"))),
+                journal(BUSINESS_ID, "Unbalanced", Line.debit(CASH, amount("100")), Line.credit(REVENUE, amount("90"))),
+                journal(99L, "Unknown business", Line.debit(CASH, amount("5")), Line.credit(REVENUE, amount("5"))),
+                null,
+                journal(BUSINESS_ID, "Null line", Line.debit(CASH, amount("5")), null),
+                journal(BUSINESS_ID, " ", Line.debit(CASH, amount("5")), Line.credit(REVENUE, amount("5"))),
+                journal(BUSINESS_ID, "Foreign account",
+                        Line.debit(OTHER_BUSINESS_ACCOUNT, amount("5")), Line.credit(REVENUE, amount("5"))),
+                journal(BUSINESS_ID, "Second sale", Line.debit(CASH, amount("7")), Line.credit(REVENUE, amount("7"))));
+        JournalBatchResultDto[] results = new JournalBatchResultDto[batch.size()];
+
+        List<JournalService.PendingJournal> pending = service.validateBatch(batch, references, results);
+
+        assertEquals(List.of(0, 7), pending.stream().map(JournalService.PendingJournal::index).toList());
+        assertNull(results[0]);
+        assertNull(results[7]);
+        for (int i = 1; i <= 6; i++) {
+            assertNotNull(results[i], "item " + i + " should be rejected");
+            assertFalse(results[i].succeeded());
+            assertEquals(i, results[i].index());
+        }
+        assertTrue(results[1].error().contains("balanced"));
+        assertTrue(results[2].error().contains("Business not found"));
+        assertTrue(results[4].error().contains("null"));
+        assertTrue(results[5].error().contains("description"));
+        assertTrue(results[6].error().contains("Account not found"));
+    }
+
+    @Test
+    void unknownReversedJournalIsRejected() {
+        JournalCreateDto reversal = new JournalCreateDto(BUSINESS_ID, ENTRY_DATE, 1L, JournalType.JE, null,
+                "Reversal", 42L, List.of(Line.debit(REVENUE, amount("1")), Line.credit(CASH, amount("1"))));
+        JournalBatchResultDto[] results = new JournalBatchResultDto[1];
+
+        List<JournalService.PendingJournal> pending = service.validateBatch(List.of(reversal), references, results);
+
+        assertTrue(pending.isEmpty());
+        assertTrue(results[0].error().contains("Reverses journal not found"));
+    }
+
+    @Test
+    void malformedItemIsRejectedAmongValidOnes() throws Exception {
+        List<JsonNode> items = service.objectMapper.readValue("""
+                [
+                  {"businessId": 1, "entryDate": "2026-01-15", "documentId": 1, "journalType": "JE",
+                   "description": "Sale", "lines": [
+                     {"accountId": 100, "entryType": "DEBIT", "amount": 10},
+                     {"accountId": 200, "entryType": "CREDIT", "amount": 10}]},
+                  {"businessId": 1, "entryDate": "2026-01-15", "documentId": 1, "journalType": "JE",
+                   "description": "Missing account", "lines": [
+                     {"entryType": "DEBIT", "amount": 10},
+                     {"accountId": 200, "entryType": "CREDIT", "amount": 10}]},
+                  {"businessId": 1, "entryDate": "2026-01-15", "documentId": 1, "journalType": "JE",
+                   "description": "Negative", "lines": [
+                     {"accountId": 100, "entryType": "DEBIT", "amount": -10},
+                     {"accountId": 200, "entryType": "CREDIT", "amount": -10}]},
+                  {"businessId": 1, "entryDate": "not-a-date", "documentId": 1, "journalType": "JE",
+                   "description": "Bad date", "lines": []},
+                  {"businessId": 1, "entryDate": "2026-01-15", "documentId": 1, "journalType": "JE",
+                   "description": "Second sale", "lines": [
+                     {"accountId": 100, "entryType": "DEBIT", "amount": 7},
+                     {"accountId": 200, "entryType": "CREDIT", "amount": 7}]}
+                ]
+                """, service.objectMapper.getTypeFactory().constructCollectionType(List.class, JsonNode.class));
+        JournalBatchResultDto[] results = new JournalBatchResultDto[items.size()];
+
+        List<JournalCreateDto> dtos = service.convertBatch(items, results);
+        List<JournalService.PendingJournal> pending = service.validateBatch(dtos, references, results);
+
+        assertEquals(List.of(0, 4), pending.stream().map(JournalService.PendingJournal::index).toList());
+        assertEquals("accountId is required", results[1].error());
+        assertEquals("amount must be positive", results[2].error());
+        assertNotNull(results[3].error());
+        assertEquals(3, results[3].index());
+    }
+
+    private static JournalCreateDto journal(long businessId, String description, Line... lines) {
+        return new JournalCreateDto(businessId, ENTRY_DATE, 1L, JournalType.JE, null, description, null,
+                Arrays.asList(lines));
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,330 @@
+package io.tahawus.lynx.operations.service;
+
+import io.tahawus.lynx.business.model.Business;
+import io.tahawus.lynx.business.service.LogoImageCache;
+import io.tahawus.lynx.contacts.model.Organization;
+import io.tahawus.lynx.operations.model.DisposalTicket;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tickets per second rendered by DisposalTicketPdfService, against the
+ * rendering it replaced: a new PDType1Font per draw call and the full-size
+ * logo decoded with PDImageXObject.createFromByteArray for every ticket.
+ *
+ * Needs no database: tickets are built in memory, and the logo cache is
+ * pre-loaded from the logo bytes instead of BusinessLogo.
+ *
+ * Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark -Dtest=DisposalTicketPdfBenchmark}.
+ */
+@Tag("benchmark")
+class DisposalTicketPdfBenchmark {
+
+    private static final Logger LOG = Logger.getLogger(DisposalTicketPdfBenchmark.class);
+
+    private static final int TICKETS = 200;
+    private static final int ROUNDS = 3;
+
+    /**
+     * A typical uploaded logo: far larger than the 60pt it is printed at.
+     */
+    private static final int LOGO_WIDTH = 1200;
+    private static final int LOGO_HEIGHT = 400;
+
+    private byte[] logo;
+    private DisposalTicket ticket;
+    private DisposalTicketPdfService service;
+
+    private interface Renderer {
+        byte[] render(DisposalTicket ticket) throws IOException;
+    }
+
+    /**
+     * Best run of one renderer: tickets per second and size of one PDF.
+     */
+    private record Run(double ticketsPerSecond, int pdfBytes) {}
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logo = logoPng();
+
+        Business business = new Business();
+        business.id = 1L;
+        business.legalName = "Prairie Water Disposal LLC";
+        business.logoHash = LogoImageCache.contentHash(logo);
+
+        Organization trucking = new Organization();
+        trucking.name = "Badlands Hauling";
+        Organization oil = new Organization();
+        oil.name = "North Basin Oil Co.";
+
+        ticket = new DisposalTicket();
+        ticket.id = 1L;
+        ticket.business = business;
+        ticket.ticketNumber = 104_233L;
+        ticket.ticketDate = LocalDate.of(2026, 3, 2);
+        ticket.ticketTime = LocalTime.of(14, 30);
+        ticket.truckingCompany = trucking;
+        ticket.oilCompany = oil;
+        ticket.leaseWellNumber = "ND-1147-22H";
+        ticket.bblProduction = new BigDecimal("120.50");
+        ticket.bblFlowback = new BigDecimal("35.25");
+        ticket.bblOther = new BigDecimal("4.00");
+        ticket.notes = "Delivered after hours. Gate code used by driver; load inspected and "
+                + "sampled at the tank battery before offloading.";
+        ticket.createdAt = LocalDateTime.of(2026, 3, 2, 14, 35);
+        ticket.createdBy = "operator";
+
+        byte[] logoData = logo;
+        service = new DisposalTicketPdfService();
+        // Same hit path as the LRU, without its CDI configuration
+        service.logoImageCache = new LogoImageCache() {
+            private final Map<String, Optional<BufferedImage>> decoded = new ConcurrentHashMap<>();
+
+            @Override
+            public Optional<BufferedImage> get(String contentHash, int maxHeightPixels, Supplier<byte[]> loader) {
+                return decoded.computeIfAbsent(contentHash + "@" + maxHeightPixels,
+                        key -> decodeScaled(logoData, maxHeightPixels));
+            }
+        };
+    }
+
+    @Test
+    void ticketsPerSecond() throws IOException {
+        Baseline baseline = new Baseline(logo);
+
+        // Warm up both paths (class loading, JIT, font metrics)
+        run(baseline::render);
+        run(service::generatePdf);
+
+        Run before = null;
+        Run after = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            before = best(before, run(baseline::render));
+            after = best(after, run(service::generatePdf));
+        }
+
+        assertTrue(after.pdfBytes() < before.pdfBytes(),
+                "the downscaled logo should make each PDF smaller");
+
+        LOG.infof("%d tickets, best of %d: per-call fonts + full-size logo %.1f tickets/s (%d bytes/PDF); " +
+                        "RenderContext + LogoImageCache %.1f tickets/s (%d bytes/PDF); %.2fx",
+                TICKETS, ROUNDS,
+                before.ticketsPerSecond(), before.pdfBytes(),
+                after.ticketsPerSecond(), after.pdfBytes(),
+                after.ticketsPerSecond() / before.ticketsPerSecond());
+    }
+
+    private Run run(Renderer renderer) throws IOException {
+        int size = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < TICKETS; i++) {
+            byte[] pdf = renderer.render(ticket);
+            size = pdf.length;
+        }
+        long nanos = System.nanoTime() - start;
+        return new Run(TICKETS / (nanos / 1e9), size);
+    }
+
+    private static Run best(Run best, Run run) {
+        return best == null || run.ticketsPerSecond() > best.ticketsPerSecond() ? run : best;
+    }
+
+    private static byte[] logoPng() throws IOException {
+        BufferedImage image = new BufferedImage(LOGO_WIDTH, LOGO_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setPaint(new GradientPaint(0, 0, new Color(0x1f4e79), LOGO_WIDTH, LOGO_HEIGHT, new Color(0x9dc3e6)));
+            g.fillRect(0, 0, LOGO_WIDTH, LOGO_HEIGHT);
+            g.setColor(Color.WHITE);
+            g.fillOval(LOGO_WIDTH / 8, LOGO_HEIGHT / 8, LOGO_HEIGHT * 3 / 4, LOGO_HEIGHT * 3 / 4);
+        } finally {
+            g.dispose();
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * The rendering DisposalTicketPdfService replaced, kept here as the baseline:
+     * a new font object for every setFont and width measurement, and the
+     * uploaded logo decoded and embedded at full size on every ticket.
+     */
+    private static final class Baseline {
+
+        private static final float MARGIN = 50f;
+        private static final float PAGE_WIDTH = PDRectangle.LETTER.getWidth();
+        private static final float PAGE_HEIGHT = PDRectangle.LETTER.getHeight();
+
+        private final byte[] logoData;
+
+        Baseline(byte[] logoData) {
+            this.logoData = logoData;
+        }
+
+        byte[] render(DisposalTicket ticket) throws IOException {
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage(PDRectangle.LETTER);
+                document.addPage(page);
+
+                try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                    float y = PAGE_HEIGHT - MARGIN;
+                    y = drawHeader(document, cs, ticket, y) - 30;
+
+                    y = drawSection(cs, "Ticket Information", y);
+                    y = drawField(cs, "Ticket Number:", "#" + ticket.ticketNumber, y);
+                    y = drawField(cs, "Date:", String.valueOf(ticket.ticketDate), y);
+                    y = drawField(cs, "Time:", String.valueOf(ticket.ticketTime), y);
+                    y = drawField(cs, "Status:", ticket.status.name(), y) - 20;
+
+                    y = drawSection(cs, "Company Information", y);
+                    y = drawField(cs, "Trucking Company:", ticket.truckingCompany.name, y);
+                    y = drawField(cs, "Oil Company:", ticket.oilCompany.name, y);
+                    y = drawField(cs, "Lease/Well Number:", ticket.leaseWellNumber, y) - 20;
+
+                    y = drawSection(cs, "Barrel Quantities", y);
+                    y = drawField(cs, "Production (BBL):", ticket.bblProduction.toPlainString(), y);
+                    y = drawField(cs, "Flowback (BBL):", ticket.bblFlowback.toPlainString(), y);
+                    y = drawField(cs, "Other (BBL):", ticket.bblOther.toPlainString(), y) - 10;
+                    y = drawField(cs, "Total Barrels:", ticket.getTotalBarrels().toPlainString(), y) - 20;
+
+                    y = drawSection(cs, "Notes", y);
+                    drawMultilineText(cs, ticket.notes, y);
+
+                    cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 8);
+                    cs.beginText();
+                    cs.newLineAtOffset(MARGIN, MARGIN - 10);
+                    cs.showText("Created: " + ticket.createdAt.toLocalDate() + " by " + ticket.createdBy);
+                    cs.endText();
+                }
+
+                document.save(baos);
+                return baos.toByteArray();
+            }
+        }
+
+        private float drawHeader(PDDocument document, PDPageContentStream cs,
+                                 DisposalTicket ticket, float y) throws IOException {
+            PDImageXObject logo = PDImageXObject.createFromByteArray(document, logoData, "logo");
+            float scale = 60f / logo.getHeight();
+            float logoHeight = logo.getHeight() * scale;
+            cs.drawImage(logo, MARGIN, y - logoHeight, logo.getWidth() * scale, logoHeight);
+
+            float textX = MARGIN + 80;
+            float textY = y;
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
+            cs.beginText();
+            cs.newLineAtOffset(textX, textY);
+            cs.showText(ticket.business.legalName);
+            cs.endText();
+            textY -= 18;
+
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 20);
+            cs.beginText();
+            cs.newLineAtOffset(textX, textY);
+            cs.showText("DISPOSAL TICKET");
+            cs.endText();
+
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 16);
+            String ticketNum = "#" + ticket.ticketNumber;
+            float textWidth = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD)
+                    .getStringWidth(ticketNum) / 1000 * 16;
+            cs.beginText();
+            cs.newLineAtOffset(PAGE_WIDTH - MARGIN - textWidth, y);
+            cs.showText(ticketNum);
+            cs.endText();
+
+            float lineY = Math.min(y - logoHeight - 10, textY - 10);
+            cs.setLineWidth(2f);
+            cs.moveTo(MARGIN, lineY);
+            cs.lineTo(PAGE_WIDTH - MARGIN, lineY);
+            cs.stroke();
+            return lineY - 10;
+        }
+
+        private float drawSection(PDPageContentStream cs, String title, float y) throws IOException {
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 14);
+            cs.beginText();
+            cs.newLineAtOffset(MARGIN, y);
+            cs.showText(title);
+            cs.endText();
+
+            y -= 5;
+            cs.setLineWidth(1f);
+            cs.moveTo(MARGIN, y);
+            cs.lineTo(PAGE_WIDTH - MARGIN, y);
+            cs.stroke();
+            return y - 15;
+        }
+
+        private float drawField(PDPageContentStream cs, String label, String value, float y) throws IOException {
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 11);
+            cs.beginText();
+            cs.newLineAtOffset(MARGIN + 20, y);
+            cs.showText(label);
+            cs.endText();
+
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+            cs.beginText();
+            cs.newLineAtOffset(MARGIN + 180, y);
+            cs.showText(value);
+            cs.endText();
+            return y - 18;
+        }
+
+        private void drawMultilineText(PDPageContentStream cs, String text, float y) throws IOException {
+            cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+            StringBuilder currentLine = new StringBuilder();
+            for (String word : text.split(" ")) {
+                String testLine = currentLine.length() == 0 ? word : currentLine + " " + word;
+                float textWidth = new PDType1Font(Standard14Fonts.FontName.HELVETICA)
+                        .getStringWidth(testLine) / 1000 * 10;
+                if (textWidth > PAGE_WIDTH - (2 * MARGIN) - 40) {
+                    cs.beginText();
+                    cs.newLineAtOffset(MARGIN + 20, y);
+                    cs.showText(currentLine.toString());
+                    cs.endText();
+                    y -= 14;
+                    currentLine = new StringBuilder(word);
+                } else {
+                    currentLine = new StringBuilder(testLine);
+                }
+            }
+            cs.beginText();
+            cs.newLineAtOffset(MARGIN + 20, y);
+            cs.showText(currentLine.toString());
+            cs.endText();
+        }
+    }
+}
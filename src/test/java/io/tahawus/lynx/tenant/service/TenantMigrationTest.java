@@ -0,0 +1,95 @@
+package io.tahawus.lynx.tenant.service;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.tahawus.lynx.tenant.model.Tenant;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Id defaults of a tenant schema migrated from scratch: the pooled
+ * {@code <table>_seq} defaults are gone (V10), while number_sequence keeps the
+ * BIGSERIAL default its IDENTITY mapping relies on.
+ */
+@QuarkusTest
+class TenantMigrationTest {
+
+    private static final String SCHEMA = "tenant_migration_test";
+
+    @Inject
+    TenantSchemaService tenantSchemaService;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private Tenant tenant;
+
+    @BeforeEach
+    void migrate() {
+        tenant = new Tenant();
+        tenant.tenantIdentifier = "migration-test";
+        tenant.schemaName = SCHEMA;
+        tenantSchemaService.deleteTenantSchema(tenant);
+        tenantSchemaService.createTenantSchema(tenant);
+    }
+
+    @AfterEach
+    void drop() {
+        tenantSchemaService.deleteTenantSchema(tenant);
+    }
+
+    @Test
+    void numberSequenceInsertWithoutIdAfterV10() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "insert into " + SCHEMA + ".number_sequence (business_id, sequence_key) " +
+                     "values (?, ?) returning id")) {
+            ps.setLong(1, 1L);
+            ps.setString(2, "DISPOSAL_TICKET");
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertTrue(rs.getLong(1) > 0);
+            }
+        }
+    }
+
+    @Test
+    void pooledTablesHaveNoIdDefault() throws SQLException {
+        assertNull(idDefault("journal"));
+        assertNull(idDefault("document_journal_line"));
+        assertEquals("nextval('number_sequence_id_seq'::regclass)", idDefault("number_sequence"));
+    }
+
+    /**
+     * The id column default, with the tenant schema on the search path so
+     * sequence names are shown unqualified.
+     */
+    private String idDefault(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("set search_path to " + SCHEMA);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "select column_default from information_schema.columns " +
+                    "where table_schema = ? and table_name = ? and column_name = 'id'")) {
+                ps.setString(1, SCHEMA);
+                ps.setString(2, table);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next(), "no table " + table);
+                    return rs.getString(1);
+                }
+            } finally {
+                statement.execute("reset search_path");
+            }
+        }
+    }
+}